@@ -1,23 +1,43 @@
 package com.movietheater.booking.controller;
 
 import com.movietheater.booking.dto.request.BookingRequest;
+import com.movietheater.booking.dto.response.BestSeatsResponse;
 import com.movietheater.booking.dto.response.BookingResponse;
+import com.movietheater.booking.dto.response.CompactSeatMapResponse;
 import com.movietheater.booking.dto.response.MovieResponse;
+import com.movietheater.booking.dto.response.MovieSuggestionResponse;
+import com.movietheater.booking.dto.response.SeatPolicyViolationResponse;
+import com.movietheater.booking.dto.response.SeatsTakenResponse;
+import com.movietheater.booking.exception.BookingLaneBusyException;
+import com.movietheater.booking.exception.IdempotencyKeyConflictException;
+import com.movietheater.booking.exception.SeatPolicyViolationException;
+import com.movietheater.booking.exception.SeatsTakenException;
 import com.movietheater.booking.service.BookingService;
+import com.movietheater.booking.service.IdempotencyService;
+import com.movietheater.booking.service.SeatStreamService;
 import com.movietheater.common.constant.AuthorityConst;
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.common.constant.MessageConst;
 import com.movietheater.common.constant.RouteConst;
 import com.movietheater.entity.Schedule;
 import com.movietheater.entity.ScheduleSeat;
+import com.movietheater.moviemanagement.search.MovieSuggestIndex;
+import com.movietheater.moviemanagement.service.MovieSuggestService;
+import com.movietheater.util.ETagUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for managing booking operations in the movie theater application.
@@ -28,6 +48,9 @@ import java.util.List;
 @Slf4j
 public class BookingController {
     private final BookingService bookingService;
+    private final SeatStreamService seatStreamService;
+    private final IdempotencyService idempotencyService;
+    private final MovieSuggestService movieSuggestService;
 
     /**
      * Retrieves a list of all movies with their posters.
@@ -46,6 +69,30 @@ public class BookingController {
         }
     }
 
+    /**
+     * Suggests movie titles, directors and actors for the search box as the user types.
+     * Matching ignores case and diacritics; the most booked movies come first.
+     *
+     * @param query the text typed so far.
+     * @param limit the maximum number of suggestions.
+     * @return a ResponseEntity containing a list of {@link MovieSuggestionResponse} objects, empty for a blank query.
+     */
+    @GetMapping(RouteConst.MOVIE_SUGGEST)
+    @PreAuthorize(AuthorityConst.AUTH_ALL)
+    public ResponseEntity<List<MovieSuggestionResponse>> suggestMovies(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", defaultValue = "" + CommonConst.DEFAULT_SUGGESTIONS) int limit) {
+        log.debug("Suggesting movies for query: {}", query);
+        int size = Math.max(1, Math.min(limit, MovieSuggestIndex.MAX_LIMIT));
+        return ResponseEntity.ok(movieSuggestService.suggest(query, size).stream()
+            .map(suggestion -> MovieSuggestionResponse.builder()
+                .type(suggestion.getType())
+                .text(suggestion.getText())
+                .movieId(suggestion.getMovieId())
+                .build())
+            .collect(Collectors.toList()));
+    }
+
     /**
      * Retrieves a movie by its ID.
      *
@@ -84,16 +131,28 @@ public class BookingController {
 
     /**
      * Retrieves a schedule by its ID.
+     * Responds with 304, without loading the schedule, when the If-None-Match header carries the current ETag.
      *
      * @param scheduleId the ID of the schedule to retrieve.
+     * @param ifNoneMatch the If-None-Match header of the request.
      * @return a ResponseEntity containing the {@link Schedule} object or an error status.
      */
     @GetMapping(RouteConst.SCHEDULE_ID)
     @PreAuthorize(AuthorityConst.AUTH_ALL)
-    public ResponseEntity<Schedule> getScheduleById(@PathVariable String scheduleId) {
+    public ResponseEntity<Schedule> getScheduleById(@PathVariable String scheduleId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching schedule with scheduleId: {}", scheduleId);
         try {
-            return ResponseEntity.ok(bookingService.getScheduleById(scheduleId));
+            // The version is read from the database so that every node answers with the same ETag
+            long version = bookingService.getSeatVersion(scheduleId);
+            String etag = ETagUtils.strongETag("schedule", scheduleId, version);
+            if (ETagUtils.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            Schedule schedule = bookingService.getScheduleById(scheduleId, version);
+            return ResponseEntity.ok()
+                    .eTag(ETagUtils.strongETag("schedule", scheduleId, schedule.getSeatVersion()))
+                    .body(schedule);
         } catch (Exception e) {
             log.error("Error fetching schedule with ID {}: {}", scheduleId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -102,22 +161,150 @@ public class BookingController {
 
     /**
      * Retrieves all seats for a specific schedule.
+     * Clients that send {@code Accept: application/vnd.movietheater.seatmap+json} or {@code ?format=compact}
+     * receive the compact bitmap representation instead of the list of seats.
+     * Responds with 304, without reading seats, when the If-None-Match header carries the current ETag.
      *
      * @param scheduleId the ID of the schedule to retrieve seats for.
-     * @return a ResponseEntity containing a list of {@link ScheduleSeat} objects or an error status.
+     * @param format the optional response format, {@code compact} for the bitmap representation.
+     * @param accept the Accept header of the request.
+     * @param ifNoneMatch the If-None-Match header of the request.
+     * @return a ResponseEntity containing a list of {@link ScheduleSeat} objects, a {@link CompactSeatMapResponse}, or an error status.
      */
     @GetMapping(RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH)
     @PreAuthorize(AuthorityConst.AUTH_ALL)
-    public ResponseEntity<List<ScheduleSeat>> getSeatsBySchedule(@PathVariable String scheduleId) {
+    public ResponseEntity<?> getSeatsBySchedule(@PathVariable String scheduleId,
+                                                @RequestParam(required = false) String format,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching seats for scheduleId: {}", scheduleId);
         try {
-            return ResponseEntity.ok(bookingService.getSeatsBySchedule(scheduleId));
+            boolean compact = CommonConst.SEAT_MAP_FORMAT_COMPACT.equals(format)
+                    || (accept != null && accept.contains(CommonConst.MEDIA_TYPE_SEAT_MAP_COMPACT));
+            long version = bookingService.getSeatVersion(scheduleId);
+            String etag = compact
+                    ? ETagUtils.strongETag("seats", scheduleId, version, CommonConst.SEAT_MAP_FORMAT_COMPACT)
+                    : ETagUtils.strongETag("seats", scheduleId, version);
+            if (ETagUtils.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            // The body is at least as new as the version in the ETag, so a later poll never misses a change
+            if (compact) {
+                return ResponseEntity.ok()
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .contentType(MediaType.parseMediaType(CommonConst.MEDIA_TYPE_SEAT_MAP_COMPACT))
+                    .body(bookingService.getCompactSeatMap(scheduleId, version));
+            }
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(bookingService.getSeatsBySchedule(scheduleId, version));
         } catch (Exception e) {
             log.error("Error fetching seats for scheduleId {}: {}", scheduleId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    /**
+     * Suggests the best block of adjacent available seats for a specific schedule.
+     *
+     * @param scheduleId the ID of the schedule to search.
+     * @param count the number of adjacent seats wanted.
+     * @param type the optional seat type, {@code VIP} or {@code NORMAL}.
+     * @return a ResponseEntity containing the {@link BestSeatsResponse} object or an error status.
+     */
+    @GetMapping(RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH + RouteConst.BEST)
+    @PreAuthorize(AuthorityConst.AUTH_ALL)
+    public ResponseEntity<?> findBestSeats(@PathVariable String scheduleId,
+                                           @RequestParam int count,
+                                           @RequestParam(required = false) String type) {
+        log.info("Finding best {} seats for scheduleId: {}", count, scheduleId);
+        try {
+            return toBestSeatsResult(bookingService.findBestSeats(scheduleId, count, type));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid best seat request for scheduleId {}: {}", scheduleId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error finding best seats for scheduleId {}: {}", scheduleId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * Finds the best block of adjacent available seats and holds it as pending bookings for the authenticated user.
+     *
+     * @param scheduleId the ID of the schedule to book.
+     * @param count the number of adjacent seats wanted.
+     * @param type the optional seat type, {@code VIP} or {@code NORMAL}.
+     * @param promotionId the optional promotion ID.
+     * @param request the HTTP request containing user cookies.
+     * @return a ResponseEntity containing the held {@link BestSeatsResponse} object or an error status.
+     */
+    @PostMapping(RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH + RouteConst.BEST)
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_USER)
+    public ResponseEntity<?> holdBestSeats(@PathVariable String scheduleId,
+                                           @RequestParam int count,
+                                           @RequestParam(required = false) String type,
+                                           @RequestParam(required = false) String promotionId,
+                                           HttpServletRequest request) {
+        log.info("Holding best {} seats for scheduleId: {}", count, scheduleId);
+        String userId = extractUserIdFromCookies(request);
+        if (userId == null) {
+            log.warn("User not logged in");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Please login to book tickets");
+        }
+        try {
+            return toBestSeatsResult(bookingService.holdBestSeats(scheduleId, count, type, userId, promotionId));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid best seat request for scheduleId {}: {}", scheduleId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (SeatsTakenException e) {
+            log.warn("Best seats kept being taken for scheduleId {}", e.getScheduleId());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(SeatsTakenResponse.builder()
+                .code(MessageConst.ERROR_SEATS_TAKEN)
+                .message(MessageConst.MSG_SEATS_TAKEN)
+                .scheduleId(e.getScheduleId())
+                .seatIds(e.getSeatIds())
+                .build());
+        } catch (SeatPolicyViolationException e) {
+            return toSeatPolicyResult(e);
+        } catch (BookingLaneBusyException e) {
+            log.warn("Best seat hold rejected, lane busy for scheduleId {}", e.getScheduleId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(MessageConst.MSG_BOOKING_BUSY);
+        } catch (Exception e) {
+            log.error("Holding best seats failed: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Booking failed: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> toBestSeatsResult(BestSeatsResponse response) {
+        if (response.getSeatIds().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(MessageConst.MSG_NO_BEST_SEATS);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams live seat status changes for a specific schedule as Server-Sent Events.
+     *
+     * @param scheduleId the ID of the schedule to stream seats for.
+     * @param fromVersion the last seen version, used when the client resumes explicitly.
+     * @param lastEventId the last seen version sent by EventSource on automatic reconnect.
+     * @return an {@link SseEmitter} that sends a snapshot or missed deltas, then live deltas.
+     */
+    @GetMapping(value = RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH + RouteConst.STREAM,
+                produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize(AuthorityConst.AUTH_ALL)
+    public SseEmitter streamSeatsBySchedule(@PathVariable String scheduleId,
+                                            @RequestParam(required = false) Long fromVersion,
+                                            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Opening seat stream for scheduleId: {}", scheduleId);
+        return seatStreamService.subscribe(scheduleId, lastEventId != null ? lastEventId : fromVersion);
+    }
+
     /**
      * Retrieves all bookings for the authenticated user.
      *
@@ -168,28 +355,68 @@ public class BookingController {
     /**
      * Creates a new booking for the authenticated user.
      *
+     * Retries that carry the same Idempotency-Key and payload receive the original response.
+     *
      * @param bookingRequest the booking request data.
+     * @param idempotencyKey the optional client-generated key identifying this booking attempt.
      * @param request the HTTP request containing user cookies.
      * @return a ResponseEntity containing the booking result or an error status.
      */
     @PostMapping(RouteConst.CONFIRM)
     @PreAuthorize(AuthorityConst.AUTH_ROLE_USER)
-    public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest bookingRequest, HttpServletRequest request) {
+    public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest bookingRequest,
+                                           @RequestHeader(value = CommonConst.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                           HttpServletRequest request) {
         log.info("Received booking request: {}", bookingRequest);
+        String userId = extractUserIdFromCookies(request);
+        if (userId == null) {
+            log.warn("User not logged in");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Please login to book tickets");
+        }
+        bookingRequest.setUserId(userId);
+        try {
+            return idempotencyService.execute(RouteConst.CONFIRM + ":" + userId, idempotencyKey, bookingRequest,
+                () -> confirmBookings(bookingRequest));
+        } catch (IdempotencyKeyConflictException e) {
+            return ResponseEntity.status(e.isPayloadMismatch() ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CONFLICT)
+                .body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> confirmBookings(BookingRequest bookingRequest) {
         try {
-            String userId = extractUserIdFromCookies(request);
-            if (userId == null) {
-                log.warn("User not logged in");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Please login to book tickets");
-            }
-            bookingRequest.setUserId(userId);
             return ResponseEntity.ok(bookingService.createBookings(bookingRequest));
+        } catch (SeatsTakenException e) {
+            log.warn("Booking lost seats {} for scheduleId {}", e.getSeatIds(), e.getScheduleId());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(SeatsTakenResponse.builder()
+                .code(MessageConst.ERROR_SEATS_TAKEN)
+                .message(MessageConst.MSG_SEATS_TAKEN)
+                .scheduleId(e.getScheduleId())
+                .seatIds(e.getSeatIds())
+                .build());
+        } catch (SeatPolicyViolationException e) {
+            return toSeatPolicyResult(e);
+        } catch (BookingLaneBusyException e) {
+            log.warn("Booking rejected, lane busy for scheduleId {}", e.getScheduleId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(MessageConst.MSG_BOOKING_BUSY);
         } catch (Exception e) {
             log.error("Booking failed: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Booking failed: " + e.getMessage());
         }
     }
 
+    private ResponseEntity<?> toSeatPolicyResult(SeatPolicyViolationException e) {
+        log.warn("Seat selection blocked by seat policy for scheduleId {}: {}", e.getScheduleId(), e.getViolations());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(SeatPolicyViolationResponse.builder()
+            .code(MessageConst.ERROR_SEAT_POLICY)
+            .message(MessageConst.MSG_SEAT_POLICY)
+            .scheduleId(e.getScheduleId())
+            .violations(e.getViolations().stream().map(Object::toString).collect(Collectors.toList()))
+            .build());
+    }
+
     /**
      * Cancels a booking by its ID for the authenticated user.
      *
@@ -215,6 +442,31 @@ public class BookingController {
         }
     }
 
+    /**
+     * Cancels every pending or unpaid booking of an order for the authenticated user.
+     *
+     * @param id the ID of the order to cancel.
+     * @param request the HTTP request containing user cookies.
+     * @return a ResponseEntity indicating the result of the cancellation.
+     */
+    @DeleteMapping(RouteConst.ORDERS + RouteConst.API_PARAM_ID_PATH)
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_USER)
+    public ResponseEntity<?> cancelOrder(@PathVariable String id, HttpServletRequest request) {
+        log.info("Cancelling order with orderId: {}", id);
+        try {
+            String userId = extractUserIdFromCookies(request);
+            if (userId == null) {
+                log.warn("User not logged in or userId cookie not found");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Please login to cancel order");
+            }
+            int cancelled = bookingService.cancelOrder(id, userId);
+            return ResponseEntity.ok("Order cancelled successfully, " + cancelled + " bookings cancelled");
+        } catch (Exception e) {
+            log.error("Error cancelling order with ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Cancel order failed: " + e.getMessage());
+        }
+    }
+
     /**
      * Extracts the user ID from the cookies in the HTTP request.
      *
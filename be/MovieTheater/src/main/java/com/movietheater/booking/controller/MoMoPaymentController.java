@@ -2,11 +2,19 @@ package com.movietheater.booking.controller;
 
 import com.movietheater.booking.dto.request.BookingRequest;
 import com.movietheater.booking.dto.response.BookingResponse;
+import com.movietheater.booking.exception.BookingLaneBusyException;
+import com.movietheater.booking.exception.IdempotencyKeyConflictException;
+import com.movietheater.booking.exception.SeatPolicyViolationException;
+import com.movietheater.booking.exception.SeatsTakenException;
+import com.movietheater.booking.service.IdempotencyService;
 import com.movietheater.booking.service.MoMoPaymentService;
 import com.movietheater.common.constant.AuthorityConst;
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.common.constant.MessageConst;
 import com.movietheater.common.constant.RouteConst;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +23,9 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(RouteConst.BOOK_BASE)
@@ -23,23 +33,51 @@ import java.util.Map;
 @Slf4j
 public class MoMoPaymentController {
     private final MoMoPaymentService moMoPaymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/momo/initiate")
     @PreAuthorize(AuthorityConst.AUTH_ROLE_USER)
     public ResponseEntity<Map<String, Object>> initiateMoMoPayment(
             @Valid @RequestBody BookingRequest bookingRequest,
             @RequestParam("totalAmount") BigDecimal totalAmount,
+            @RequestHeader(value = CommonConst.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             HttpServletRequest request) {
         log.info("Initiating MoMo payment for user");
+        String userId = extractUserIdFromCookies(request);
+        if (userId == null) {
+            log.warn("User not logged in");
+            return ResponseEntity.status(401).body(Map.of("error", "Please login to initiate payment"));
+        }
+        bookingRequest.setUserId(userId);
+        try {
+            return idempotencyService.execute("momo-initiate:" + userId, idempotencyKey, List.of(bookingRequest, totalAmount),
+                    () -> initiatePayment(bookingRequest, totalAmount));
+        } catch (IdempotencyKeyConflictException e) {
+            return ResponseEntity.status(e.isPayloadMismatch() ? 422 : 409).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> initiatePayment(BookingRequest bookingRequest, BigDecimal totalAmount) {
         try {
-            String userId = extractUserIdFromCookies(request);
-            if (userId == null) {
-                log.warn("User not logged in");
-                return ResponseEntity.status(401).body(Map.of("error", "Please login to initiate payment"));
-            }
-            bookingRequest.setUserId(userId);
             Map<String, Object> response = moMoPaymentService.initiateMoMoPayment(bookingRequest, totalAmount);
             return ResponseEntity.ok(response);
+        } catch (SeatsTakenException e) {
+            log.warn("MoMo payment lost seats {} for scheduleId {}", e.getSeatIds(), e.getScheduleId());
+            return ResponseEntity.status(409).body(Map.of(
+                    "error", MessageConst.MSG_SEATS_TAKEN,
+                    "code", MessageConst.ERROR_SEATS_TAKEN,
+                    "seatIds", e.getSeatIds()));
+        } catch (SeatPolicyViolationException e) {
+            log.warn("MoMo payment blocked by seat policy for scheduleId {}: {}", e.getScheduleId(), e.getViolations());
+            return ResponseEntity.status(422).body(Map.of(
+                    "error", MessageConst.MSG_SEAT_POLICY,
+                    "code", MessageConst.ERROR_SEAT_POLICY,
+                    "violations", e.getViolations().stream().map(Object::toString).collect(Collectors.toList())));
+        } catch (BookingLaneBusyException e) {
+            log.warn("MoMo payment rejected, lane busy for scheduleId {}", e.getScheduleId());
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", MessageConst.MSG_BOOKING_BUSY));
         } catch (Exception e) {
             log.error("Error initiating MoMo payment: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Failed to initiate MoMo payment: " + e.getMessage()));
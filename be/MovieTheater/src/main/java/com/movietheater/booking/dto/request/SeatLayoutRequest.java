@@ -0,0 +1,15 @@
+package com.movietheater.booking.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for replacing the seat layout template of a room.
+ * Each row is a string with one character per column: {@code N} normal, {@code V} VIP,
+ * {@code .} aisle, {@code X} disabled. A null or empty list restores the default layout.
+ */
+@Data
+public class SeatLayoutRequest {
+    private List<String> rows;
+}
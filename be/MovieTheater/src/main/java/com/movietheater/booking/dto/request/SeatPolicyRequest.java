@@ -0,0 +1,15 @@
+package com.movietheater.booking.dto.request;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for overriding the seat policy of a room.
+ * Each action is {@code OFF}, {@code WARN} or {@code BLOCK}; null fields fall back to the configured default.
+ */
+@Data
+public class SeatPolicyRequest {
+    private String noOrphanSeat;
+    private String noGap;
+    private String maxPerRowAction;
+    private Integer maxPerRow;
+}
@@ -0,0 +1,23 @@
+package com.movietheater.booking.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the best available block of adjacent seats.
+ * The bookings are present only when the block was held for the user.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BestSeatsResponse {
+    private String scheduleId;
+    private long version;
+    private String row;
+    private List<String> seatIds;
+    private boolean held;
+    private List<BookingResponse> bookings;
+}
@@ -20,4 +20,5 @@ public class BookingResponse {
     private String status;
     private String promotionId;
     private BigDecimal price;
+    private String orderId;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.movietheater.booking.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the compact seat-map format.
+ * The bitmaps are base64 encoded, row-major, {@code columns} bits per row, most significant bit first.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactSeatMapResponse {
+    private String scheduleId;
+    private long version;
+    private List<String> rows;
+    private int columns;
+    // Seat IDs are seatIdPrefix + row + two-digit column; seatIds is sent only when they are not
+    private String seatIdPrefix;
+    private List<String> seatIds;
+    // Positions that hold a seat; null when every position does
+    private String layout;
+    private String vip;
+    private String booked;
+}
@@ -3,6 +3,7 @@ package com.movietheater.booking.dto.response;
 import com.movietheater.entity.Movie;
 import com.movietheater.entity.MovieMedia;
 import com.movietheater.common.constant.CommonConst;
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -63,4 +64,29 @@ public class MovieResponse {
         }
         return response;
     }
+
+    /**
+     * Converts a movie of the in-memory catalog to a MovieResponse.
+     *
+     * @param movie the catalog movie
+     * @return the converted MovieResponse
+     */
+    public static MovieResponse fromCatalogMovie(CatalogMovie movie) {
+        MovieResponse response = new MovieResponse();
+        response.setMovieId(movie.getMovieId());
+        response.setTitle(movie.getTitle());
+        response.setShortDescription(movie.getShortDescription());
+        response.setDescription(movie.getDescription());
+        response.setDirector(movie.getDirector());
+        response.setActors(movie.getActors());
+        response.setGenre(movie.getGenre());
+        if (movie.getReleaseDate() != null) {
+            response.setReleaseDate(movie.getReleaseDate().toString());
+        }
+        response.setDuration(movie.getDuration());
+        response.setLanguage(movie.getLanguage());
+        response.setRated(movie.getRated());
+        response.setPosterUrl(movie.getPosterUrl());
+        return response;
+    }
 }
\ No newline at end of file
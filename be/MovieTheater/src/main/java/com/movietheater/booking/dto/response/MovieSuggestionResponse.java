@@ -0,0 +1,18 @@
+package com.movietheater.booking.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a typeahead suggestion of the movie search box.
+ * The movie ID is present only for title suggestions.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovieSuggestionResponse {
+    private String type;
+    private String text;
+    private String movieId;
+}
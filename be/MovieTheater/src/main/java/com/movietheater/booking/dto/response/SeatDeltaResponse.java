@@ -0,0 +1,17 @@
+package com.movietheater.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single seat status change pushed to seat-map subscribers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatDeltaResponse {
+    private String seatId;
+    private String status;
+    private long version;
+}
@@ -0,0 +1,18 @@
+package com.movietheater.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the seat layout template of a room.
+ */
+@Data
+@Builder
+public class SeatLayoutResponse {
+    private String roomId;
+    private List<String> rows;
+    private int columns;
+    private int capacity;
+}
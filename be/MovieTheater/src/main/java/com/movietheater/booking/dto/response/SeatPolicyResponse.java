@@ -0,0 +1,17 @@
+package com.movietheater.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for the effective seat policy of a room.
+ */
+@Data
+@Builder
+public class SeatPolicyResponse {
+    private String roomId;
+    private String noOrphanSeat;
+    private String noGap;
+    private String maxPerRowAction;
+    private int maxPerRow;
+}
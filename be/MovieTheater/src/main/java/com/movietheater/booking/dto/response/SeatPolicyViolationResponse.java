@@ -0,0 +1,18 @@
+package com.movietheater.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object returned when a seat selection is blocked by the room's seat policy.
+ */
+@Data
+@Builder
+public class SeatPolicyViolationResponse {
+    private String code;
+    private String message;
+    private String scheduleId;
+    private List<String> violations;
+}
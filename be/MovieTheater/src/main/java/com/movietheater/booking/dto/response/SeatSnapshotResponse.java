@@ -0,0 +1,17 @@
+package com.movietheater.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the full seat status of a schedule, sent when a subscriber cannot resume from deltas.
+ */
+@Data
+@Builder
+public class SeatSnapshotResponse {
+    private String scheduleId;
+    private long version;
+    private List<SeatDeltaResponse> seats;
+}
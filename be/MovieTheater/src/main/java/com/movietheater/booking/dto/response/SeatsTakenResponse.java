@@ -0,0 +1,18 @@
+package com.movietheater.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object returned when a booking loses the race for one or more seats.
+ */
+@Data
+@Builder
+public class SeatsTakenResponse {
+    private String code;
+    private String message;
+    private String scheduleId;
+    private List<String> seatIds;
+}
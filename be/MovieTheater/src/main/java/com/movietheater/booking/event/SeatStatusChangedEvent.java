@@ -0,0 +1,30 @@
+package com.movietheater.booking.event;
+
+import java.util.List;
+
+/**
+ * Application event published after a transaction that changed the status of seats has committed.
+ */
+public class SeatStatusChangedEvent {
+    private final String scheduleId;
+    private final List<String> seatIds;
+    private final String status;
+
+    public SeatStatusChangedEvent(String scheduleId, List<String> seatIds, String status) {
+        this.scheduleId = scheduleId;
+        this.seatIds = List.copyOf(seatIds);
+        this.status = status;
+    }
+
+    public String getScheduleId() {
+        return scheduleId;
+    }
+
+    public List<String> getSeatIds() {
+        return seatIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,17 @@
+package com.movietheater.booking.exception;
+
+/**
+ * Exception thrown when the booking lane of a schedule is too busy to accept more claims.
+ */
+public class BookingLaneBusyException extends RuntimeException {
+    private final String scheduleId;
+
+    public BookingLaneBusyException(String scheduleId) {
+        super("Booking is busy for schedule: " + scheduleId);
+        this.scheduleId = scheduleId;
+    }
+
+    public String getScheduleId() {
+        return scheduleId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.movietheater.booking.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key cannot be replayed: the original request is still
+ * being processed, or the key was reused with a different payload.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+    private final boolean payloadMismatch;
+
+    public IdempotencyKeyConflictException(String message, boolean payloadMismatch) {
+        super(message);
+        this.payloadMismatch = payloadMismatch;
+    }
+
+    public boolean isPayloadMismatch() {
+        return payloadMismatch;
+    }
+}
@@ -0,0 +1,27 @@
+package com.movietheater.booking.exception;
+
+import com.movietheater.booking.policy.SeatPolicyViolation;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a seat selection breaks a seat policy rule that is set to block.
+ */
+public class SeatPolicyViolationException extends RuntimeException {
+    private final String scheduleId;
+    private final List<SeatPolicyViolation> violations;
+
+    public SeatPolicyViolationException(String scheduleId, List<SeatPolicyViolation> violations) {
+        super("Seat selection violates seat policy: " + violations);
+        this.scheduleId = scheduleId;
+        this.violations = List.copyOf(violations);
+    }
+
+    public String getScheduleId() {
+        return scheduleId;
+    }
+
+    public List<SeatPolicyViolation> getViolations() {
+        return violations;
+    }
+}
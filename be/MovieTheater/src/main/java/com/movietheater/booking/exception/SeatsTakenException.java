@@ -0,0 +1,25 @@
+package com.movietheater.booking.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when one or more requested seats were claimed by another booking first.
+ */
+public class SeatsTakenException extends RuntimeException {
+    private final String scheduleId;
+    private final List<String> seatIds;
+
+    public SeatsTakenException(String scheduleId, List<String> seatIds) {
+        super("Seats already taken: " + seatIds);
+        this.scheduleId = scheduleId;
+        this.seatIds = List.copyOf(seatIds);
+    }
+
+    public String getScheduleId() {
+        return scheduleId;
+    }
+
+    public List<String> getSeatIds() {
+        return seatIds;
+    }
+}
@@ -0,0 +1,107 @@
+package com.movietheater.booking.inventory;
+
+/**
+ * Finds the best contiguous block of free seats in per-row 64-bit masks.
+ * <p>
+ * For each row the candidate start positions of a block of {@code count} seats are computed with
+ * {@code count - 1} shift-and operations, so the scan costs O(rows * count) word operations and
+ * allocates nothing. Blocks are scored by distance from the preferred row and from the row center;
+ * blocks that would strand a single free seat next to them are only chosen when nothing else fits,
+ * mirroring the isolated-seat rule applied to manual selections.
+ */
+public final class BestSeatFinder {
+    /** Any seat type. */
+    public static final int TYPE_ANY = 0;
+    /** VIP seats only. */
+    public static final int TYPE_VIP = 1;
+    /** Normal seats only. */
+    public static final int TYPE_NORMAL = 2;
+    /** Returned when no block fits. */
+    public static final long NOT_FOUND = -1L;
+
+    private BestSeatFinder() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Finds the best block of {@code count} adjacent free seats.
+     *
+     * @param existing per-row masks of seats that exist
+     * @param vip per-row masks of VIP seats
+     * @param booked per-row masks of booked seats
+     * @param columns the number of columns per row
+     * @param count the number of adjacent seats wanted
+     * @param type one of {@link #TYPE_ANY}, {@link #TYPE_VIP}, {@link #TYPE_NORMAL}
+     * @return {@code (row << 32) | startColumnIndex} of the best block, or {@link #NOT_FOUND}
+     */
+    public static long find(long[] existing, long[] vip, long[] booked, int columns, int count, int type) {
+        if (count <= 0 || count > columns) {
+            return NOT_FOUND;
+        }
+        int rows = existing.length;
+        int preferredRow = rows * 2 / 3;
+        long orphanPenalty = (long) rows * columns * 4;
+        long bestScore = Long.MAX_VALUE;
+        long best = NOT_FOUND;
+
+        for (int row = 0; row < rows; row++) {
+            long free = existing[row] & ~booked[row];
+            if (type == TYPE_VIP) {
+                free &= vip[row];
+            } else if (type == TYPE_NORMAL) {
+                free &= ~vip[row];
+            }
+            if (Long.bitCount(free) < count) {
+                continue;
+            }
+            // Bit j survives only if seats j .. j + count - 1 are all free
+            long starts = free;
+            for (int i = 1; i < count && starts != 0; i++) {
+                starts &= free >>> i;
+            }
+            if (starts == 0) {
+                continue;
+            }
+            // A block strands a seat if its neighbour is free but the seat beyond is not (or is a wall)
+            long strandsLeft = (free << 1) & ~(free << 2);
+            long strandsRight = (free >>> count) & ~(free >>> (count + 1));
+            long stranding = starts & (strandsLeft | strandsRight);
+
+            long rowScore = (long) Math.abs(row - preferredRow) * (columns + 1) * 2;
+            while (starts != 0) {
+                int start = Long.numberOfTrailingZeros(starts);
+                long bit = starts & -starts;
+                starts ^= bit;
+                long score = rowScore + Math.abs(2 * start + count - columns);
+                if ((stranding & bit) != 0) {
+                    score += orphanPenalty;
+                }
+                if (score < bestScore) {
+                    bestScore = score;
+                    best = ((long) row << 32) | start;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Extracts the row index from a result of {@link #find}.
+     *
+     * @param result the encoded block
+     * @return the row index
+     */
+    public static int row(long result) {
+        return (int) (result >>> 32);
+    }
+
+    /**
+     * Extracts the zero-based start column from a result of {@link #find}.
+     *
+     * @param result the encoded block
+     * @return the start column index
+     */
+    public static int startColumn(long result) {
+        return (int) result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.movietheater.booking.inventory;
+
+import java.util.Base64;
+
+/**
+ * Encodes per-row seat masks as a base64 bitmap for the compact seat-map format.
+ * Bits are laid out row-major, {@code columns} bits per row, most significant bit of each byte first,
+ * so bit {@code row * columns + (column - 1)} describes the seat at that position.
+ */
+public final class SeatBitmapCodec {
+
+    private SeatBitmapCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Encodes row masks as a base64 bitmap.
+     *
+     * @param rows the row masks, bit {@code column - 1} per seat
+     * @param columns the number of columns per row
+     * @return the base64 encoded bitmap
+     */
+    public static String encode(long[] rows, int columns) {
+        byte[] bytes = new byte[(rows.length * columns + 7) / 8];
+        int bit = 0;
+        for (long row : rows) {
+            for (int col = 0; col < columns; col++, bit++) {
+                if ((row & (1L << col)) != 0) {
+                    bytes[bit >>> 3] |= (byte) (0x80 >>> (bit & 7));
+                }
+            }
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Checks whether every position of the grid holds a seat.
+     *
+     * @param rows the row masks of existing seats
+     * @param columns the number of columns per row
+     * @return true if no row has gaps
+     */
+    public static boolean isFull(long[] rows, int columns) {
+        long full = columns == Long.SIZE ? -1L : (1L << columns) - 1;
+        for (long row : rows) {
+            if (row != full) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,181 @@
+package com.movietheater.booking.inventory;
+
+import com.movietheater.common.constant.CommonConst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable seat layout template of a room: a grid where every cell is a normal seat, a VIP seat,
+ * an aisle or a disabled seat. Only normal and VIP cells can be sold.
+ * <p>
+ * A template is written one string per row, rows separated by {@code /}, one character per column:
+ * {@code N} normal, {@code V} VIP, {@code .} aisle, {@code X} disabled. Rows are labelled A, B, C...
+ * from the first, and a seat keeps its grid column as its number, so aisles never renumber seats.
+ */
+public final class SeatLayout {
+    public static final char NORMAL = 'N';
+    public static final char VIP = 'V';
+    public static final char AISLE = '.';
+    public static final char DISABLED = 'X';
+    public static final String ROW_SEPARATOR = "/";
+
+    private static final int MAX_ROWS = 26;
+    private static final int MAX_COLUMNS = Long.SIZE;
+    private static final int DEFAULT_NORMAL_ROWS = 3;
+    private static final SeatLayout DEFAULT = parse(defaultTemplate());
+
+    private final String template;
+    private final int columns;
+    private final long[] seatRows;
+    private final long[] vipRows;
+    private final int capacity;
+
+    private SeatLayout(String template, int columns, long[] seatRows, long[] vipRows) {
+        this.template = template;
+        this.columns = columns;
+        this.seatRows = seatRows;
+        this.vipRows = vipRows;
+        int seats = 0;
+        for (long row : seatRows) {
+            seats += Long.bitCount(row);
+        }
+        this.capacity = seats;
+    }
+
+    /**
+     * Parses a layout template.
+     *
+     * @param template the template, rows separated by {@code /}
+     * @return the layout
+     * @throws IllegalArgumentException if the template is malformed or has no sellable seat
+     */
+    public static SeatLayout parse(String template) {
+        if (template == null || template.isBlank()) {
+            throw new IllegalArgumentException("Seat layout must not be empty");
+        }
+        String[] rows = template.trim().split(ROW_SEPARATOR, -1);
+        if (rows.length > MAX_ROWS) {
+            throw new IllegalArgumentException("Seat layout must not have more than " + MAX_ROWS + " rows");
+        }
+        int columns = 0;
+        long[] seatRows = new long[rows.length];
+        long[] vipRows = new long[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            String cells = rows[row].trim();
+            if (cells.isEmpty() || cells.length() > MAX_COLUMNS) {
+                throw new IllegalArgumentException("Row " + rowLabel(row) + " must have 1 to " + MAX_COLUMNS + " columns");
+            }
+            columns = Math.max(columns, cells.length());
+            for (int col = 0; col < cells.length(); col++) {
+                char cell = Character.toUpperCase(cells.charAt(col));
+                long bit = 1L << col;
+                if (cell == NORMAL) {
+                    seatRows[row] |= bit;
+                } else if (cell == VIP) {
+                    seatRows[row] |= bit;
+                    vipRows[row] |= bit;
+                } else if (cell != AISLE && cell != DISABLED) {
+                    throw new IllegalArgumentException("Invalid seat layout cell '" + cells.charAt(col) + "' in row " + rowLabel(row));
+                }
+            }
+        }
+        SeatLayout layout = new SeatLayout(String.join(ROW_SEPARATOR, normalizeRows(rows)), columns, seatRows, vipRows);
+        if (layout.capacity == 0) {
+            throw new IllegalArgumentException("Seat layout must have at least one seat");
+        }
+        return layout;
+    }
+
+    /**
+     * Returns the layout of a template, or the default layout when no template is set.
+     *
+     * @param template the template, may be null
+     * @return the layout
+     */
+    public static SeatLayout ofNullable(String template) {
+        return template == null || template.isBlank() ? DEFAULT : parse(template);
+    }
+
+    /**
+     * Returns the layout every room had before templates: {@link CommonConst#TOTAL_ROWS} full rows of
+     * {@link CommonConst#SEATS_PER_ROW} seats, normal in front and VIP behind.
+     *
+     * @return the default layout
+     */
+    public static SeatLayout defaultLayout() {
+        return DEFAULT;
+    }
+
+    public static String rowLabel(int row) {
+        return String.valueOf((char) ('A' + row));
+    }
+
+    /**
+     * Builds the ID of a seat from the showtime's seat ID prefix, its row label and its column.
+     *
+     * @param prefix the seat ID prefix of the showtime
+     * @param rowLabel the row label
+     * @param column the 1-based column
+     * @return the seat ID
+     */
+    public static String seatId(String prefix, String rowLabel, int column) {
+        return prefix + rowLabel + (column < 10 ? "0" : "") + column;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public List<String> getRows() {
+        return Arrays.asList(template.split(ROW_SEPARATOR));
+    }
+
+    public int getRowCount() {
+        return seatRows.length;
+    }
+
+    public int getColumnCount() {
+        return columns;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns a copy of the sellable-seat mask of every row (bit {@code col - 1} per seat).
+     *
+     * @return the seat row masks
+     */
+    public long[] seatRowsSnapshot() {
+        return seatRows.clone();
+    }
+
+    /**
+     * Returns a copy of the VIP mask of every row.
+     *
+     * @return the VIP row masks
+     */
+    public long[] vipRowsSnapshot() {
+        return vipRows.clone();
+    }
+
+    private static List<String> normalizeRows(String[] rows) {
+        List<String> normalized = new ArrayList<>(rows.length);
+        for (String row : rows) {
+            normalized.add(row.trim().toUpperCase(Locale.ROOT));
+        }
+        return normalized;
+    }
+
+    private static String defaultTemplate() {
+        List<String> rows = new ArrayList<>(CommonConst.TOTAL_ROWS);
+        for (int row = 0; row < CommonConst.TOTAL_ROWS; row++) {
+            rows.add(String.valueOf(row < DEFAULT_NORMAL_ROWS ? NORMAL : VIP).repeat(CommonConst.SEATS_PER_ROW));
+        }
+        return String.join(ROW_SEPARATOR, rows);
+    }
+}
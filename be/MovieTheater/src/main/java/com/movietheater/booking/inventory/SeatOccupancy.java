@@ -0,0 +1,331 @@
+package com.movietheater.booking.inventory;
+
+import com.movietheater.booking.policy.SeatPolicy;
+import com.movietheater.booking.policy.SeatPolicyEngine;
+import com.movietheater.booking.policy.SeatPolicyViolation;
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.entity.ScheduleSeat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact occupancy snapshot of one showtime's seat grid.
+ * Each row is stored as a 64-bit mask (bit {@code col - 1} is set when the seat is booked),
+ * with parallel masks marking the seats that exist and the VIP seats. The layout (seat IDs, row labels)
+ * comes from the showtime's {@link SeatLayout} and is fixed at load time.
+ */
+public final class SeatOccupancy {
+    private final String scheduleId;
+    private final String[] rowLabels;
+    private final int columns;
+    private final String[] seatIds;
+    private final Map<String, Integer> seatIndex;
+    private final long[] existingRows;
+    private final long[] vipRows;
+    private final long[] bookedRows;
+    private final long loadedAt;
+    private long version;
+
+    private SeatOccupancy(String scheduleId, long version, String[] rowLabels, int columns) {
+        this.scheduleId = scheduleId;
+        this.version = version;
+        this.rowLabels = rowLabels;
+        this.columns = columns;
+        this.seatIds = new String[rowLabels.length * columns];
+        this.seatIndex = new HashMap<>(seatIds.length * 2);
+        this.existingRows = new long[rowLabels.length];
+        this.vipRows = new long[rowLabels.length];
+        this.bookedRows = new long[rowLabels.length];
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Builds an occupancy snapshot by composing a seat layout with the seats that are taken.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param version the seat version of the schedule, read before the seats
+     * @param layout the seat layout of the schedule
+     * @param seatIdPrefix the prefix of every seat ID of the schedule
+     * @param takenSeats the persisted seats of the schedule; only the ones not available are marked booked
+     * @return the occupancy snapshot
+     */
+    public static SeatOccupancy fromLayout(String scheduleId, long version, SeatLayout layout, String seatIdPrefix,
+                                           List<ScheduleSeat> takenSeats) {
+        String[] rowLabels = new String[layout.getRowCount()];
+        for (int row = 0; row < rowLabels.length; row++) {
+            rowLabels[row] = SeatLayout.rowLabel(row);
+        }
+        int columns = layout.getColumnCount();
+        SeatOccupancy occupancy = new SeatOccupancy(scheduleId, version, rowLabels, columns);
+        long[] seatRows = layout.seatRowsSnapshot();
+        long[] vipRows = layout.vipRowsSnapshot();
+        for (int row = 0; row < rowLabels.length; row++) {
+            occupancy.existingRows[row] = seatRows[row];
+            occupancy.vipRows[row] = vipRows[row];
+            for (long seats = seatRows[row]; seats != 0; seats &= seats - 1) {
+                int col = Long.numberOfTrailingZeros(seats);
+                String seatId = SeatLayout.seatId(seatIdPrefix, rowLabels[row], col + 1);
+                occupancy.seatIds[row * columns + col] = seatId;
+                occupancy.seatIndex.put(seatId, row * columns + col);
+            }
+        }
+        for (ScheduleSeat seat : takenSeats) {
+            Integer index = occupancy.seatIndex.get(seat.getScheduleSeatId());
+            if (index != null && !CommonConst.SEAT_STATUS_AVAILABLE.equals(seat.getSeatStatus())) {
+                occupancy.bookedRows[index / columns] |= 1L << (index % columns);
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * Returns an occupancy without seats, for schedules that do not exist.
+     *
+     * @param scheduleId the ID of the schedule
+     * @return the empty occupancy
+     */
+    public static SeatOccupancy empty(String scheduleId) {
+        return new SeatOccupancy(scheduleId, 0, new String[0], 0);
+    }
+
+    public String getScheduleId() {
+        return scheduleId;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int getRowCount() {
+        return rowLabels.length;
+    }
+
+    public int getColumnCount() {
+        return columns;
+    }
+
+    public String getRowLabel(int row) {
+        return rowLabels[row];
+    }
+
+    /**
+     * Returns the prefix shared by every seat ID when all IDs follow {@code prefix + row + two-digit column},
+     * so that clients can rebuild the IDs from the layout alone.
+     *
+     * @return the common seat ID prefix, or null if the IDs do not follow the pattern
+     */
+    public String getSeatIdPrefix() {
+        String prefix = null;
+        for (int index = 0; index < seatIds.length; index++) {
+            String seatId = seatIds[index];
+            if (seatId == null) {
+                continue;
+            }
+            String suffix = rowLabels[index / columns] + String.format("%02d", index % columns + 1);
+            if (!seatId.endsWith(suffix)) {
+                return null;
+            }
+            String candidate = seatId.substring(0, seatId.length() - suffix.length());
+            if (prefix == null) {
+                prefix = candidate;
+            } else if (!prefix.equals(candidate)) {
+                return null;
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Returns the seat IDs in row-major order, with null where the layout has no seat.
+     *
+     * @return the seat IDs of the layout
+     */
+    public List<String> getSeatIds() {
+        return Arrays.asList(seatIds.clone());
+    }
+
+    /**
+     * Checks whether a seat ID belongs to this schedule.
+     *
+     * @param seatId the schedule seat ID
+     * @return true if the seat is part of the layout
+     */
+    public boolean contains(String seatId) {
+        return seatIndex.containsKey(seatId);
+    }
+
+    /**
+     * Returns the seat IDs from the given collection that are unknown or already taken.
+     *
+     * @param seatIds the seat IDs to check
+     * @return the unavailable seat IDs, empty if all are available
+     */
+    public synchronized List<String> findUnavailable(Collection<String> seatIds) {
+        List<String> unavailable = new ArrayList<>();
+        for (String seatId : seatIds) {
+            Integer index = seatIndex.get(seatId);
+            if (index == null || (bookedRows[index / columns] & (1L << (index % columns))) != 0) {
+                unavailable.add(seatId);
+            }
+        }
+        return unavailable;
+    }
+
+    /**
+     * Finds the best block of adjacent available seats in one row, see {@link BestSeatFinder}.
+     *
+     * @param count the number of adjacent seats wanted
+     * @param type one of the {@code BestSeatFinder.TYPE_*} filters
+     * @return the seat IDs of the block from left to right, empty if no block fits
+     */
+    public synchronized List<String> findBestBlock(int count, int type) {
+        long best = BestSeatFinder.find(existingRows, vipRows, bookedRows, columns, count, type);
+        if (best == BestSeatFinder.NOT_FOUND) {
+            return List.of();
+        }
+        int first = BestSeatFinder.row(best) * columns + BestSeatFinder.startColumn(best);
+        return Arrays.asList(Arrays.copyOfRange(seatIds, first, first + count));
+    }
+
+    /**
+     * Evaluates a selection of seats against a seat policy and the current occupancy, see {@link SeatPolicyEngine}.
+     *
+     * @param seatIds the selected seat IDs; unknown IDs are ignored
+     * @param policy the rules to check
+     * @return the violations, empty if the selection satisfies every rule
+     */
+    public synchronized List<SeatPolicyViolation> evaluatePolicy(Collection<String> seatIds, SeatPolicy policy) {
+        long[] selected = new long[rowLabels.length];
+        for (String seatId : seatIds) {
+            Integer index = seatIndex.get(seatId);
+            if (index != null) {
+                selected[index / columns] |= 1L << (index % columns);
+            }
+        }
+        return SeatPolicyEngine.evaluate(existingRows, bookedRows, selected, rowLabels, policy);
+    }
+
+    /**
+     * Sets or clears the booked bit for the given seats as the change that produced {@code newVersion}.
+     * Unknown seat IDs are ignored. The change is rejected if it does not directly follow the current
+     * version, which means changes made elsewhere were missed and the snapshot must be reloaded.
+     *
+     * @param seatIds the seat IDs to update
+     * @param booked true to mark the seats booked, false to release them
+     * @param newVersion the seat version of the schedule after the change
+     * @return true if the change was applied, false if the snapshot is out of date
+     */
+    public synchronized boolean mark(Collection<String> seatIds, boolean booked, long newVersion) {
+        if (newVersion != version + 1) {
+            return false;
+        }
+        for (String seatId : seatIds) {
+            Integer index = seatIndex.get(seatId);
+            if (index == null) {
+                continue;
+            }
+            long bit = 1L << (index % columns);
+            if (booked) {
+                bookedRows[index / columns] |= bit;
+            } else {
+                bookedRows[index / columns] &= ~bit;
+            }
+        }
+        version = newVersion;
+        return true;
+    }
+
+    /**
+     * Returns a copy of the booked mask of every row.
+     *
+     * @return the booked row masks
+     */
+    public synchronized long[] bookedRowsSnapshot() {
+        return bookedRows.clone();
+    }
+
+    /**
+     * Returns a copy of the mask of seats that exist in every row.
+     *
+     * @return the existing-seat row masks
+     */
+    public long[] existingRowsSnapshot() {
+        return existingRows.clone();
+    }
+
+    /**
+     * Returns a copy of the VIP mask of every row.
+     *
+     * @return the VIP row masks
+     */
+    public long[] vipRowsSnapshot() {
+        return vipRows.clone();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized int countAvailable() {
+        int available = 0;
+        for (int row = 0; row < rowLabels.length; row++) {
+            available += Long.bitCount(existingRows[row] & ~bookedRows[row]);
+        }
+        return available;
+    }
+
+    /**
+     * Materializes the seat map as {@link ScheduleSeat} objects in row-major order.
+     *
+     * @return the seats of the schedule with their current status
+     */
+    public List<ScheduleSeat> toSeats() {
+        long[] booked = bookedRowsSnapshot();
+        List<ScheduleSeat> seats = new ArrayList<>(seatIndex.size());
+        for (int row = 0; row < rowLabels.length; row++) {
+            for (int col = 0; col < columns; col++) {
+                String seatId = seatIds[row * columns + col];
+                if (seatId != null) {
+                    seats.add(toSeat(seatId, row, col, booked[row]));
+                }
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Materializes the given seats as {@link ScheduleSeat} objects, in the order requested.
+     *
+     * @param seatIds the seat IDs to materialize
+     * @return the seats, skipping IDs that are not part of the layout
+     */
+    public List<ScheduleSeat> toSeats(Collection<String> seatIds) {
+        long[] booked = bookedRowsSnapshot();
+        List<ScheduleSeat> seats = new ArrayList<>(seatIds.size());
+        for (String seatId : seatIds) {
+            Integer index = seatIndex.get(seatId);
+            if (index != null) {
+                int row = index / columns;
+                seats.add(toSeat(seatId, row, index % columns, booked[row]));
+            }
+        }
+        return seats;
+    }
+
+    private ScheduleSeat toSeat(String seatId, int row, int col, long bookedMask) {
+        long bit = 1L << col;
+        return ScheduleSeat.builder()
+            .scheduleSeatId(seatId)
+            .scheduleId(scheduleId)
+            .seatRow(rowLabels[row])
+            .seatColumn(col + 1)
+            .seatType((vipRows[row] & bit) != 0 ? CommonConst.SEAT_TYPE_VIP : CommonConst.SEAT_TYPE_NORMAL)
+            .seatStatus((bookedMask & bit) != 0 ? CommonConst.SEAT_STATUS_BOOKED : CommonConst.SEAT_STATUS_AVAILABLE)
+            .build();
+    }
+}
@@ -0,0 +1,290 @@
+package com.movietheater.booking.lane;
+
+import com.movietheater.booking.exception.BookingLaneBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer execution lanes for seat claims, striped by schedule ID.
+ * <p>
+ * All work for one schedule lands on the same lane and runs sequentially on that lane's thread,
+ * so claims for a showtime never contend with each other for its rows. A lane drains up to
+ * {@code maxBatchSize} queued tasks and runs them in one transaction. When a task fails, that transaction
+ * is rolled back and the other tasks run again in a fresh one: Hibernate offers no savepoints through JPA,
+ * and a failure inside a participating {@code @Transactional} method leaves the whole transaction
+ * rollback-only anyway. Results, and the after-commit callbacks each task registered, are only published
+ * once the transaction holding the task commits. Different showtimes hash to different lanes and proceed in parallel.
+ */
+@Component
+@Slf4j
+public class BookingLaneExecutor {
+    private static final int TASK_QUEUED = 0;
+    private static final int TASK_STARTED = 1;
+    private static final int TASK_CANCELLED = 2;
+
+    private final Lane[] lanes;
+    private final EntityManager entityManager;
+    private final TransactionTemplate batchTransaction;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMillis;
+    private final DistributionSummary batchSize;
+    private final Counter rejected;
+    private volatile boolean running = true;
+
+    public BookingLaneExecutor(PlatformTransactionManager transactionManager,
+                               EntityManager entityManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${booking-lane.lanes:0}") int laneCount,
+                               @Value("${booking-lane.queue-capacity:200}") int queueCapacity,
+                               @Value("${booking-lane.max-batch-size:16}") int maxBatchSize,
+                               @Value("${booking-lane.await-timeout-millis:10000}") long awaitTimeoutMillis) {
+        this.entityManager = entityManager;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.batchSize = DistributionSummary.builder("booking.lane.batch.size")
+            .description("Number of booking tasks committed in one lane transaction")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("booking.lane.rejected")
+            .description("Booking tasks rejected because their lane queue was full")
+            .register(meterRegistry);
+
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            Lane lane = new Lane(i, queueCapacity);
+            Gauge.builder("booking.lane.queue.depth", lane.queue, BlockingQueue::size)
+                .description("Booking tasks waiting in a lane")
+                .tag("lane", String.valueOf(i))
+                .register(meterRegistry);
+            lanes[i] = lane;
+            lane.thread.start();
+        }
+        log.info("Started {} booking lanes, queue capacity {}, max batch size {}", count, queueCapacity, maxBatchSize);
+    }
+
+    /**
+     * Runs a task on the lane of the given schedule and waits for its batch to commit.
+     *
+     * @param scheduleId the ID of the schedule the task writes to
+     * @param work the work to run inside the lane transaction
+     * @return the result of the work
+     * @throws BookingLaneBusyException if the lane queue is full or the task could not start in time
+     */
+    public <T> T execute(String scheduleId, Supplier<T> work) {
+        Lane lane = lanes[Math.floorMod(scheduleId.hashCode(), lanes.length)];
+        Task<T> task = new Task<>(work);
+        if (!running || !lane.queue.offer(task)) {
+            rejected.increment();
+            log.warn("Booking lane {} is full, rejecting task for scheduleId: {}", lane.index, scheduleId);
+            throw new BookingLaneBusyException(scheduleId);
+        }
+        try {
+            try {
+                return task.result.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (task.state.compareAndSet(TASK_QUEUED, TASK_CANCELLED)) {
+                    rejected.increment();
+                    log.warn("Booking task for scheduleId {} did not start within {} ms", scheduleId, awaitTimeoutMillis);
+                    throw new BookingLaneBusyException(scheduleId);
+                }
+                // Already running: its transaction is bounded, wait for the outcome rather than report a false failure
+                return task.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Booking task failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking task", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+    }
+
+    private void runBatch(List<Task<?>> batch) {
+        List<Task<?>> remaining = batch;
+        while (!remaining.isEmpty()) {
+            remaining = runAttempt(remaining);
+        }
+    }
+
+    // Runs the tasks in one transaction up to the first failure. Returns the tasks still to run: empty once
+    // the transaction commits, otherwise every task but the failed one, since the rollback undid them too
+    private List<Task<?>> runAttempt(List<Task<?>> tasks) {
+        List<Task<?>> ran = new ArrayList<>(tasks.size());
+        Task<?> failed;
+        try {
+            failed = batchTransaction.execute(status -> {
+                for (Task<?> task : tasks) {
+                    ran.add(task);
+                    if (!task.run(entityManager)) {
+                        status.setRollbackOnly();
+                        return task;
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Booking lane batch of {} tasks failed to commit: {}", ran.size(), e.getMessage(), e);
+            ran.forEach(task -> task.fail(e));
+            return Collections.emptyList();
+        }
+        if (failed == null) {
+            batchSize.record(tasks.size());
+            tasks.forEach(Task::commit);
+            return Collections.emptyList();
+        }
+        List<Task<?>> retry = new ArrayList<>(tasks.size() - 1);
+        for (Task<?> task : tasks) {
+            if (task == failed) {
+                task.fail(task.error);
+            } else {
+                task.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                retry.add(task);
+            }
+        }
+        return retry;
+    }
+
+    private final class Lane {
+        private final int index;
+        private final BlockingQueue<Task<?>> queue;
+        private final Thread thread;
+
+        private Lane(int index, int queueCapacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this::run, "booking-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            List<Task<?>> drained = new ArrayList<>(maxBatchSize);
+            while (running) {
+                try {
+                    drained.add(queue.take());
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                queue.drainTo(drained, maxBatchSize - 1);
+                List<Task<?>> batch = new ArrayList<>(drained.size());
+                for (Task<?> task : drained) {
+                    if (task.state.compareAndSet(TASK_QUEUED, TASK_STARTED)) {
+                        batch.add(task);
+                    }
+                }
+                drained.clear();
+                if (!batch.isEmpty()) {
+                    runBatch(batch);
+                }
+            }
+            Task<?> task;
+            while ((task = queue.poll()) != null) {
+                task.result.completeExceptionally(new IllegalStateException("Booking lanes are shutting down"));
+            }
+        }
+    }
+
+    private static final class Task<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(TASK_QUEUED);
+        private final List<TransactionSynchronization> synchronizations = new ArrayList<>();
+        private T value;
+        private RuntimeException error;
+
+        private Task(Supplier<T> work) {
+            this.work = work;
+        }
+
+        // Flushes before returning so that a constraint violation is charged to this task rather than the batch
+        private boolean run(EntityManager entityManager) {
+            List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+            try {
+                value = work.get();
+                entityManager.flush();
+                return true;
+            } catch (RuntimeException e) {
+                error = e;
+                return false;
+            } finally {
+                detachSynchronizations(registered);
+            }
+        }
+
+        // Takes the callbacks the task registered off the batch transaction, so that they run for this task alone
+        // and only once a transaction holding its work commits
+        private void detachSynchronizations(List<TransactionSynchronization> registeredBefore) {
+            Set<TransactionSynchronization> before = Collections.newSetFromMap(new IdentityHashMap<>());
+            before.addAll(registeredBefore);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                if (!before.contains(synchronization)) {
+                    synchronizations.add(synchronization);
+                }
+            }
+            if (!synchronizations.isEmpty()) {
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.initSynchronization();
+                registeredBefore.forEach(TransactionSynchronizationManager::registerSynchronization);
+            }
+        }
+
+        private void afterCompletion(int status) {
+            for (TransactionSynchronization synchronization : synchronizations) {
+                try {
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        synchronization.afterCommit();
+                    }
+                    synchronization.afterCompletion(status);
+                } catch (RuntimeException e) {
+                    log.error("Booking task callback failed: {}", e.getMessage(), e);
+                }
+            }
+            synchronizations.clear();
+        }
+
+        private void commit() {
+            afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            result.complete(value);
+        }
+
+        private void fail(RuntimeException e) {
+            afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.movietheater.booking.policy;
+
+/**
+ * Immutable set of seat policy rules for one room.
+ */
+public final class SeatPolicy {
+    private final SeatPolicyAction noOrphanSeat;
+    private final SeatPolicyAction noGap;
+    private final SeatPolicyAction maxPerRowAction;
+    private final int maxPerRow;
+
+    /**
+     * Creates a seat policy.
+     *
+     * @param noOrphanSeat the action when a selection leaves a single free seat between taken seats or a wall
+     * @param noGap the action when free seats are left between the selected seats of a row
+     * @param maxPerRowAction the action when more than {@code maxPerRow} seats are selected in one row
+     * @param maxPerRow the largest number of seats per row, 0 for no limit
+     */
+    public SeatPolicy(SeatPolicyAction noOrphanSeat, SeatPolicyAction noGap,
+                      SeatPolicyAction maxPerRowAction, int maxPerRow) {
+        this.noOrphanSeat = noOrphanSeat;
+        this.noGap = noGap;
+        this.maxPerRowAction = maxPerRow > 0 ? maxPerRowAction : SeatPolicyAction.OFF;
+        this.maxPerRow = maxPerRow;
+    }
+
+    public SeatPolicyAction getNoOrphanSeat() {
+        return noOrphanSeat;
+    }
+
+    public SeatPolicyAction getNoGap() {
+        return noGap;
+    }
+
+    public SeatPolicyAction getMaxPerRowAction() {
+        return maxPerRowAction;
+    }
+
+    public int getMaxPerRow() {
+        return maxPerRow;
+    }
+
+    public SeatPolicyAction actionFor(SeatPolicyRule rule) {
+        switch (rule) {
+            case NO_ORPHAN_SEAT:
+                return noOrphanSeat;
+            case NO_GAP:
+                return noGap;
+            default:
+                return maxPerRowAction;
+        }
+    }
+}
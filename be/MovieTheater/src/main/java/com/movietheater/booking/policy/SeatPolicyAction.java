@@ -0,0 +1,13 @@
+package com.movietheater.booking.policy;
+
+/**
+ * What happens when a seat selection breaks a seat policy rule.
+ */
+public enum SeatPolicyAction {
+    /** The rule is not checked. */
+    OFF,
+    /** The selection is accepted and the violation is logged. */
+    WARN,
+    /** The selection is rejected. */
+    BLOCK
+}
@@ -0,0 +1,68 @@
+package com.movietheater.booking.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates a seat selection against a {@link SeatPolicy} and the showtime's current occupancy.
+ * <p>
+ * Rows are 64-bit masks (bit {@code col - 1} per seat), so each rule is a handful of word operations
+ * per selected row and the whole check is a single pass over the rows. Because booked seats are part
+ * of the input, a selection that leaves one free seat between itself and an existing booking is
+ * caught, not only gaps inside the selection.
+ */
+public final class SeatPolicyEngine {
+    private SeatPolicyEngine() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Evaluates a selection.
+     *
+     * @param existing per-row masks of seats that exist
+     * @param booked per-row masks of seats already booked
+     * @param selected per-row masks of the selected seats
+     * @param rowLabels the label of every row
+     * @param policy the rules to check
+     * @return the violations, in row order, empty if the selection satisfies every rule
+     */
+    public static List<SeatPolicyViolation> evaluate(long[] existing, long[] booked, long[] selected,
+                                                     String[] rowLabels, SeatPolicy policy) {
+        List<SeatPolicyViolation> violations = null;
+        for (int row = 0; row < selected.length; row++) {
+            long chosen = selected[row];
+            if (chosen == 0) {
+                continue;
+            }
+            // Seats still free once the selection is booked
+            long free = existing[row] & ~booked[row] & ~chosen;
+
+            if (policy.getNoOrphanSeat() != SeatPolicyAction.OFF) {
+                // A free seat with no free neighbour; walls and missing seats count as taken
+                long orphans = free & ~(free << 1) & ~(free >>> 1);
+                if ((orphans & ((chosen << 1) | (chosen >>> 1))) != 0) {
+                    violations = add(violations, SeatPolicyRule.NO_ORPHAN_SEAT, policy, rowLabels[row]);
+                }
+            }
+            if (policy.getNoGap() != SeatPolicyAction.OFF) {
+                long lowest = chosen & -chosen;
+                long highest = Long.highestOneBit(chosen);
+                long span = (highest - lowest) | highest;
+                if ((span & free) != 0) {
+                    violations = add(violations, SeatPolicyRule.NO_GAP, policy, rowLabels[row]);
+                }
+            }
+            if (policy.getMaxPerRowAction() != SeatPolicyAction.OFF && Long.bitCount(chosen) > policy.getMaxPerRow()) {
+                violations = add(violations, SeatPolicyRule.MAX_PER_ROW, policy, rowLabels[row]);
+            }
+        }
+        return violations == null ? List.of() : violations;
+    }
+
+    private static List<SeatPolicyViolation> add(List<SeatPolicyViolation> violations, SeatPolicyRule rule,
+                                                 SeatPolicy policy, String row) {
+        List<SeatPolicyViolation> result = violations == null ? new ArrayList<>(2) : violations;
+        result.add(new SeatPolicyViolation(rule, policy.actionFor(rule), row));
+        return result;
+    }
+}
@@ -0,0 +1,20 @@
+package com.movietheater.booking.policy;
+
+/**
+ * Rules a seat selection is checked against, together with the message shown for a violation.
+ */
+public enum SeatPolicyRule {
+    NO_ORPHAN_SEAT("Selection leaves an isolated seat"),
+    NO_GAP("Selected seats have gaps"),
+    MAX_PER_ROW("Too many seats selected in one row");
+
+    private final String message;
+
+    SeatPolicyRule(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,37 @@
+package com.movietheater.booking.policy;
+
+/**
+ * A broken seat policy rule in one row of a selection.
+ */
+public final class SeatPolicyViolation {
+    private final SeatPolicyRule rule;
+    private final SeatPolicyAction action;
+    private final String row;
+
+    public SeatPolicyViolation(SeatPolicyRule rule, SeatPolicyAction action, String row) {
+        this.rule = rule;
+        this.action = action;
+        this.row = row;
+    }
+
+    public SeatPolicyRule getRule() {
+        return rule;
+    }
+
+    public SeatPolicyAction getAction() {
+        return action;
+    }
+
+    public String getRow() {
+        return row;
+    }
+
+    public boolean isBlocking() {
+        return action == SeatPolicyAction.BLOCK;
+    }
+
+    @Override
+    public String toString() {
+        return rule.getMessage() + " (row " + row + ")";
+    }
+}
@@ -0,0 +1,62 @@
+package com.movietheater.booking.scheduler;
+
+import com.movietheater.booking.service.SeatAvailabilityService;
+import com.movietheater.repository.ScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Background job that recomputes the available-seat counters of upcoming showtimes from their seat states.
+ * Schedules are split into chunks that are reconciled in parallel, each in its own short transaction.
+ */
+@Component
+@Slf4j
+public class AvailabilityReconciler {
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final ScheduleRepository scheduleRepository;
+    private final ExecutorService executor;
+    private final int chunkSize;
+
+    public AvailabilityReconciler(SeatAvailabilityService seatAvailabilityService,
+                                  ScheduleRepository scheduleRepository,
+                                  @Qualifier("availabilityReconcileExecutor") ExecutorService executor,
+                                  @Value("${availability-reconcile.chunk-size:200}") int chunkSize) {
+        this.seatAvailabilityService = seatAvailabilityService;
+        this.scheduleRepository = scheduleRepository;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${availability-reconcile.initial-delay-millis:60000}",
+               fixedDelayString = "${availability-reconcile.interval-millis:300000}")
+    public void reconcile() {
+        try {
+            List<String> scheduleIds = scheduleRepository.findScheduleIdsByShowtimeFrom(LocalDateTime.now());
+            List<CompletableFuture<Long>> chunks = new ArrayList<>();
+            for (int from = 0; from < scheduleIds.size(); from += chunkSize) {
+                List<String> chunk = scheduleIds.subList(from, Math.min(from + chunkSize, scheduleIds.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> seatAvailabilityService.reconcile(chunk), executor));
+            }
+            long drift = 0;
+            for (CompletableFuture<Long> chunk : chunks) {
+                drift += chunk.join();
+            }
+            if (drift > 0) {
+                log.warn("Repaired available seat counters of upcoming showtimes, total drift: {} seats", drift);
+            } else {
+                log.debug("Available seat counters of {} upcoming showtimes are consistent", scheduleIds.size());
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling available seat counters: {}", e.getMessage(), e);
+        }
+    }
+}
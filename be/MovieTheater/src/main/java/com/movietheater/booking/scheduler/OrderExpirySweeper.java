@@ -0,0 +1,48 @@
+package com.movietheater.booking.scheduler;
+
+import com.movietheater.booking.service.OrderExpiryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that expires unpaid orders from their persisted deadline.
+ * It covers orders whose in-memory timeout was lost to a restart or that were created on
+ * another node; each chunk commits on its own so a large backlog drains incrementally.
+ */
+@Component
+@Slf4j
+public class OrderExpirySweeper {
+    private final OrderExpiryService orderExpiryService;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public OrderExpirySweeper(OrderExpiryService orderExpiryService,
+                              @Value("${order-expiry.chunk-size:500}") int chunkSize,
+                              @Value("${order-expiry.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.orderExpiryService = orderExpiryService;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(initialDelayString = "${order-expiry.initial-delay-millis:10000}",
+               fixedDelayString = "${order-expiry.sweep-interval-millis:15000}")
+    public void sweep() {
+        int total = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int expired = orderExpiryService.expireDueBookings(chunkSize);
+                total += expired;
+                if (expired < chunkSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error sweeping expired orders: {}", e.getMessage(), e);
+        }
+        if (total > 0) {
+            log.info("Expired {} overdue bookings", total);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.movietheater.booking.service;
+
+import java.util.List;
+
+/**
+ * Interface for giving back the seats of bookings that were expired or cancelled.
+ */
+public interface BookingReleaseService {
+    /**
+     * Releases the seats of bookings already moved out of their active status, grouped by schedule.
+     * Each schedule costs a constant number of statements regardless of the number of seats.
+     * Must be called in the transaction that changed the bookings.
+     *
+     * @param bookingRows rows of {@code [booking_id, schedule_id, seat_id]}
+     * @return the number of seats released
+     */
+    int releaseSeats(List<Object[]> bookingRows);
+}
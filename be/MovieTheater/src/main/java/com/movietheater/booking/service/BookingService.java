@@ -1,7 +1,9 @@
 package com.movietheater.booking.service;
 
 import com.movietheater.booking.dto.request.BookingRequest;
+import com.movietheater.booking.dto.response.BestSeatsResponse;
 import com.movietheater.booking.dto.response.BookingResponse;
+import com.movietheater.booking.dto.response.CompactSeatMapResponse;
 import com.movietheater.booking.dto.response.MovieResponse;
 import com.movietheater.entity.Booking;
 import com.movietheater.entity.Schedule;
@@ -44,6 +46,15 @@ public interface BookingService {
      */
     Schedule getScheduleById(String scheduleId);
 
+    /**
+     * Retrieves a schedule by its ID, at least as recent as the given seat version.
+     *
+     * @param scheduleId     the ID of the schedule
+     * @param minSeatVersion the seat version read from the database, see {@link #getSeatVersion(String)}
+     * @return the Schedule object
+     */
+    Schedule getScheduleById(String scheduleId, long minSeatVersion);
+
     /**
      * Retrieves seats for a specific schedule.
      *
@@ -52,6 +63,57 @@ public interface BookingService {
      */
     List<ScheduleSeat> getSeatsBySchedule(String scheduleId);
 
+    /**
+     * Retrieves all seats for a schedule, at least as recent as the given seat version.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param minVersion the lowest acceptable seat version
+     * @return List of ScheduleSeat objects
+     */
+    List<ScheduleSeat> getSeatsBySchedule(String scheduleId, long minVersion);
+
+    /**
+     * Retrieves the current seat version of a schedule without loading its seats.
+     *
+     * @param scheduleId the ID of the schedule
+     * @return the seat version
+     */
+    long getSeatVersion(String scheduleId);
+
+    /**
+     * Retrieves the seat map of a schedule in the compact bitmap format.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param minVersion the lowest acceptable seat version
+     * @return the CompactSeatMapResponse object
+     */
+    CompactSeatMapResponse getCompactSeatMap(String scheduleId, long minVersion);
+
+    /**
+     * Finds the best block of adjacent available seats in one row, preferring rows two thirds back
+     * and seats near the center, without holding it.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param count the number of adjacent seats wanted
+     * @param seatType the seat type, {@code VIP}, {@code NORMAL}, or null for any
+     * @return the BestSeatsResponse object, with no seat IDs if no block fits
+     * @throws IllegalArgumentException if the count or seat type is invalid
+     */
+    BestSeatsResponse findBestSeats(String scheduleId, int count, String seatType);
+
+    /**
+     * Finds the best block of adjacent available seats and books it as pending for the user in one step.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param count the number of adjacent seats wanted
+     * @param seatType the seat type, {@code VIP}, {@code NORMAL}, or null for any
+     * @param userId the ID of the user
+     * @param promotionId the optional promotion ID
+     * @return the BestSeatsResponse object with the created bookings, with no seat IDs if no block fits
+     * @throws IllegalArgumentException if the count or seat type is invalid
+     */
+    BestSeatsResponse holdBestSeats(String scheduleId, int count, String seatType, String userId, String promotionId);
+
     /**
      * Creates a new booking.
      *
@@ -92,4 +154,13 @@ public interface BookingService {
      * @param userId the ID of the user
      */
     void cancelBooking(String bookingId, String userId);
+
+    /**
+     * Cancels every pending or unpaid booking of an order for a specific user and releases their seats.
+     *
+     * @param orderId the ID of the order
+     * @param userId the ID of the user
+     * @return the number of bookings cancelled
+     */
+    int cancelOrder(String orderId, String userId);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.movietheater.booking.service;
+
+import com.movietheater.booking.exception.IdempotencyKeyConflictException;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface for making state-changing booking requests safe to retry with an Idempotency-Key header.
+ */
+public interface IdempotencyService {
+    /**
+     * Runs the action once per key and replays its response for retries with the same key and payload.
+     * Responses with a 5xx status are not kept, so the client may retry them.
+     *
+     * @param scope the scope of the key, e.g. the endpoint and the user ID
+     * @param idempotencyKey the client supplied key, or null to run the action without deduplication
+     * @param request the request payload, used to detect a key reused for a different request
+     * @param action the action that produces the response
+     * @return the response of the action, or the stored response for a replay
+     * @throws IdempotencyKeyConflictException if the original request is in progress or the payload differs
+     */
+    <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request, Supplier<ResponseEntity<T>> action);
+}
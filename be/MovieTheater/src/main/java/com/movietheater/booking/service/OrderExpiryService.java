@@ -0,0 +1,23 @@
+package com.movietheater.booking.service;
+
+/**
+ * Interface for releasing orders whose payment deadline has passed.
+ */
+public interface OrderExpiryService {
+    /**
+     * Expires one chunk of overdue bookings and releases their seats in a single transaction.
+     *
+     * @param limit the maximum number of bookings to expire
+     * @return the number of bookings expired
+     */
+    int expireDueBookings(int limit);
+
+    /**
+     * Expires the unconfirmed bookings of an order and releases their seats.
+     * Does nothing if the order was already confirmed or expired.
+     *
+     * @param orderId the ID of the order
+     * @return the number of bookings expired
+     */
+    int expireOrder(String orderId);
+}
@@ -0,0 +1,46 @@
+package com.movietheater.booking.service;
+
+import com.movietheater.entity.Schedule;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded, time-limited cache of schedules for the booking flow, keyed by schedule ID and by movie.
+ * Entries are invalidated by every write to a schedule on this node and expire after a configurable
+ * age so that writes made by other nodes become visible. The cache holds detached copies and hands every
+ * caller its own copies, so returned schedules may be modified without affecting the cache.
+ */
+public interface ScheduleCacheService {
+    /**
+     * Retrieves a schedule by its ID, at least as recent as the given seat version. A cached copy with an
+     * older seat version, left behind by a write on another node, is reloaded.
+     *
+     * @param scheduleId     the ID of the schedule
+     * @param minSeatVersion the seat version the schedule must have reached, as read from the database
+     * @return the schedule, or empty if it does not exist
+     */
+    Optional<Schedule> getSchedule(String scheduleId, long minSeatVersion);
+
+    /**
+     * Retrieves the schedules of a movie.
+     *
+     * @param movieId the ID of the movie
+     * @return the unmodifiable list of schedules
+     */
+    List<Schedule> getSchedulesByMovie(String movieId);
+
+    /**
+     * Drops a schedule and every movie list containing it, now and again when the current transaction completes.
+     *
+     * @param scheduleId the ID of the schedule
+     */
+    void evict(String scheduleId);
+
+    /**
+     * Drops the schedule list of a movie, now and again when the current transaction completes.
+     *
+     * @param movieId the ID of the movie
+     */
+    void evictMovie(String movieId);
+}
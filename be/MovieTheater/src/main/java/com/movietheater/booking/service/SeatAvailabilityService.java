@@ -0,0 +1,36 @@
+package com.movietheater.booking.service;
+
+import java.util.Collection;
+
+/**
+ * Maintains the per-schedule available-seat counters.
+ * Counters only change through atomic delta updates; seat states remain the source of truth and
+ * drifted counters are recomputed from them.
+ */
+public interface SeatAvailabilityService {
+    /**
+     * Takes claimed seats from a schedule's counter. Must be called in the transaction that claimed the seats,
+     * after the claim; if the counter has fewer seats left, it is recomputed from the seat states instead.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param count the number of claimed seats
+     */
+    void reserve(String scheduleId, int count);
+
+    /**
+     * Gives released seats back to a schedule's counter. Must be called in the transaction that released the seats,
+     * after the release; if the counter would exceed the total, it is recomputed from the seat states instead.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param count the number of released seats
+     */
+    void release(String scheduleId, int count);
+
+    /**
+     * Recomputes the counters of the given schedules from their seat states and repairs the ones that drifted.
+     *
+     * @param scheduleIds the IDs of the schedules
+     * @return the total number of seats the repaired counters were off by
+     */
+    long reconcile(Collection<String> scheduleIds);
+}
@@ -0,0 +1,86 @@
+package com.movietheater.booking.service;
+
+import com.movietheater.booking.exception.SeatsTakenException;
+import com.movietheater.booking.inventory.SeatOccupancy;
+import com.movietheater.entity.ScheduleSeat;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory seat inventory that serves seat-map reads and availability checks
+ * for active schedules without querying the database. Every claim and release bumps the
+ * schedule's persisted seat version so that cached copies on any node can detect staleness.
+ */
+public interface SeatInventoryService {
+    /**
+     * Retrieves the occupancy of a schedule, loading it from the database on first access.
+     *
+     * @param scheduleId the ID of the schedule
+     * @return the occupancy snapshot
+     */
+    SeatOccupancy getOccupancy(String scheduleId);
+
+    /**
+     * Retrieves the occupancy of a schedule, reloading it if the cached copy is older than the given version.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param minVersion the lowest acceptable seat version
+     * @return the occupancy snapshot
+     */
+    SeatOccupancy getOccupancy(String scheduleId, long minVersion);
+
+    /**
+     * Retrieves the full seat map of a schedule.
+     *
+     * @param scheduleId the ID of the schedule
+     * @return List of ScheduleSeat objects in row-major order
+     */
+    List<ScheduleSeat> getSeatMap(String scheduleId);
+
+    /**
+     * Retrieves the given seats of a schedule with their layout metadata.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param seatIds the IDs of the seats
+     * @return List of ScheduleSeat objects
+     * @throws IllegalArgumentException if a seat does not belong to the schedule
+     */
+    List<ScheduleSeat> getSeats(String scheduleId, List<String> seatIds);
+
+    /**
+     * Finds the seats that are unknown or no longer available.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param seatIds the IDs of the seats to check
+     * @return the unavailable seat IDs, empty if all are available
+     */
+    List<String> findUnavailableSeats(String scheduleId, Collection<String> seatIds);
+
+    /**
+     * Atomically claims seats of a schedule: marks them BOOKED only where they are still AVAILABLE.
+     * Must be called inside a transaction; the in-memory occupancy is updated once it commits.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param seatIds the IDs of the seats to claim
+     * @throws SeatsTakenException if any seat was no longer available
+     */
+    void claimSeats(String scheduleId, Collection<String> seatIds);
+
+    /**
+     * Atomically releases seats of a schedule: marks them AVAILABLE where they are currently BOOKED.
+     * Must be called inside a transaction; the in-memory occupancy is updated once it commits.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param seatIds the IDs of the seats to release
+     * @return the IDs of the seats that were actually released
+     */
+    List<String> releaseSeats(String scheduleId, Collection<String> seatIds);
+
+    /**
+     * Drops the cached occupancy of a schedule so that the next access reloads it.
+     *
+     * @param scheduleId the ID of the schedule
+     */
+    void evict(String scheduleId);
+}
@@ -0,0 +1,28 @@
+package com.movietheater.booking.service;
+
+import com.movietheater.booking.dto.request.SeatLayoutRequest;
+import com.movietheater.booking.dto.response.SeatLayoutResponse;
+
+/**
+ * Interface for managing the seat layout template of each room.
+ * Showtimes copy the template of their room when they are created, so changes only affect new showtimes.
+ */
+public interface SeatLayoutService {
+    /**
+     * Retrieves the seat layout of a room.
+     *
+     * @param roomId the ID of the room
+     * @return the SeatLayoutResponse object
+     */
+    SeatLayoutResponse getRoomLayout(String roomId);
+
+    /**
+     * Replaces the seat layout of a room and sets the room capacity to the number of seats in it.
+     *
+     * @param roomId the ID of the room
+     * @param request the new layout rows; empty restores the default layout
+     * @return the resulting SeatLayoutResponse object
+     * @throws IllegalArgumentException if the layout is malformed
+     */
+    SeatLayoutResponse updateRoomLayout(String roomId, SeatLayoutRequest request);
+}
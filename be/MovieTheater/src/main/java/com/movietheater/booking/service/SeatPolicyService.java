@@ -0,0 +1,50 @@
+package com.movietheater.booking.service;
+
+import com.movietheater.booking.dto.request.SeatPolicyRequest;
+import com.movietheater.booking.dto.response.SeatPolicyResponse;
+import com.movietheater.booking.exception.SeatPolicyViolationException;
+import com.movietheater.booking.policy.SeatPolicy;
+
+import java.util.List;
+
+/**
+ * Interface for resolving and managing the seat policy of each room.
+ */
+public interface SeatPolicyService {
+    /**
+     * Retrieves the effective seat policy of a room: its overrides on top of the configured defaults.
+     *
+     * @param roomId the ID of the room
+     * @return the seat policy
+     */
+    SeatPolicy getPolicy(String roomId);
+
+    /**
+     * Checks a seat selection against the room's policy and the schedule's current occupancy.
+     * Warnings are logged; blocking violations reject the selection.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param roomId the ID of the schedule's room
+     * @param seatIds the IDs of the selected seats
+     * @throws SeatPolicyViolationException if the selection breaks a rule set to BLOCK
+     */
+    void enforce(String scheduleId, String roomId, List<String> seatIds);
+
+    /**
+     * Retrieves the effective seat policy of a room for display.
+     *
+     * @param roomId the ID of the room
+     * @return the SeatPolicyResponse object
+     */
+    SeatPolicyResponse getRoomPolicy(String roomId);
+
+    /**
+     * Replaces the seat policy overrides of a room.
+     *
+     * @param roomId the ID of the room
+     * @param request the new overrides; null fields fall back to the defaults
+     * @return the resulting effective SeatPolicyResponse object
+     * @throws IllegalArgumentException if an action or the row limit is invalid
+     */
+    SeatPolicyResponse updateRoomPolicy(String roomId, SeatPolicyRequest request);
+}
@@ -0,0 +1,19 @@
+package com.movietheater.booking.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Interface for streaming live seat status changes of a schedule to connected clients.
+ */
+public interface SeatStreamService {
+    /**
+     * Subscribes to the seat status changes of a schedule.
+     * If {@code fromVersion} is still covered by the recent history, the missed deltas are replayed;
+     * otherwise a full snapshot is sent first.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param fromVersion the last version the client has seen, or null for a fresh subscription
+     * @return the emitter that streams {@code snapshot} and {@code seat} events
+     */
+    SseEmitter subscribe(String scheduleId, Long fromVersion);
+}
@@ -0,0 +1,42 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.service.BookingReleaseService;
+import com.movietheater.booking.service.SeatAvailabilityService;
+import com.movietheater.booking.service.SeatInventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of booking release. Per schedule, the seats are flipped back in one conditional update,
+ * the seat version is bumped once and the available-seat counter gets a single delta.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingReleaseServiceImpl implements BookingReleaseService {
+    private final SeatInventoryService seatInventoryService;
+    private final SeatAvailabilityService seatAvailabilityService;
+
+    @Override
+    @Transactional
+    public int releaseSeats(List<Object[]> bookingRows) {
+        Map<String, List<String>> seatsBySchedule = bookingRows.stream()
+            .collect(Collectors.groupingBy(row -> (String) row[1], LinkedHashMap::new,
+                Collectors.mapping(row -> (String) row[2], Collectors.toList())));
+        int total = 0;
+        for (Map.Entry<String, List<String>> entry : seatsBySchedule.entrySet()) {
+            List<String> released = seatInventoryService.releaseSeats(entry.getKey(), entry.getValue());
+            seatAvailabilityService.release(entry.getKey(), released.size());
+            log.debug("Released {} seats for scheduleId: {}", released.size(), entry.getKey());
+            total += released.size();
+        }
+        return total;
+    }
+}
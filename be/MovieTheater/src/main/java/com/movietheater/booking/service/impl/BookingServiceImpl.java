@@ -1,17 +1,28 @@
 package com.movietheater.booking.service.impl;
 
 import com.movietheater.booking.dto.request.BookingRequest;
+import com.movietheater.booking.dto.response.BestSeatsResponse;
 import com.movietheater.booking.dto.response.BookingResponse;
+import com.movietheater.booking.dto.response.CompactSeatMapResponse;
 import com.movietheater.booking.dto.response.MovieResponse;
+import com.movietheater.booking.exception.SeatsTakenException;
+import com.movietheater.booking.inventory.BestSeatFinder;
+import com.movietheater.booking.inventory.SeatBitmapCodec;
+import com.movietheater.booking.inventory.SeatOccupancy;
+import com.movietheater.booking.lane.BookingLaneExecutor;
+import com.movietheater.booking.service.BookingReleaseService;
 import com.movietheater.booking.service.BookingService;
+import com.movietheater.booking.service.ScheduleCacheService;
+import com.movietheater.booking.service.SeatAvailabilityService;
+import com.movietheater.booking.service.SeatInventoryService;
+import com.movietheater.booking.service.SeatPolicyService;
+import com.movietheater.moviemanagement.service.MovieCatalogService;
 import com.movietheater.common.constant.CommonConst;
 import com.movietheater.entity.Booking;
 import com.movietheater.entity.Schedule;
 import com.movietheater.entity.ScheduleSeat;
 import com.movietheater.repository.BookingRepository;
-import com.movietheater.repository.MovieRepository;
 import com.movietheater.repository.ScheduleRepository;
-import com.movietheater.repository.ScheduleSeatRepository;
 import com.movietheater.util.BookingUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +31,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -31,69 +44,158 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
     private final ScheduleRepository scheduleRepository;
-    private final ScheduleSeatRepository scheduleSeatRepository;
-    private final MovieRepository movieRepository;
     private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingLaneExecutor bookingLaneExecutor;
+    private final SeatPolicyService seatPolicyService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final BookingReleaseService bookingReleaseService;
+    private final ScheduleCacheService scheduleCacheService;
+    private final MovieCatalogService movieCatalogService;
 
     @Override
     public List<MovieResponse> getAllMoviesWithPosters() {
         log.info("Fetching all movies with posters");
-        return movieRepository.findAllWithPosters().stream()
-            .map(MovieResponse::fromEntity)
+        return movieCatalogService.getCatalog().getMovies().stream()
+            .map(MovieResponse::fromCatalogMovie)
             .collect(Collectors.toList());
     }
 
     @Override
     public MovieResponse getMovieById(String movieId) {
         log.info("Fetching movie with movieId: {}", movieId);
-        return getAllMoviesWithPosters().stream()
-            .filter(m -> m.getMovieId().equals(movieId))
-            .findFirst()
+        return movieCatalogService.getCatalog().find(movieId)
+            .map(MovieResponse::fromCatalogMovie)
             .orElseThrow(() -> new IllegalArgumentException("Movie not found with ID: " + movieId));
     }
 
     @Override
     public List<Schedule> getSchedulesByMovie(String movieId) {
         log.info("Fetching schedules for movieId: {}", movieId);
-        return movieId == null ? scheduleRepository.findAll() : scheduleRepository.findByMovieId(movieId);
+        return movieId == null ? scheduleRepository.findAll() : scheduleCacheService.getSchedulesByMovie(movieId);
     }
 
     @Override
     public Schedule getScheduleById(String scheduleId) {
-        log.info("Fetching schedule with scheduleId: {}", scheduleId);
-        return getSchedulesByMovie(null).stream()
-            .filter(s -> s.getScheduleId().equals(scheduleId))
-            .findFirst()
+        // Any live cache entry will do in-process; writes evict it and the TTL bounds the rest
+        return getScheduleById(scheduleId, 0L);
+    }
+
+    @Override
+    public Schedule getScheduleById(String scheduleId, long minSeatVersion) {
+        log.info("Fetching schedule with scheduleId: {}, minSeatVersion: {}", scheduleId, minSeatVersion);
+        return scheduleCacheService.getSchedule(scheduleId, minSeatVersion)
             .orElseThrow(() -> new IllegalArgumentException("Schedule not found with ID: " + scheduleId));
     }
 
     @Override
     public List<ScheduleSeat> getSeatsBySchedule(String scheduleId) {
         log.info("Fetching seats for scheduleId: {}", scheduleId);
-        return scheduleSeatRepository.findByScheduleId(scheduleId);
+        return seatInventoryService.getSeatMap(scheduleId);
+    }
+
+    @Override
+    public List<ScheduleSeat> getSeatsBySchedule(String scheduleId, long minVersion) {
+        log.info("Fetching seats for scheduleId: {}, minVersion: {}", scheduleId, minVersion);
+        return seatInventoryService.getOccupancy(scheduleId, minVersion).toSeats();
+    }
+
+    @Override
+    public long getSeatVersion(String scheduleId) {
+        return scheduleRepository.findSeatVersionById(scheduleId)
+            .orElseThrow(() -> new IllegalArgumentException("Schedule not found with ID: " + scheduleId));
+    }
+
+    @Override
+    public CompactSeatMapResponse getCompactSeatMap(String scheduleId, long minVersion) {
+        log.info("Fetching compact seat map for scheduleId: {}", scheduleId);
+        SeatOccupancy occupancy = seatInventoryService.getOccupancy(scheduleId, minVersion);
+        if (occupancy.getRowCount() == 0) {
+            throw new IllegalArgumentException("No seats found for schedule: " + scheduleId);
+        }
+        int columns = occupancy.getColumnCount();
+        List<String> rows = new ArrayList<>(occupancy.getRowCount());
+        for (int row = 0; row < occupancy.getRowCount(); row++) {
+            rows.add(occupancy.getRowLabel(row));
+        }
+        long[] existing = occupancy.existingRowsSnapshot();
+        String seatIdPrefix = occupancy.getSeatIdPrefix();
+        // Read version before the bitmap so a concurrent change shows up as a newer version on the next poll
+        long version = occupancy.getVersion();
+        return CompactSeatMapResponse.builder()
+            .scheduleId(scheduleId)
+            .version(version)
+            .rows(rows)
+            .columns(columns)
+            .seatIdPrefix(seatIdPrefix)
+            .seatIds(seatIdPrefix == null ? occupancy.getSeatIds() : null)
+            .layout(SeatBitmapCodec.isFull(existing, columns) ? null : SeatBitmapCodec.encode(existing, columns))
+            .vip(SeatBitmapCodec.encode(occupancy.vipRowsSnapshot(), columns))
+            .booked(SeatBitmapCodec.encode(occupancy.bookedRowsSnapshot(), columns))
+            .build();
+    }
+
+    @Override
+    public BestSeatsResponse findBestSeats(String scheduleId, int count, String seatType) {
+        log.info("Finding best {} seats of type {} for scheduleId: {}", count, seatType, scheduleId);
+        int typeFilter = toSeatTypeFilter(seatType);
+        validateBestSeatCount(count);
+        SeatOccupancy occupancy = seatInventoryService.getOccupancy(scheduleId);
+        long version = occupancy.getVersion();
+        return toBestSeatsResponse(occupancy, version, occupancy.findBestBlock(count, typeFilter), null);
+    }
+
+    @Override
+    public BestSeatsResponse holdBestSeats(String scheduleId, int count, String seatType, String userId, String promotionId) {
+        log.info("Holding best {} seats of type {} for userId: {}, scheduleId: {}", count, seatType, userId, scheduleId);
+        int typeFilter = toSeatTypeFilter(seatType);
+        validateBestSeatCount(count);
+        SeatsTakenException lastConflict = null;
+        for (int attempt = 1; attempt <= CommonConst.BEST_SEATS_HOLD_ATTEMPTS; attempt++) {
+            try {
+                // Search and claim in the same lane task so no other claim for this showtime can slip in between
+                return runOnLane(scheduleId, () -> {
+                    SeatOccupancy occupancy = seatInventoryService.getOccupancy(scheduleId);
+                    long version = occupancy.getVersion();
+                    List<String> seatIds = occupancy.findBestBlock(count, typeFilter);
+                    if (seatIds.isEmpty()) {
+                        return toBestSeatsResponse(occupancy, version, seatIds, null);
+                    }
+                    BookingRequest bookingRequest = new BookingRequest();
+                    bookingRequest.setUserId(userId);
+                    bookingRequest.setScheduleId(scheduleId);
+                    bookingRequest.setSeatIds(seatIds);
+                    bookingRequest.setPromotionId(promotionId);
+                    bookingRequest.validate();
+                    return toBestSeatsResponse(occupancy, version, seatIds, claimAndCreateBookings(bookingRequest));
+                });
+            } catch (SeatsTakenException e) {
+                // Claimed through another node; the inventory was evicted, so the next attempt sees fresh state
+                log.warn("Best seats {} for scheduleId {} were taken, attempt {}", e.getSeatIds(), scheduleId, attempt);
+                lastConflict = e;
+            }
+        }
+        throw lastConflict;
     }
 
     @Override
-    @Transactional
     public BookingResponse createBooking(BookingRequest bookingRequest) {
         log.info("Creating booking for userId: {}, scheduleId: {}, seatId: {}",
             bookingRequest.getUserId(), bookingRequest.getScheduleId(), bookingRequest.getSeatIds().get(0));
 
         bookingRequest.validate();
-        Schedule schedule = validateAndGetSchedule(bookingRequest.getScheduleId());
-        ScheduleSeat seat = validateAndGetSeat(bookingRequest.getSeatIds().get(0));
+        return runOnLane(bookingRequest.getScheduleId(), () -> claimAndCreateBooking(bookingRequest));
+    }
 
-        // Check seat availability
-        if (!CommonConst.SEAT_STATUS_AVAILABLE.equals(seat.getSeatStatus())) {
-            log.error("Seat is not available: {}", bookingRequest.getSeatIds().get(0));
-            throw new IllegalStateException("Seat is already booked");
-        }
+    // Runs on the schedule's booking lane, inside the lane's batch transaction
+    private BookingResponse claimAndCreateBooking(BookingRequest bookingRequest) {
+        Schedule schedule = validateAndGetSchedule(bookingRequest.getScheduleId());
+        ScheduleSeat seat = validateAndGetAvailableSeats(bookingRequest.getScheduleId(),
+            bookingRequest.getSeatIds().subList(0, 1)).get(0);
 
-        // Update seat status and schedule
-        seat.setSeatStatus(CommonConst.SEAT_STATUS_BOOKED);
-        scheduleSeatRepository.save(seat);
-        schedule.setAvailableSeats(schedule.getAvailableSeats() - 1);
-        scheduleRepository.save(schedule);
+        // Claim the seat only if it is still available
+        seatInventoryService.claimSeats(bookingRequest.getScheduleId(), List.of(seat.getScheduleSeatId()));
+        seatAvailabilityService.reserve(bookingRequest.getScheduleId(), 1);
 
         // Calculate price based on seat type
         BigDecimal price = calculateSeatPrice(schedule, seat);
@@ -108,44 +210,37 @@ public class BookingServiceImpl implements BookingService {
             .status(CommonConst.BOOKING_STATUS_PENDING)
             .promotionId(bookingRequest.getPromotionId())
             .price(price)
+            .orderId(BookingUtils.generateOrderId())
             .build();
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.saveAndFlush(booking);
         log.info("Booking created successfully with bookingId: {}", savedBooking.getBookingId());
         return convertToResponse(savedBooking);
     }
 
     @Override
-    @Transactional
     public List<BookingResponse> createBookings(BookingRequest bookingRequest) {
         log.info("Creating bookings for userId: {}, scheduleId: {}, seatIds: {}",
             bookingRequest.getUserId(), bookingRequest.getScheduleId(), bookingRequest.getSeatIds());
 
         bookingRequest.validate();
+        return runOnLane(bookingRequest.getScheduleId(), () -> claimAndCreateBookings(bookingRequest));
+    }
+
+    // Runs on the schedule's booking lane, inside the lane's batch transaction
+    private List<BookingResponse> claimAndCreateBookings(BookingRequest bookingRequest) {
         Schedule schedule = validateAndGetSchedule(bookingRequest.getScheduleId());
-        List<ScheduleSeat> seats = validateAndGetSeats(bookingRequest.getSeatIds());
+        List<ScheduleSeat> seats = validateAndGetAvailableSeats(bookingRequest.getScheduleId(), bookingRequest.getSeatIds());
 
-        // Validate seat availability
-        seats.forEach(seat -> {
-            if (!CommonConst.SEAT_STATUS_AVAILABLE.equals(seat.getSeatStatus())) {
-                log.error("Seat is not available: {}", seat.getScheduleSeatId());
-                throw new IllegalStateException("One or more seats are already booked");
-            }
-        });
+        // Check orphan seats, gaps and row limits against the room's policy and the current occupancy
+        seatPolicyService.enforce(schedule.getScheduleId(), schedule.getRoomId(), bookingRequest.getSeatIds());
 
-        // Check for isolated seats and warn (not block)
-        String warning = validateSeatConsecutiveness(seats);
-        if (warning != null) {
-            log.warn("Seat selection warning: {}", warning);
-        }
+        // Claim seats only where they are still available, then update schedule
+        seatInventoryService.claimSeats(bookingRequest.getScheduleId(), bookingRequest.getSeatIds());
+        seatAvailabilityService.reserve(bookingRequest.getScheduleId(), seats.size());
 
-        // Update seats and schedule
-        seats.forEach(seat -> seat.setSeatStatus(CommonConst.SEAT_STATUS_BOOKED));
-        scheduleSeatRepository.saveAll(seats);
-        schedule.setAvailableSeats(schedule.getAvailableSeats() - seats.size());
-        scheduleRepository.save(schedule);
-
-        // Create bookings with calculated prices
+        // Create bookings with calculated prices, under one order so they can be cancelled together
+        String orderId = BookingUtils.generateOrderId();
         List<Booking> bookings = bookingRequest.getSeatIds().stream()
             .map(seatId -> {
                 ScheduleSeat seat = seats.stream()
@@ -161,11 +256,12 @@ public class BookingServiceImpl implements BookingService {
                     .status(CommonConst.BOOKING_STATUS_PENDING)
                     .promotionId(bookingRequest.getPromotionId())
                     .price(calculateSeatPrice(schedule, seat))
+                    .orderId(orderId)
                     .build();
             })
             .collect(Collectors.toList());
 
-        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        List<Booking> savedBookings = bookingRepository.saveAllAndFlush(bookings);
         log.info("Created {} bookings successfully", savedBookings.size());
         return convertToResponses(savedBookings);
     }
@@ -173,15 +269,9 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingResponse> getBookingsByUserId(String userId) {
         log.info("Fetching bookings for userId: {}", userId);
-        try {
-            Long parsedUserId = Long.parseLong(userId);
-            return bookingRepository.findByUserId(parsedUserId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        } catch (NumberFormatException e) {
-            log.error("Invalid userId format: {}", userId, e);
-            throw new IllegalArgumentException("Invalid user ID format");
-        }
+        return bookingRepository.findByUserId(parseUserId(userId)).stream()
+            .map(this::convertToResponse)
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -200,40 +290,117 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public void cancelBooking(String bookingId, String userId) {
         log.info("Cancelling booking with bookingId: {} for userId: {}", bookingId, userId);
-        Booking booking = bookingRepository.findById(bookingId)
-            .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
-        if (!booking.getUserId().toString().equals(userId)) {
-            log.warn("Unauthorized cancel attempt for bookingId: {} by userId: {}", bookingId, userId);
+        Long parsedUserId = parseUserId(userId);
+        List<Object[]> cancelled = bookingRepository.cancelBooking(bookingId, parsedUserId,
+            CommonConst.BOOKING_STATUS_PENDING, cancellationCutoff(), CommonConst.BOOKING_STATUS_CANCELLED);
+        if (cancelled.isEmpty()) {
+            Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+            rejectCancellation(List.of(booking), parsedUserId, bookingId);
+        }
+        // Seats, seat version and schedule counter in one statement each
+        bookingReleaseService.releaseSeats(cancelled);
+        log.info("Booking cancelled successfully: {}", bookingId);
+    }
+
+    @Override
+    @Transactional
+    public int cancelOrder(String orderId, String userId) {
+        log.info("Cancelling order with orderId: {} for userId: {}", orderId, userId);
+        Long parsedUserId = parseUserId(userId);
+        List<Object[]> cancelled = bookingRepository.cancelOrder(orderId, parsedUserId,
+            CommonConst.BOOKING_STATUS_PENDING, cancellationCutoff(), CommonConst.BOOKING_STATUS_CANCELLED);
+        if (cancelled.isEmpty()) {
+            List<Booking> bookings = bookingRepository.findByOrderId(orderId);
+            if (bookings.isEmpty()) {
+                throw new IllegalArgumentException("Order not found");
+            }
+            rejectCancellation(bookings, parsedUserId, orderId);
+        }
+        bookingReleaseService.releaseSeats(cancelled);
+        log.info("Cancelled {} bookings for orderId: {}", cancelled.size(), orderId);
+        return cancelled.size();
+    }
+
+    // Helper method to run a claim on the schedule's booking lane
+    private <T> T runOnLane(String scheduleId, Supplier<T> work) {
+        return bookingLaneExecutor.execute(scheduleId, () -> {
+            try {
+                return work.get();
+            } catch (RuntimeException e) {
+                // The task's work is rolled back, so any in-memory change it scheduled must be discarded
+                seatInventoryService.evict(scheduleId);
+                throw e;
+            }
+        });
+    }
+
+    // Helper method to parse the user ID from the cookie
+    private Long parseUserId(String userId) {
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            log.error("Invalid userId format: {}", userId, e);
+            throw new IllegalArgumentException("Invalid user ID format");
+        }
+    }
+
+    // Helper method to compute the earliest showtime that may still be cancelled
+    private LocalDateTime cancellationCutoff() {
+        return LocalDateTime.now().plusHours(CommonConst.CANCELLATION_CUTOFF_HOURS);
+    }
+
+    // Helper method to explain why a conditional cancellation matched nothing; only runs on the failure path
+    private void rejectCancellation(List<Booking> bookings, Long userId, String id) {
+        if (bookings.stream().anyMatch(b -> !b.getUserId().equals(userId))) {
+            log.warn("Unauthorized cancel attempt for {} by userId: {}", id, userId);
             throw new IllegalArgumentException("Unauthorized access to booking");
         }
-        if (!CommonConst.BOOKING_STATUS_PENDING.equals(booking.getStatus())) {
-            log.warn("Booking is not pending, cannot cancel: {}", booking.getBookingId());
+        if (bookings.stream().noneMatch(this::isCancellable)) {
+            log.warn("Nothing pending to cancel for {}", id);
             throw new IllegalStateException("Only pending bookings can be cancelled");
         }
-        Schedule schedule = scheduleRepository.findById(booking.getScheduleId())
-            .orElseThrow(() -> new IllegalArgumentException("Schedule not found"));
-        if (schedule.getShowtime().isBefore(LocalDateTime.now().plusHours(6))) {
-            log.warn("Showtime is less than 6 hours away, cannot cancel booking: {}", booking.getBookingId());
-            throw new IllegalStateException("Cannot cancel booking less than 6 hours before showtime");
+        log.warn("Showtime is less than {} hours away, cannot cancel {}", CommonConst.CANCELLATION_CUTOFF_HOURS, id);
+        throw new IllegalStateException("Cannot cancel booking less than "
+            + CommonConst.CANCELLATION_CUTOFF_HOURS + " hours before showtime");
+    }
+
+    // Helper method mirroring the status condition of BookingRepository.cancelBooking and cancelOrder
+    private boolean isCancellable(Booking booking) {
+        return CommonConst.BOOKING_STATUS_PENDING.equals(booking.getStatus()) || booking.getExpiresAt() != null;
+    }
+
+    // Helper method to map a seat type to a BestSeatFinder filter
+    private int toSeatTypeFilter(String seatType) {
+        if (seatType == null || seatType.isBlank()) {
+            return BestSeatFinder.TYPE_ANY;
         }
-        if (CommonConst.BOOKING_STATUS_CANCELLED.equals(booking.getStatus())) {
-            log.warn("Booking already cancelled: {}", bookingId);
-            return;
+        if (CommonConst.SEAT_TYPE_VIP.equalsIgnoreCase(seatType)) {
+            return BestSeatFinder.TYPE_VIP;
         }
-        // Update booking status
-        booking.setStatus(CommonConst.BOOKING_STATUS_CANCELLED);
-        bookingRepository.save(booking);
-        // Update seat status
-        ScheduleSeat seat = scheduleSeatRepository.findById(booking.getSeatId())
-            .orElseThrow(() -> new IllegalArgumentException("Seat not found"));
-        seat.setSeatStatus(CommonConst.SEAT_STATUS_AVAILABLE);
-        scheduleSeatRepository.save(seat);
-        // Update schedule available seats
-        Schedule scheduleToUpdate = scheduleRepository.findById(booking.getScheduleId())
-            .orElseThrow(() -> new IllegalArgumentException("Schedule not found"));
-        scheduleToUpdate.setAvailableSeats(scheduleToUpdate.getAvailableSeats() + 1);
-        scheduleRepository.save(scheduleToUpdate);
-        log.info("Booking cancelled successfully: {}", bookingId);
+        if (CommonConst.SEAT_TYPE_NORMAL.equalsIgnoreCase(seatType)) {
+            return BestSeatFinder.TYPE_NORMAL;
+        }
+        throw new IllegalArgumentException("Invalid seat type: " + seatType);
+    }
+
+    // Helper method to validate the size of a best-seat block
+    private void validateBestSeatCount(int count) {
+        if (count < 1 || count > CommonConst.MAX_BEST_SEATS) {
+            throw new IllegalArgumentException("Seat count must be between 1 and " + CommonConst.MAX_BEST_SEATS);
+        }
+    }
+
+    private BestSeatsResponse toBestSeatsResponse(SeatOccupancy occupancy, long version, List<String> seatIds,
+                                                  List<BookingResponse> bookings) {
+        return BestSeatsResponse.builder()
+            .scheduleId(occupancy.getScheduleId())
+            .version(version)
+            .row(seatIds.isEmpty() ? null : occupancy.toSeats(seatIds.subList(0, 1)).get(0).getSeatRow())
+            .seatIds(seatIds)
+            .held(bookings != null)
+            .bookings(bookings)
+            .build();
     }
 
     // Helper method to validate and fetch schedule
@@ -245,67 +412,17 @@ public class BookingServiceImpl implements BookingService {
             });
     }
 
-    // Helper method to validate and fetch single seat
-    private ScheduleSeat validateAndGetSeat(String seatId) {
-        return scheduleSeatRepository.findById(seatId)
-            .orElseThrow(() -> {
-                log.error("Seat not found for seatId: {}", seatId);
-                return new IllegalArgumentException("Seat not found");
-            });
-    }
-
-    // Helper method to validate and fetch seats
-    private List<ScheduleSeat> validateAndGetSeats(List<String> seatIds) {
-        List<ScheduleSeat> seats = scheduleSeatRepository.findAllById(seatIds);
-        if (seats.size() != seatIds.size()) {
-            log.error("One or more seats not found: {}", seatIds);
-            throw new IllegalArgumentException("One or more seats not found");
+    // Helper method to fetch seats from the in-memory inventory, rejecting unknown and taken seats
+    private List<ScheduleSeat> validateAndGetAvailableSeats(String scheduleId, List<String> seatIds) {
+        List<ScheduleSeat> seats = seatInventoryService.getSeats(scheduleId, seatIds);
+        List<String> unavailable = seatInventoryService.findUnavailableSeats(scheduleId, seatIds);
+        if (!unavailable.isEmpty()) {
+            log.error("Seats not available for scheduleId {}: {}", scheduleId, unavailable);
+            throw new SeatsTakenException(scheduleId, unavailable);
         }
         return seats;
     }
 
-    // Helper method to validate seat consecutiveness
-    private String validateSeatConsecutiveness(List<ScheduleSeat> seats) {
-        var seatsByRow = seats.stream()
-            .collect(Collectors.groupingBy(ScheduleSeat::getSeatRow));
-        for (var entry : seatsByRow.entrySet()) {
-            List<ScheduleSeat> rowSeats = entry.getValue();
-            if (rowSeats.size() == 2) {
-                rowSeats.sort((a, b) -> a.getSeatColumn() - b.getSeatColumn());
-                int minCol = rowSeats.get(0).getSeatColumn();
-                int maxCol = rowSeats.get(rowSeats.size() - 1).getSeatColumn();
-                if (maxCol - minCol > 1) { // Gap exists (e.g., 1, 3)
-                    return "Selection of 2 seats leaves a gap in the middle";
-                }
-            }
-            if (rowSeats.size() > 1) {
-                rowSeats.sort((a, b) -> a.getSeatColumn() - b.getSeatColumn());
-                int minCol = rowSeats.get(0).getSeatColumn();
-                int maxCol = rowSeats.get(rowSeats.size() - 1).getSeatColumn();
-
-                // Check for gaps
-                for (int col = minCol; col <= maxCol; col++) {
-                    final int currentCol = col;
-                    if (rowSeats.stream().noneMatch(s -> s.getSeatColumn() == currentCol)) {
-                        return "Selected seats have gaps. Please confirm your selection.";
-                    }
-                }
-
-                // Check for isolated seats
-                for (int i = 0; i < rowSeats.size(); i++) {
-                    int currentCol = rowSeats.get(i).getSeatColumn();
-                    int prevCol = i > 0 ? rowSeats.get(i - 1).getSeatColumn() : -1;
-                    int nextCol = i < rowSeats.size() - 1 ? rowSeats.get(i + 1).getSeatColumn() : -1;
-
-                    if (prevCol != -1 && nextCol != -1 && currentCol != prevCol + 1 && currentCol != nextCol - 1) {
-                        return "Selection leaves an isolated seat. Please confirm your selection.";
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
     // Helper method to calculate price based on seat type
     private BigDecimal calculateSeatPrice(Schedule schedule, ScheduleSeat seat) {
         BigDecimal basePrice = schedule.getPrice();
@@ -325,6 +442,7 @@ public class BookingServiceImpl implements BookingService {
             .status(booking.getStatus())
             .promotionId(booking.getPromotionId())
             .price(booking.getPrice())
+            .orderId(booking.getOrderId())
             .build();
     }
 
@@ -0,0 +1,130 @@
+package com.movietheater.booking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movietheater.booking.exception.IdempotencyKeyConflictException;
+import com.movietheater.booking.service.IdempotencyService;
+import com.movietheater.common.constant.CommonConst;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of idempotent request handling backed by a bounded in-memory store.
+ * Entries are kept in insertion order, so expired entries are purged from the head and the
+ * oldest entry is dropped when the store is full; lookups and inserts are O(1).
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    public IdempotencyServiceImpl(ObjectMapper objectMapper,
+                                  @Value("${idempotency.max-entries:10000}") int maxEntries,
+                                  @Value("${idempotency.ttl-minutes:60}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMinutes * 60_000;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        Entry entry;
+        synchronized (entries) {
+            long now = System.currentTimeMillis();
+            purgeExpired(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return replay(key, existing, fingerprint);
+            }
+            entry = new Entry(fingerprint, now);
+            entries.put(key, entry);
+            if (entries.size() > maxEntries) {
+                Iterator<Entry> eldest = entries.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+
+        ResponseEntity<T> response = null;
+        try {
+            response = action.get();
+            return response;
+        } finally {
+            synchronized (entries) {
+                if (response != null && !response.getStatusCode().is5xxServerError()) {
+                    entry.response = response;
+                } else {
+                    entries.remove(key, entry);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String key, Entry existing, String fingerprint) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            log.warn("Idempotency key {} reused with a different payload", key);
+            throw new IdempotencyKeyConflictException("Idempotency-Key was already used for a different request", true);
+        }
+        if (existing.response == null) {
+            log.warn("Idempotency key {} is still being processed", key);
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed", false);
+        }
+        log.info("Replaying stored response for idempotency key {}", key);
+        ResponseEntity<T> stored = (ResponseEntity<T>) existing.response;
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(stored.getHeaders());
+        headers.set(CommonConst.HEADER_IDEMPOTENT_REPLAYED, "true");
+        return new ResponseEntity<>(stored.getBody(), headers, stored.getStatusCode());
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().createdAt < ttlMillis) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long createdAt;
+        private ResponseEntity<?> response;
+
+        private Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -3,14 +3,22 @@ package com.movietheater.booking.service.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.movietheater.booking.dto.request.BookingRequest;
 import com.movietheater.booking.dto.response.BookingResponse;
+import com.movietheater.booking.exception.BookingLaneBusyException;
+import com.movietheater.booking.exception.SeatPolicyViolationException;
+import com.movietheater.booking.exception.SeatsTakenException;
+import com.movietheater.booking.lane.BookingLaneExecutor;
 import com.movietheater.booking.service.MoMoPaymentService;
+import com.movietheater.booking.service.OrderExpiryService;
+import com.movietheater.booking.service.SeatAvailabilityService;
+import com.movietheater.booking.service.SeatInventoryService;
+import com.movietheater.booking.service.SeatPolicyService;
+import com.movietheater.common.scheduler.HashedTimingWheel;
 import com.movietheater.common.constant.CommonConst;
 import com.movietheater.entity.Booking;
 import com.movietheater.entity.Schedule;
 import com.movietheater.entity.ScheduleSeat;
 import com.movietheater.repository.BookingRepository;
 import com.movietheater.repository.ScheduleRepository;
-import com.movietheater.repository.ScheduleSeatRepository;
 import com.movietheater.util.BookingUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,11 +40,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -45,8 +50,13 @@ import java.util.stream.Collectors;
 public class MoMoPaymentServiceImpl implements MoMoPaymentService {
     private final BookingRepository bookingRepository;
     private final ScheduleRepository scheduleRepository;
-    private final ScheduleSeatRepository scheduleSeatRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final SeatPolicyService seatPolicyService;
+    private final OrderExpiryService orderExpiryService;
     private final ObjectMapper objectMapper;
+    private final HashedTimingWheel paymentTimeoutWheel;
+    private final BookingLaneExecutor bookingLaneExecutor;
 
     @Value("${momo.endpoint}")
     private String momoEndpoint;
@@ -68,94 +78,48 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
 
     private static final String REQUEST_TYPE = "captureWallet";
     private static final int PAYMENT_TIMEOUT_SECONDS = 30;
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> timeoutTasks = new ConcurrentHashMap<>();
 
     @Override
-    @Transactional
     public Map<String, Object> initiateMoMoPayment(BookingRequest bookingRequest, BigDecimal totalAmount) {
         log.info("Initiating MoMo payment for userId: {}, scheduleId: {}, seatIds: {}, at: {}", 
                 bookingRequest.getUserId(), bookingRequest.getScheduleId(), bookingRequest.getSeatIds(), LocalDateTime.now());
 
+        // Claim the seats on the schedule's booking lane; the lane commits before MoMo is called
+        List<Booking> bookings;
         try {
-            // Validate request
             bookingRequest.validate();
-            Schedule schedule = validateAndGetSchedule(bookingRequest.getScheduleId());
-            List<ScheduleSeat> seats = validateAndGetSeats(bookingRequest.getSeatIds());
-
-            // Check for duplicate bookings
-            List<Booking> existingBookings = bookingRepository.findByUserId(Long.parseLong(bookingRequest.getUserId())).stream()
-                    .filter(b -> b.getScheduleId().equals(bookingRequest.getScheduleId()) &&
-                            bookingRequest.getSeatIds().contains(b.getSeatId()) &&
-                            (CommonConst.BOOKING_STATUS_PAID.equals(b.getStatus()) ||
-                             CommonConst.BOOKING_STATUS_PENDING.equals(b.getStatus())))
-                    .collect(Collectors.toList());
-            if (!existingBookings.isEmpty()) {
+
+            // Check for duplicate bookings first: the seat check on the lane would only report the seats as taken
+            boolean duplicate = bookingRepository.existsByUserIdAndScheduleIdAndSeatIdInAndStatusIn(
+                    Long.parseLong(bookingRequest.getUserId()), bookingRequest.getScheduleId(), bookingRequest.getSeatIds(),
+                    List.of(CommonConst.BOOKING_STATUS_PAID, CommonConst.BOOKING_STATUS_PENDING));
+            if (duplicate) {
                 log.warn("Duplicate bookings found for userId: {}, scheduleId: {}, seatIds: {}", 
                         bookingRequest.getUserId(), bookingRequest.getScheduleId(), bookingRequest.getSeatIds());
                 throw new IllegalStateException("Duplicate bookings found for the selected seats");
             }
 
-            // Create bookings with PAID status
-            String orderId = "BOOKING-" + UUID.randomUUID().toString();
-            List<Booking> bookings = createBookings(bookingRequest, schedule, seats, orderId);
-            String requestId = "REQ-" + UUID.randomUUID().toString();
-            String orderInfo = "Movie ticket payment";
-
-            // Schedule timeout for 30 seconds
-            schedulePaymentTimeout(bookings, orderId);
+            bookings = runOnLane(bookingRequest.getScheduleId(), () -> claimAndCreateBookings(bookingRequest));
+        } catch (SeatsTakenException | SeatPolicyViolationException | BookingLaneBusyException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error initiating MoMo payment: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to initiate MoMo payment", e);
+        }
 
+        String orderId = bookings.get(0).getOrderId();
+        // Schedule timeout for 30 seconds
+        schedulePaymentTimeout(orderId);
+        try {
             // Convert totalAmount to long (MoMo requires integer amount in VND)
-            long amount = totalAmount.longValue();
-
-            // Create signature
-            String rawHash = String.format("accessKey=%s&amount=%d&extraData=%s&ipnUrl=%s&orderId=%s&orderInfo=%s&partnerCode=%s&redirectUrl=%s&requestId=%s&requestType=%s",
-                    accessKey, amount, "", ipnUrl, orderId, orderInfo, partnerCode, redirectUrl, requestId, REQUEST_TYPE);
-            String signature = hmacSHA256(rawHash, secretKey);
-            log.info("Generated MoMo signature: {}, rawHash: {}", signature, rawHash);
-
-            // Prepare MoMo request
-            Map<String, Object> requestData = new HashMap<>();
-            requestData.put("partnerCode", partnerCode);
-            requestData.put("partnerName", "MovieTheater");
-            requestData.put("requestId", requestId);
-            requestData.put("amount", amount);
-            requestData.put("orderId", orderId);
-            requestData.put("orderInfo", orderInfo);
-            requestData.put("redirectUrl", redirectUrl);
-            requestData.put("ipnUrl", ipnUrl);
-            requestData.put("lang", "vi");
-            requestData.put("extraData", "");
-            requestData.put("requestType", REQUEST_TYPE);
-            requestData.put("signature", signature);
-
-            // Send request to MoMo
-            log.info("Sending MoMo request: {}", requestData);
-            HttpURLConnection conn = (HttpURLConnection) new URL(momoEndpoint).openConnection();
-            conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-            conn.setDoOutput(true);
-
-            try (OutputStream os = conn.getOutputStream()) {
-                os.write(objectMapper.writeValueAsBytes(requestData));
-                os.flush();
-            }
-
-            if (conn.getResponseCode() == 200) {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-                    Map<String, Object> response = objectMapper.readValue(reader, Map.class);
-                    log.error("MoMo API response: {}", response);
-                    response.put("bookingIds", bookings.stream().map(Booking::getBookingId).collect(Collectors.toList()));
-                    return response;
-                }
-            } else {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getErrorStream()))) {
-                    String errorResponse = reader.lines().collect(Collectors.joining());
-                    log.error("MoMo API error: {}, responseCode: {}", errorResponse, conn.getResponseCode());
-                    throw new RuntimeException("MoMo payment initiation failed: " + errorResponse);
-                }
-            }
+            Map<String, Object> response = requestPayment(orderId, totalAmount.longValue());
+            response.put("bookingIds", bookings.stream().map(Booking::getBookingId).collect(Collectors.toList()));
+            return response;
         } catch (Exception e) {
-            log.error("Error initiating MoMo payment: {}", e.getMessage(), e);
+            // The seats are already committed, so give them back now rather than at the payment deadline
+            log.error("Error initiating MoMo payment for orderId {}: {}", orderId, e.getMessage(), e);
+            paymentTimeoutWheel.cancel(orderId);
+            orderExpiryService.expireOrder(orderId);
             throw new RuntimeException("Failed to initiate MoMo payment", e);
         }
     }
@@ -194,18 +158,16 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
             log.info("Found {} bookings for orderId: {}", bookings.size(), orderId);
             if ("0".equals(resultCode)) {
                 // Payment successful, cancel scheduled timeout and keep PAID status
-                ScheduledFuture<?> future = timeoutTasks.remove(orderId);
-                if (future != null) {
-                    future.cancel(false);
+                if (paymentTimeoutWheel.cancel(orderId)) {
                     log.error("Cancelled timeout for orderId: {} due to successful payment", orderId);
                 }
-                for (Booking booking : bookings) {
-                    booking.setStatus(CommonConst.BOOKING_STATUS_PAID);
-                    booking.setPaymentMethod("MOMO");
-                    booking.setPaymentDate(LocalDateTime.now());
-                    log.error("Confirmed booking {} as PAID", booking.getBookingId());
+                // Conditional on the deadline still being set, so an order the sweeper already released stays released
+                int confirmed = bookingRepository.confirmOrder(orderId, CommonConst.BOOKING_STATUS_PAID, "MOMO", LocalDateTime.now());
+                if (confirmed == 0 && bookings.stream().noneMatch(b -> CommonConst.BOOKING_STATUS_PAID.equals(b.getStatus()))) {
+                    log.error("Payment received for expired orderId: {}", orderId);
+                    throw new IllegalStateException("Order has already expired");
                 }
-                bookingRepository.saveAll(bookings);
+                bookings = bookingRepository.findByOrderId(orderId);
                 log.error("MoMo payment successful for orderId: {}, confirmed PAID status for bookings: {}", 
                         orderId, bookings.stream().map(Booking::getBookingId).collect(Collectors.toList()));
                 return convertToResponse(bookings.get(0));
@@ -222,21 +184,90 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
         }
     }
 
+    // Sends the payment request to MoMo, outside any transaction
+    private Map<String, Object> requestPayment(String orderId, long amount) throws Exception {
+        String requestId = "REQ-" + UUID.randomUUID().toString();
+        String orderInfo = "Movie ticket payment";
+
+        // Create signature
+        String rawHash = String.format("accessKey=%s&amount=%d&extraData=%s&ipnUrl=%s&orderId=%s&orderInfo=%s&partnerCode=%s&redirectUrl=%s&requestId=%s&requestType=%s",
+                accessKey, amount, "", ipnUrl, orderId, orderInfo, partnerCode, redirectUrl, requestId, REQUEST_TYPE);
+        String signature = hmacSHA256(rawHash, secretKey);
+        log.info("Generated MoMo signature: {}, rawHash: {}", signature, rawHash);
+
+        // Prepare MoMo request
+        Map<String, Object> requestData = new HashMap<>();
+        requestData.put("partnerCode", partnerCode);
+        requestData.put("partnerName", "MovieTheater");
+        requestData.put("requestId", requestId);
+        requestData.put("amount", amount);
+        requestData.put("orderId", orderId);
+        requestData.put("orderInfo", orderInfo);
+        requestData.put("redirectUrl", redirectUrl);
+        requestData.put("ipnUrl", ipnUrl);
+        requestData.put("lang", "vi");
+        requestData.put("extraData", "");
+        requestData.put("requestType", REQUEST_TYPE);
+        requestData.put("signature", signature);
+
+        // Send request to MoMo
+        log.info("Sending MoMo request: {}", requestData);
+        HttpURLConnection conn = (HttpURLConnection) new URL(momoEndpoint).openConnection();
+        conn.setRequestMethod("POST");
+        conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
+        conn.setDoOutput(true);
+
+        try (OutputStream os = conn.getOutputStream()) {
+            os.write(objectMapper.writeValueAsBytes(requestData));
+            os.flush();
+        }
+
+        if (conn.getResponseCode() == 200) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
+                Map<String, Object> response = objectMapper.readValue(reader, Map.class);
+                log.error("MoMo API response: {}", response);
+                return response;
+            }
+        } else {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getErrorStream()))) {
+                String errorResponse = reader.lines().collect(Collectors.joining());
+                log.error("MoMo API error: {}, responseCode: {}", errorResponse, conn.getResponseCode());
+                throw new RuntimeException("MoMo payment initiation failed: " + errorResponse);
+            }
+        }
+    }
+
+    // Runs on the schedule's booking lane, inside the lane's batch transaction
+    private List<Booking> claimAndCreateBookings(BookingRequest bookingRequest) {
+        Schedule schedule = validateAndGetSchedule(bookingRequest.getScheduleId());
+        List<ScheduleSeat> seats = validateAndGetAvailableSeats(bookingRequest.getScheduleId(), bookingRequest.getSeatIds());
+
+        // Same seat policy as bookings confirmed at the counter
+        seatPolicyService.enforce(schedule.getScheduleId(), schedule.getRoomId(), bookingRequest.getSeatIds());
+
+        // Create bookings with PAID status
+        return createBookings(bookingRequest, schedule, seats, BookingUtils.generateOrderId());
+    }
+
+    // Helper method to run a claim on the schedule's booking lane
+    private <T> T runOnLane(String scheduleId, Supplier<T> work) {
+        return bookingLaneExecutor.execute(scheduleId, () -> {
+            try {
+                return work.get();
+            } catch (RuntimeException e) {
+                // The task's work is rolled back, so any in-memory change it scheduled must be discarded
+                seatInventoryService.evict(scheduleId);
+                throw e;
+            }
+        });
+    }
+
     private List<Booking> createBookings(BookingRequest bookingRequest, Schedule schedule, List<ScheduleSeat> seats, String orderId) {
         log.info("Creating bookings with PAID status for userId: {}, scheduleId: {}, seatIds: {}, orderId: {}, at: {}", 
                 bookingRequest.getUserId(), bookingRequest.getScheduleId(), bookingRequest.getSeatIds(), orderId, LocalDateTime.now());
 
-        seats.forEach(seat -> {
-            if (!CommonConst.SEAT_STATUS_AVAILABLE.equals(seat.getSeatStatus())) {
-                log.error("Seat is not available: {}", seat.getScheduleSeatId());
-                throw new IllegalStateException("One or more seats are already booked");
-            }
-            seat.setSeatStatus(CommonConst.SEAT_STATUS_BOOKED);
-        });
-        scheduleSeatRepository.saveAll(seats);
-        schedule.setAvailableSeats(schedule.getAvailableSeats() - seats.size());
-        scheduleRepository.save(schedule);
-        log.error("Updated schedule {} with availableSeats: {}", schedule.getScheduleId(), schedule.getAvailableSeats());
+        seatInventoryService.claimSeats(schedule.getScheduleId(), bookingRequest.getSeatIds());
+        seatAvailabilityService.reserve(schedule.getScheduleId(), seats.size());
 
         List<Booking> bookings = bookingRequest.getSeatIds().stream()
                 .map(seatId -> {
@@ -259,6 +290,7 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
                             .orderId(orderId)
                             .paymentMethod("MOMO")
                             .paymentDate(LocalDateTime.now())
+                            .expiresAt(LocalDateTime.now().plusSeconds(PAYMENT_TIMEOUT_SECONDS))
                             .build();
                     log.error("Created booking {} with PAID status for seatId: {}", 
                             booking.getBookingId(), seatId);
@@ -266,58 +298,20 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
                 })
                 .collect(Collectors.toList());
 
-        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        List<Booking> savedBookings = bookingRepository.saveAllAndFlush(bookings);
         log.error("Saved {} bookings with orderId: {}", savedBookings.size(), orderId);
         return savedBookings;
     }
 
-    private void revertBookings(List<Booking> bookings, String orderId) {
-        log.info("Reverting bookings for orderId: {}, at: {}", orderId, LocalDateTime.now());
-        bookings.forEach(booking -> {
-            booking.setStatus(CommonConst.BOOKING_STATUS_EXPIRED);
-            ScheduleSeat seat = scheduleSeatRepository.findById(booking.getSeatId())
-                    .orElseThrow(() -> {
-                        log.error("Seat not found for seatId: {}", booking.getSeatId());
-                        return new IllegalStateException("Seat not found: " + booking.getSeatId());
-                    });
-            seat.setSeatStatus(CommonConst.SEAT_STATUS_AVAILABLE);
-            scheduleSeatRepository.save(seat);
-            Schedule schedule = scheduleRepository.findById(booking.getScheduleId())
-                    .orElseThrow(() -> {
-                        log.error("Schedule not found for scheduleId: {}", booking.getScheduleId());
-                        return new IllegalStateException("Schedule not found: " + booking.getScheduleId());
-                    });
-            schedule.setAvailableSeats(schedule.getAvailableSeats() + 1);
-            scheduleRepository.save(schedule);
-            log.error("Set booking {} to EXPIRED and released seat {}", 
-                    booking.getBookingId(), booking.getSeatId());
-        });
-        bookingRepository.saveAll(bookings);
-        log.error("Reverted {} bookings to EXPIRED for orderId: {}", bookings.size(), orderId);
-    }
-
-    private void schedulePaymentTimeout(List<Booking> bookings, String orderId) {
+    private void schedulePaymentTimeout(String orderId) {
         log.error("Scheduling payment timeout for bookings with orderId: {}, at: {}", orderId, LocalDateTime.now());
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-        ScheduledFuture<?> future = scheduler.schedule(() -> {
-            try {
-                log.error("Processing payment timeout for orderId: {}, started at: {}", orderId, LocalDateTime.now());
-                List<Booking> currentBookings = bookingRepository.findByOrderId(orderId);
-                if (currentBookings.isEmpty()) {
-                    log.warn("No bookings found for orderId: {} during timeout processing", orderId);
-                    return;
-                }
-                revertBookings(currentBookings, orderId);
-                timeoutTasks.remove(orderId);
-                log.error("Payment timeout completed for orderId: {}, updated bookings: {}, at: {}", 
-                        orderId, currentBookings.stream().map(Booking::getBookingId).collect(Collectors.toList()), LocalDateTime.now());
-            } catch (Exception e) {
-                log.error("Error processing payment timeout for orderId: {}: {}", orderId, e.getMessage(), e);
-            } finally {
-                scheduler.shutdown();
-            }
-        }, PAYMENT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        timeoutTasks.put(orderId, future);
+        // Fast path on this node; OrderExpirySweeper releases the order from its persisted deadline if this is lost
+        paymentTimeoutWheel.schedule(orderId, PAYMENT_TIMEOUT_SECONDS, TimeUnit.SECONDS, () -> {
+            log.error("Processing payment timeout for orderId: {}, started at: {}", orderId, LocalDateTime.now());
+            int expired = orderExpiryService.expireOrder(orderId);
+            log.error("Payment timeout completed for orderId: {}, expired bookings: {}, at: {}", 
+                    orderId, expired, LocalDateTime.now());
+        });
     }
 
     private String hmacSHA256(String data, String key) {
@@ -346,11 +340,12 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
                 });
     }
 
-    private List<ScheduleSeat> validateAndGetSeats(List<String> seatIds) {
-        List<ScheduleSeat> seats = scheduleSeatRepository.findAllById(seatIds);
-        if (seats.size() != seatIds.size()) {
-            log.error("One or more seats not found: {}", seatIds);
-            throw new IllegalArgumentException("One or more seats not found");
+    private List<ScheduleSeat> validateAndGetAvailableSeats(String scheduleId, List<String> seatIds) {
+        List<ScheduleSeat> seats = seatInventoryService.getSeats(scheduleId, seatIds);
+        List<String> unavailable = seatInventoryService.findUnavailableSeats(scheduleId, seatIds);
+        if (!unavailable.isEmpty()) {
+            log.error("Seats not available for scheduleId {}: {}", scheduleId, unavailable);
+            throw new SeatsTakenException(scheduleId, unavailable);
         }
         return seats;
     }
@@ -373,6 +368,7 @@ public class MoMoPaymentServiceImpl implements MoMoPaymentService {
                 .status(booking.getStatus())
                 .promotionId(booking.getPromotionId())
                 .price(booking.getPrice())
+                .orderId(booking.getOrderId())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.service.BookingReleaseService;
+import com.movietheater.booking.service.OrderExpiryService;
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of order expiry. Bookings are claimed and expired by a single conditional
+ * statement, then their seats are released through {@link BookingReleaseService} within the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+    private final BookingRepository bookingRepository;
+    private final BookingReleaseService bookingReleaseService;
+
+    @Override
+    @Transactional
+    public int expireDueBookings(int limit) {
+        List<Object[]> expired = bookingRepository.expireDueBookings(
+            LocalDateTime.now(), limit, CommonConst.BOOKING_STATUS_EXPIRED);
+        bookingReleaseService.releaseSeats(expired);
+        return expired.size();
+    }
+
+    @Override
+    @Transactional
+    public int expireOrder(String orderId) {
+        List<Object[]> expired = bookingRepository.expireOrder(orderId, CommonConst.BOOKING_STATUS_EXPIRED);
+        bookingReleaseService.releaseSeats(expired);
+        if (!expired.isEmpty()) {
+            log.info("Expired {} bookings for orderId: {}", expired.size(), orderId);
+        }
+        return expired.size();
+    }
+}
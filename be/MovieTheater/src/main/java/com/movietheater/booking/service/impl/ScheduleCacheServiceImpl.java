@@ -0,0 +1,221 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.event.SeatStatusChangedEvent;
+import com.movietheater.booking.service.ScheduleCacheService;
+import com.movietheater.entity.Schedule;
+import com.movietheater.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the schedule cache on two bounded maps, evicting the least-recently-loaded entry
+ * when full. A load that overlaps an invalidation is returned but not cached, so an eviction is never
+ * undone by a read that started before it. A reverse map from schedule to cached movie list lets a
+ * schedule change drop its movie list without scanning the others.
+ */
+@Service
+@Slf4j
+public class ScheduleCacheServiceImpl implements ScheduleCacheService {
+    private final ScheduleRepository scheduleRepository;
+    private final Map<String, Entry<Schedule>> byId = new ConcurrentHashMap<>();
+    private final Map<String, Entry<List<Schedule>>> byMovie = new ConcurrentHashMap<>();
+    private final Map<String, String> movieOfSchedule = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final int maxSchedules;
+    private final int maxMovies;
+    private final long ttlMillis;
+    private final Counter idHits;
+    private final Counter idMisses;
+    private final Counter movieHits;
+    private final Counter movieMisses;
+
+    public ScheduleCacheServiceImpl(ScheduleRepository scheduleRepository, MeterRegistry meterRegistry,
+                                    @Value("${schedule-cache.max-schedules:2000}") int maxSchedules,
+                                    @Value("${schedule-cache.max-movies:500}") int maxMovies,
+                                    @Value("${schedule-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.scheduleRepository = scheduleRepository;
+        this.maxSchedules = maxSchedules;
+        this.maxMovies = maxMovies;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.idHits = requests(meterRegistry, "id", "hit");
+        this.idMisses = requests(meterRegistry, "id", "miss");
+        this.movieHits = requests(meterRegistry, "movie", "hit");
+        this.movieMisses = requests(meterRegistry, "movie", "miss");
+        Gauge.builder("schedule.cache.size", byId, Map::size)
+            .description("Entries in the schedule cache")
+            .tag("cache", "id")
+            .register(meterRegistry);
+        Gauge.builder("schedule.cache.size", byMovie, Map::size)
+            .description("Entries in the schedule cache")
+            .tag("cache", "movie")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Schedule> getSchedule(String scheduleId, long minSeatVersion) {
+        Entry<Schedule> entry = byId.get(scheduleId);
+        if (isFresh(entry) && entry.value.getSeatVersion() >= minSeatVersion) {
+            idHits.increment();
+            return Optional.of(copy(entry.value));
+        }
+        idMisses.increment();
+        long generation = invalidations.get();
+        Optional<Schedule> schedule = scheduleRepository.findById(scheduleId).map(ScheduleCacheServiceImpl::copy);
+        // Unknown schedules are not cached so that random IDs cannot crowd out real ones
+        if (schedule.isPresent() && invalidations.get() == generation) {
+            if (byId.size() >= maxSchedules && !byId.containsKey(scheduleId)) {
+                evictOldest(byId);
+            }
+            byId.put(scheduleId, new Entry<>(schedule.get()));
+        }
+        return schedule.map(ScheduleCacheServiceImpl::copy);
+    }
+
+    @Override
+    public List<Schedule> getSchedulesByMovie(String movieId) {
+        Entry<List<Schedule>> entry = byMovie.get(movieId);
+        if (isFresh(entry)) {
+            movieHits.increment();
+            return copies(entry.value);
+        }
+        movieMisses.increment();
+        long generation = invalidations.get();
+        List<Schedule> schedules = scheduleRepository.findByMovieId(movieId).stream()
+            .map(ScheduleCacheServiceImpl::copy)
+            .collect(Collectors.toList());
+        // Registered before the generation check, so an eviction racing the put still finds the list
+        schedules.forEach(schedule -> movieOfSchedule.put(schedule.getScheduleId(), movieId));
+        if (invalidations.get() == generation) {
+            if (byMovie.size() >= maxMovies && !byMovie.containsKey(movieId)) {
+                evictOldest(byMovie).ifPresent(oldest -> unregister(oldest.getKey(), oldest.getValue().value));
+            }
+            Entry<List<Schedule>> replaced = byMovie.put(movieId, new Entry<>(schedules));
+            if (replaced != null) {
+                Set<String> kept = schedules.stream().map(Schedule::getScheduleId).collect(Collectors.toSet());
+                unregister(movieId, replaced.value.stream()
+                    .filter(schedule -> !kept.contains(schedule.getScheduleId()))
+                    .collect(Collectors.toList()));
+            }
+        } else if (!byMovie.containsKey(movieId)) {
+            unregister(movieId, schedules);
+        }
+        return copies(schedules);
+    }
+
+    @Override
+    public void evict(String scheduleId) {
+        afterCompletion(() -> {
+            invalidations.incrementAndGet();
+            byId.remove(scheduleId);
+            String movieId = movieOfSchedule.get(scheduleId);
+            if (movieId != null) {
+                removeMovie(movieId);
+            }
+        });
+    }
+
+    @Override
+    public void evictMovie(String movieId) {
+        afterCompletion(() -> {
+            invalidations.incrementAndGet();
+            removeMovie(movieId);
+        });
+    }
+
+    // Claims and releases change the seat version and available count of the schedule
+    @EventListener
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        evict(event.getScheduleId());
+    }
+
+    private boolean isFresh(Entry<?> entry) {
+        return entry != null && System.currentTimeMillis() - entry.loadedAt < ttlMillis;
+    }
+
+    private void removeMovie(String movieId) {
+        Entry<List<Schedule>> removed = byMovie.remove(movieId);
+        if (removed != null) {
+            unregister(movieId, removed.value);
+        }
+    }
+
+    private void unregister(String movieId, List<Schedule> schedules) {
+        schedules.forEach(schedule -> movieOfSchedule.remove(schedule.getScheduleId(), movieId));
+    }
+
+    private static <T> Optional<Map.Entry<String, Entry<T>>> evictOldest(Map<String, Entry<T>> cache) {
+        Optional<Map.Entry<String, Entry<T>>> oldest = cache.entrySet().stream()
+            .min((a, b) -> Long.compare(a.getValue().loadedAt, b.getValue().loadedAt));
+        return oldest.filter(entry -> cache.remove(entry.getKey(), entry.getValue()));
+    }
+
+    // Runs now and again once the transaction completes, so a read racing the write cannot re-cache the old state
+    private static void afterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private static List<Schedule> copies(List<Schedule> schedules) {
+        return Collections.unmodifiableList(schedules.stream()
+            .map(ScheduleCacheServiceImpl::copy)
+            .collect(Collectors.toList()));
+    }
+
+    // Cached schedules are detached from any persistence context and never handed out themselves
+    private static Schedule copy(Schedule schedule) {
+        return Schedule.builder()
+            .scheduleId(schedule.getScheduleId())
+            .movieId(schedule.getMovieId())
+            .roomId(schedule.getRoomId())
+            .theaterId(schedule.getTheaterId())
+            .showtime(schedule.getShowtime())
+            .endTime(schedule.getEndTime())
+            .price(schedule.getPrice())
+            .totalSeats(schedule.getTotalSeats())
+            .availableSeats(schedule.getAvailableSeats())
+            .seatLayout(schedule.getSeatLayout())
+            .seatIdPrefix(schedule.getSeatIdPrefix())
+            .seatVersion(schedule.getSeatVersion())
+            .build();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("schedule.cache.requests")
+            .description("Schedule cache lookups")
+            .tag("cache", cache)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(T value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.service.ScheduleCacheService;
+import com.movietheater.booking.service.SeatAvailabilityService;
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the available-seat counters on top of guarded single-statement updates.
+ */
+@Service
+@Slf4j
+public class SeatAvailabilityServiceImpl implements SeatAvailabilityService {
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleCacheService scheduleCacheService;
+    private final DistributionSummary drift;
+    private final Counter repaired;
+
+    public SeatAvailabilityServiceImpl(ScheduleRepository scheduleRepository, ScheduleCacheService scheduleCacheService,
+                                       MeterRegistry meterRegistry) {
+        this.scheduleRepository = scheduleRepository;
+        this.scheduleCacheService = scheduleCacheService;
+        this.drift = DistributionSummary.builder("schedule.available.seats.drift")
+            .description("Seats by which a schedule's available counter was off when it was repaired")
+            .register(meterRegistry);
+        this.repaired = Counter.builder("schedule.available.seats.repaired")
+            .description("Schedules whose available counter was recomputed from seat states")
+            .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void reserve(String scheduleId, int count) {
+        if (count > 0 && scheduleRepository.reserveAvailableSeats(scheduleId, count) == 0) {
+            // The seats were claimed, so the counter is wrong rather than the schedule sold out
+            log.warn("Available seat counter of scheduleId {} is below {}, recomputing", scheduleId, count);
+            reconcile(List.of(scheduleId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(String scheduleId, int count) {
+        if (count > 0 && scheduleRepository.releaseAvailableSeats(scheduleId, count) == 0) {
+            log.warn("Available seat counter of scheduleId {} would exceed its total, recomputing", scheduleId);
+            reconcile(List.of(scheduleId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public long reconcile(Collection<String> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return 0;
+        }
+        scheduleRepository.lockByScheduleIds(scheduleIds);
+        List<Object[]> rows = scheduleRepository.reconcileAvailableSeats(scheduleIds, CommonConst.SEAT_STATUS_AVAILABLE);
+        long total = 0;
+        // Rows are [schedule_id, previous, available]
+        for (Object[] row : rows) {
+            long off = Math.abs(((Number) row[1]).longValue() - ((Number) row[2]).longValue());
+            log.warn("Repaired available seat counter of scheduleId {}: {} -> {}", row[0], row[1], row[2]);
+            drift.record(off);
+            repaired.increment();
+            scheduleCacheService.evict((String) row[0]);
+            total += off;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,204 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.event.SeatStatusChangedEvent;
+import com.movietheater.booking.exception.SeatsTakenException;
+import com.movietheater.booking.inventory.SeatLayout;
+import com.movietheater.booking.inventory.SeatOccupancy;
+import com.movietheater.booking.service.SeatInventoryService;
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.entity.ScheduleSeat;
+import com.movietheater.repository.ScheduleRepository;
+import com.movietheater.repository.ScheduleSeatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the seat inventory backed by per-schedule {@link SeatOccupancy} bitsets.
+ * Only taken seats are stored; an occupancy is composed from the showtime's {@link SeatLayout} and those rows.
+ * Occupancies are loaded lazily, refreshed after a configurable age so that claims made by
+ * other application nodes become visible, and evicted least-recently-loaded first when the
+ * number of cached schedules exceeds the configured maximum.
+ */
+@Service
+@Slf4j
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+    private final ScheduleSeatRepository scheduleSeatRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, SeatOccupancy> occupancies = new ConcurrentHashMap<>();
+    private final int maxSchedules;
+    private final long refreshAfterMillis;
+
+    public SeatInventoryServiceImpl(ScheduleSeatRepository scheduleSeatRepository,
+                                    ScheduleRepository scheduleRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${seat-inventory.max-schedules:1000}") int maxSchedules,
+                                    @Value("${seat-inventory.refresh-after-seconds:30}") long refreshAfterSeconds) {
+        this.scheduleSeatRepository = scheduleSeatRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxSchedules = maxSchedules;
+        this.refreshAfterMillis = refreshAfterSeconds * 1000;
+    }
+
+    @Override
+    public SeatOccupancy getOccupancy(String scheduleId) {
+        SeatOccupancy occupancy = occupancies.get(scheduleId);
+        if (occupancy != null && System.currentTimeMillis() - occupancy.getLoadedAt() < refreshAfterMillis) {
+            return occupancy;
+        }
+        return load(scheduleId);
+    }
+
+    @Override
+    public SeatOccupancy getOccupancy(String scheduleId, long minVersion) {
+        SeatOccupancy occupancy = getOccupancy(scheduleId);
+        return occupancy.getVersion() >= minVersion ? occupancy : load(scheduleId);
+    }
+
+    @Override
+    public List<ScheduleSeat> getSeatMap(String scheduleId) {
+        return getOccupancy(scheduleId).toSeats();
+    }
+
+    @Override
+    public List<ScheduleSeat> getSeats(String scheduleId, List<String> seatIds) {
+        List<ScheduleSeat> seats = getOccupancy(scheduleId).toSeats(seatIds);
+        if (seats.size() != seatIds.size()) {
+            log.error("One or more seats not found for scheduleId {}: {}", scheduleId, seatIds);
+            throw new IllegalArgumentException("One or more seats not found");
+        }
+        return seats;
+    }
+
+    @Override
+    public List<String> findUnavailableSeats(String scheduleId, Collection<String> seatIds) {
+        return getOccupancy(scheduleId).findUnavailable(seatIds);
+    }
+
+    @Override
+    public void claimSeats(String scheduleId, Collection<String> seatIds) {
+        Set<String> requested = new LinkedHashSet<>(seatIds);
+        if (requested.size() != seatIds.size()) {
+            log.error("Duplicate seat IDs in claim for scheduleId {}: {}", scheduleId, seatIds);
+            throw new IllegalArgumentException("Duplicate seat IDs in request");
+        }
+        // Seat rows exist only while taken, so a claim inserts them; unknown seat IDs are never inserted
+        List<ScheduleSeat> seats = getOccupancy(scheduleId).toSeats(requested);
+        seats.forEach(seat -> seat.setSeatStatus(CommonConst.SEAT_STATUS_BOOKED));
+        List<String> claimed = scheduleSeatRepository.insertTaken(seats, CommonConst.SEAT_STATUS_AVAILABLE);
+        if (claimed.size() != requested.size()) {
+            List<String> taken = requested.stream()
+                .filter(seatId -> !claimed.contains(seatId))
+                .collect(Collectors.toList());
+            log.warn("Seats already taken for scheduleId {}: {}", scheduleId, taken);
+            evict(scheduleId);
+            throw new SeatsTakenException(scheduleId, taken);
+        }
+        long newVersion = scheduleRepository.incrementSeatVersion(scheduleId);
+        afterCommit(() -> apply(scheduleId, claimed, true, newVersion));
+    }
+
+    @Override
+    public List<String> releaseSeats(String scheduleId, Collection<String> seatIds) {
+        List<String> released = scheduleSeatRepository.deleteTaken(
+            scheduleId, new LinkedHashSet<>(seatIds), CommonConst.SEAT_STATUS_BOOKED);
+        if (released.size() != seatIds.size()) {
+            log.warn("Only {} of {} seats released for scheduleId {}", released.size(), seatIds.size(), scheduleId);
+        }
+        if (!released.isEmpty()) {
+            long newVersion = scheduleRepository.incrementSeatVersion(scheduleId);
+            afterCommit(() -> apply(scheduleId, released, false, newVersion));
+        }
+        return released;
+    }
+
+    @Override
+    public void evict(String scheduleId) {
+        occupancies.remove(scheduleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    occupancies.remove(scheduleId);
+                }
+            });
+        }
+    }
+
+    private SeatOccupancy load(String scheduleId) {
+        // Version first: a change committed in between leaves the snapshot newer than its version, never older
+        Optional<ScheduleRepository.SeatMapSource> source = scheduleRepository.findSeatMapSourceById(scheduleId);
+        if (source.isEmpty()) {
+            // Unknown schedules are not cached so that random IDs cannot crowd out real ones
+            log.warn("No seats found for scheduleId: {}", scheduleId);
+            return SeatOccupancy.empty(scheduleId);
+        }
+        List<ScheduleSeat> takenSeats = scheduleSeatRepository.findByScheduleId(scheduleId);
+        SeatLayout layout = SeatLayout.ofNullable(source.get().getSeatLayout());
+        String seatIdPrefix = source.get().getSeatIdPrefix() != null
+            ? source.get().getSeatIdPrefix() : legacySeatIdPrefix(scheduleId, takenSeats);
+        SeatOccupancy occupancy = SeatOccupancy.fromLayout(scheduleId, source.get().getSeatVersion(), layout,
+            seatIdPrefix, takenSeats);
+        if (occupancies.size() >= maxSchedules && !occupancies.containsKey(scheduleId)) {
+            evictOldest();
+        }
+        occupancies.put(scheduleId, occupancy);
+        log.debug("Loaded seat inventory for scheduleId: {}, seats: {}, taken rows: {}",
+            scheduleId, layout.getCapacity(), takenSeats.size());
+        return occupancy;
+    }
+
+    // Showtimes created before sparse storage have no stored prefix; their IDs end in row letter and two digits
+    private String legacySeatIdPrefix(String scheduleId, List<ScheduleSeat> seats) {
+        if (seats.isEmpty()) {
+            log.warn("No seat ID prefix for scheduleId: {}", scheduleId);
+            return scheduleId + "-";
+        }
+        String seatId = seats.get(0).getScheduleSeatId();
+        return seatId.substring(0, seatId.length() - 3);
+    }
+
+    private void evictOldest() {
+        occupancies.values().stream()
+            .min((a, b) -> Long.compare(a.getLoadedAt(), b.getLoadedAt()))
+            .ifPresent(oldest -> occupancies.remove(oldest.getScheduleId(), oldest));
+    }
+
+    private void apply(String scheduleId, List<String> seatIds, boolean booked, long newVersion) {
+        SeatOccupancy occupancy = occupancies.get(scheduleId);
+        if (occupancy != null && !occupancy.mark(seatIds, booked, newVersion)) {
+            log.debug("Seat inventory for scheduleId {} missed changes, reloading on next access", scheduleId);
+            occupancies.remove(scheduleId, occupancy);
+        }
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(scheduleId, seatIds,
+            booked ? CommonConst.SEAT_STATUS_BOOKED : CommonConst.SEAT_STATUS_AVAILABLE));
+    }
+
+    // Defers in-memory changes until the database change is durable; rolled back work never reaches the bitset
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.dto.request.SeatLayoutRequest;
+import com.movietheater.booking.dto.response.SeatLayoutResponse;
+import com.movietheater.booking.inventory.SeatLayout;
+import com.movietheater.booking.service.SeatLayoutService;
+import com.movietheater.common.exception.ResourceNotFoundException;
+import com.movietheater.entity.Room;
+import com.movietheater.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of room seat layout management.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatLayoutServiceImpl implements SeatLayoutService {
+    private final RoomRepository roomRepository;
+
+    @Override
+    public SeatLayoutResponse getRoomLayout(String roomId) {
+        Room room = findRoom(roomId);
+        return toResponse(roomId, SeatLayout.ofNullable(room.getSeatLayout()));
+    }
+
+    @Override
+    @Transactional
+    public SeatLayoutResponse updateRoomLayout(String roomId, SeatLayoutRequest request) {
+        log.info("Updating seat layout for roomId: {}", roomId);
+        boolean useDefault = request.getRows() == null || request.getRows().isEmpty();
+        SeatLayout layout = useDefault
+            ? SeatLayout.defaultLayout()
+            : SeatLayout.parse(String.join(SeatLayout.ROW_SEPARATOR, request.getRows()));
+        Room room = findRoom(roomId);
+        room.setSeatLayout(useDefault ? null : layout.getTemplate());
+        room.setCapacity(layout.getCapacity());
+        roomRepository.save(room);
+        log.info("Seat layout updated for roomId: {}, seats: {}", roomId, layout.getCapacity());
+        return toResponse(roomId, layout);
+    }
+
+    private Room findRoom(String roomId) {
+        return roomRepository.findById(roomId)
+            .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+    }
+
+    private SeatLayoutResponse toResponse(String roomId, SeatLayout layout) {
+        return SeatLayoutResponse.builder()
+            .roomId(roomId)
+            .rows(layout.getRows())
+            .columns(layout.getColumnCount())
+            .capacity(layout.getCapacity())
+            .build();
+    }
+}
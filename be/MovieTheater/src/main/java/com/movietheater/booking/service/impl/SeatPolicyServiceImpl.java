@@ -0,0 +1,161 @@
+package com.movietheater.booking.service.impl;
+
+import com.movietheater.booking.dto.request.SeatPolicyRequest;
+import com.movietheater.booking.dto.response.SeatPolicyResponse;
+import com.movietheater.booking.exception.SeatPolicyViolationException;
+import com.movietheater.booking.policy.SeatPolicy;
+import com.movietheater.booking.policy.SeatPolicyAction;
+import com.movietheater.booking.policy.SeatPolicyViolation;
+import com.movietheater.booking.service.SeatInventoryService;
+import com.movietheater.booking.service.SeatPolicyService;
+import com.movietheater.common.exception.ResourceNotFoundException;
+import com.movietheater.entity.Room;
+import com.movietheater.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of seat policy resolution. Policies are cached per room since they are read on every
+ * multi-seat booking. An update replaces the cached policy once it commits; entries expire after a
+ * configurable age so that updates made on other nodes become visible.
+ */
+@Service
+@Slf4j
+public class SeatPolicyServiceImpl implements SeatPolicyService {
+    private final RoomRepository roomRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatPolicy defaultPolicy;
+    private final Map<String, CachedPolicy> policies = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public SeatPolicyServiceImpl(RoomRepository roomRepository, SeatInventoryService seatInventoryService,
+                                 @Value("${seat-policy.no-orphan-seat:WARN}") String noOrphanSeat,
+                                 @Value("${seat-policy.no-gap:WARN}") String noGap,
+                                 @Value("${seat-policy.max-per-row-action:OFF}") String maxPerRowAction,
+                                 @Value("${seat-policy.max-per-row:0}") int maxPerRow,
+                                 @Value("${seat-policy.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.roomRepository = roomRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.defaultPolicy = new SeatPolicy(parseAction(noOrphanSeat), parseAction(noGap),
+            parseAction(maxPerRowAction), maxPerRow);
+    }
+
+    @Override
+    public SeatPolicy getPolicy(String roomId) {
+        if (roomId == null) {
+            return defaultPolicy;
+        }
+        CachedPolicy cached = policies.get(roomId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMillis) {
+            return cached.policy;
+        }
+        SeatPolicy policy = roomRepository.findById(roomId)
+            .map(this::toPolicy)
+            .orElse(defaultPolicy);
+        policies.put(roomId, new CachedPolicy(policy));
+        return policy;
+    }
+
+    @Override
+    public void enforce(String scheduleId, String roomId, List<String> seatIds) {
+        SeatPolicy policy = getPolicy(roomId);
+        List<SeatPolicyViolation> violations = seatInventoryService.getOccupancy(scheduleId)
+            .evaluatePolicy(seatIds, policy);
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (violations.stream().anyMatch(SeatPolicyViolation::isBlocking)) {
+            log.warn("Seat selection blocked for scheduleId {}: {}", scheduleId, violations);
+            throw new SeatPolicyViolationException(scheduleId, violations);
+        }
+        log.warn("Seat selection warning for scheduleId {}: {}", scheduleId, violations);
+    }
+
+    @Override
+    public SeatPolicyResponse getRoomPolicy(String roomId) {
+        Room room = findRoom(roomId);
+        return toResponse(roomId, toPolicy(room));
+    }
+
+    @Override
+    @Transactional
+    public SeatPolicyResponse updateRoomPolicy(String roomId, SeatPolicyRequest request) {
+        log.info("Updating seat policy for roomId: {}", roomId);
+        if (request.getMaxPerRow() != null && request.getMaxPerRow() < 0) {
+            throw new IllegalArgumentException("Max seats per row must not be negative");
+        }
+        Room room = findRoom(roomId);
+        room.setSeatPolicyNoOrphan(normalizeAction(request.getNoOrphanSeat()));
+        room.setSeatPolicyNoGap(normalizeAction(request.getNoGap()));
+        room.setSeatPolicyMaxPerRowAction(normalizeAction(request.getMaxPerRowAction()));
+        room.setSeatPolicyMaxPerRow(request.getMaxPerRow());
+        roomRepository.save(room);
+
+        SeatPolicy policy = toPolicy(room);
+        // Only a committed update may replace the cached policy
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                policies.put(roomId, new CachedPolicy(policy));
+            }
+        });
+        log.info("Seat policy updated for roomId: {}", roomId);
+        return toResponse(roomId, policy);
+    }
+
+    private Room findRoom(String roomId) {
+        return roomRepository.findById(roomId)
+            .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+    }
+
+    private SeatPolicy toPolicy(Room room) {
+        return new SeatPolicy(
+            room.getSeatPolicyNoOrphan() != null ? parseAction(room.getSeatPolicyNoOrphan()) : defaultPolicy.getNoOrphanSeat(),
+            room.getSeatPolicyNoGap() != null ? parseAction(room.getSeatPolicyNoGap()) : defaultPolicy.getNoGap(),
+            room.getSeatPolicyMaxPerRowAction() != null
+                ? parseAction(room.getSeatPolicyMaxPerRowAction()) : defaultPolicy.getMaxPerRowAction(),
+            room.getSeatPolicyMaxPerRow() != null ? room.getSeatPolicyMaxPerRow() : defaultPolicy.getMaxPerRow());
+    }
+
+    private SeatPolicyResponse toResponse(String roomId, SeatPolicy policy) {
+        return SeatPolicyResponse.builder()
+            .roomId(roomId)
+            .noOrphanSeat(policy.getNoOrphanSeat().name())
+            .noGap(policy.getNoGap().name())
+            .maxPerRowAction(policy.getMaxPerRowAction().name())
+            .maxPerRow(policy.getMaxPerRow())
+            .build();
+    }
+
+    // Validates an action name and returns it in canonical form, keeping null as "use default"
+    private String normalizeAction(String action) {
+        return action == null || action.isBlank() ? null : parseAction(action).name();
+    }
+
+    private SeatPolicyAction parseAction(String action) {
+        try {
+            return SeatPolicyAction.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid seat policy action: " + action);
+        }
+    }
+
+    private static final class CachedPolicy {
+        private final SeatPolicy policy;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private CachedPolicy(SeatPolicy policy) {
+            this.policy = policy;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.movietheater.booking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movietheater.booking.dto.response.SeatDeltaResponse;
+import com.movietheater.booking.dto.response.SeatSnapshotResponse;
+import com.movietheater.booking.event.SeatStatusChangedEvent;
+import com.movietheater.booking.service.SeatInventoryService;
+import com.movietheater.booking.service.SeatStreamService;
+import com.movietheater.entity.ScheduleSeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the seat stream on top of servlet async {@link SseEmitter}s.
+ * <p>
+ * Idle connections hold no thread. Each delta is serialized once per schedule and queued to every
+ * subscriber; a small shared pool drains the queues. A subscriber whose queue fills up is
+ * disconnected so that one slow client cannot hold memory for everyone else, and it resumes
+ * through Last-Event-ID on reconnect.
+ */
+@Service
+@Slf4j
+public class SeatStreamServiceImpl implements SeatStreamService {
+    private static final String EVENT_SNAPSHOT = "snapshot";
+    private static final String EVENT_SEAT = "seat";
+    // Empty channels keep their history this long so that reconnecting clients can still resume
+    private static final long CHANNEL_IDLE_MILLIS = 5 * 60_000;
+
+    private final SeatInventoryService seatInventoryService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService dispatcher;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int historySize;
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+
+    public SeatStreamServiceImpl(SeatInventoryService seatInventoryService,
+                                 ObjectMapper objectMapper,
+                                 @Qualifier("seatStreamExecutor") ExecutorService dispatcher,
+                                 @Value("${seat-stream.timeout-minutes:30}") long timeoutMinutes,
+                                 @Value("${seat-stream.queue-capacity:256}") int queueCapacity,
+                                 @Value("${seat-stream.history-size:1024}") int historySize) {
+        this.seatInventoryService = seatInventoryService;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+        this.timeoutMillis = timeoutMinutes * 60_000;
+        this.queueCapacity = queueCapacity;
+        this.historySize = historySize;
+    }
+
+    @Override
+    public SseEmitter subscribe(String scheduleId, Long fromVersion) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Channel channel = channels.computeIfAbsent(scheduleId, Channel::new);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(e -> subscriber.detach());
+
+        if (channel.attachAndReplay(subscriber, fromVersion)) {
+            log.debug("Resumed seat stream for scheduleId: {} from version {}", scheduleId, fromVersion);
+            return emitter;
+        }
+        // Load the seat map outside the channel lock; deltas published meanwhile are replayed after it
+        long baseVersion = channel.currentVersion();
+        List<ScheduleSeat> seats = seatInventoryService.getSeatMap(scheduleId);
+        channel.attachWithSnapshot(subscriber, seats, baseVersion);
+        log.debug("Started seat stream for scheduleId: {}, subscribers: {}", scheduleId, channel.subscribers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        Channel channel = channels.get(event.getScheduleId());
+        if (channel != null) {
+            channel.publish(event.getSeatIds(), event.getStatus());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${seat-stream.heartbeat-millis:15000}")
+    public void sendHeartbeats() {
+        channels.values().forEach(channel -> {
+            if (channel.subscribers.isEmpty()) {
+                if (System.currentTimeMillis() - channel.lastActive > CHANNEL_IDLE_MILLIS) {
+                    channels.remove(channel.scheduleId, channel);
+                }
+            } else {
+                channel.subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+            }
+        });
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> toEvent(String name, long version, Object payload) {
+        try {
+            return SseEmitter.event()
+                .id(String.valueOf(version))
+                .name(name)
+                .data(objectMapper.writeValueAsString(payload))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize seat event", e);
+        }
+    }
+
+    private static final class Delta {
+        private final long version;
+        private final Set<ResponseBodyEmitter.DataWithMediaType> event;
+
+        private Delta(long version, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            this.version = version;
+            this.event = event;
+        }
+    }
+
+    private final class Channel {
+        private final String scheduleId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Deque<Delta> history = new ArrayDeque<>();
+        // Seeded from the clock so versions keep increasing when a channel is recreated or the node restarts
+        private long version = System.currentTimeMillis() << 10;
+        private volatile long lastActive = System.currentTimeMillis();
+
+        private Channel(String scheduleId) {
+            this.scheduleId = scheduleId;
+        }
+
+        private synchronized long currentVersion() {
+            return version;
+        }
+
+        private synchronized void publish(List<String> seatIds, String status) {
+            lastActive = System.currentTimeMillis();
+            for (String seatId : seatIds) {
+                version++;
+                Delta delta = new Delta(version, toEvent(EVENT_SEAT, version, new SeatDeltaResponse(seatId, status, version)));
+                history.addLast(delta);
+                if (history.size() > historySize) {
+                    history.removeFirst();
+                }
+                subscribers.forEach(subscriber -> subscriber.offer(delta.event));
+            }
+        }
+
+        private synchronized boolean attachAndReplay(Subscriber subscriber, Long fromVersion) {
+            lastActive = System.currentTimeMillis();
+            if (fromVersion == null || fromVersion > version || !covers(fromVersion)) {
+                return false;
+            }
+            subscribers.add(subscriber);
+            replay(subscriber, fromVersion);
+            return true;
+        }
+
+        private synchronized void attachWithSnapshot(Subscriber subscriber, List<ScheduleSeat> seats, long baseVersion) {
+            subscribers.add(subscriber);
+            List<SeatDeltaResponse> states = seats.stream()
+                .map(seat -> new SeatDeltaResponse(seat.getScheduleSeatId(), seat.getSeatStatus(), version))
+                .collect(Collectors.toList());
+            subscriber.offer(toEvent(EVENT_SNAPSHOT, version, SeatSnapshotResponse.builder()
+                .scheduleId(scheduleId)
+                .version(version)
+                .seats(states)
+                .build()));
+            replay(subscriber, baseVersion);
+        }
+
+        // True if every delta after fromVersion is still in the history
+        private boolean covers(long fromVersion) {
+            return fromVersion == version || (!history.isEmpty() && history.peekFirst().version <= fromVersion + 1);
+        }
+
+        private void replay(Subscriber subscriber, long fromVersion) {
+            for (Delta delta : history) {
+                if (delta.version > fromVersion) {
+                    subscriber.offer(delta.event);
+                }
+            }
+        }
+    }
+
+    private final class Subscriber {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.warn("Seat stream subscriber for scheduleId {} fell behind, disconnecting", channel.scheduleId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Seat stream for scheduleId {} closed: {}", channel.scheduleId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void detach() {
+            closed = true;
+            channel.subscribers.remove(this);
+            queue.clear();
+        }
+
+        private void close() {
+            detach();
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Error completing seat stream for scheduleId {}: {}", channel.scheduleId, e.getMessage());
+            }
+        }
+    }
+}
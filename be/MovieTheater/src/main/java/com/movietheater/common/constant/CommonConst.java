@@ -30,11 +30,19 @@ public class CommonConst {
     public static final int TOTAL_ROWS = 8;
     public static final int TOTAL_SEATS = SEATS_PER_ROW * TOTAL_ROWS;
     public static final int MAX_SHOWTIMES = 100;
+    public static final int MAX_TIMETABLE_SHOWTIMES = 1000;
+    public static final int TIMETABLE_BATCH_SIZE = 100;
     public static final String SEAT_TYPE_NORMAL = "NORMAL";
     public static final String SEAT_TYPE_VIP = "VIP";
+    public static final int MAX_BEST_SEATS = 10;
+    public static final int BEST_SEATS_HOLD_ATTEMPTS = 3;
+    public static final int CANCELLATION_CUTOFF_HOURS = 6;
+    public static final int DEFAULT_SUGGESTIONS = 10;
 
     // Media type constants
     public static final String MEDIA_TYPE_IMAGE = "image";
+    public static final String MEDIA_TYPE_SEAT_MAP_COMPACT = "application/vnd.movietheater.seatmap+json";
+    public static final String SEAT_MAP_FORMAT_COMPACT = "compact";
 
     // Default values for configurations
     public static final String DEFAULT_LANGUAGE = "en";
@@ -51,6 +59,8 @@ public class CommonConst {
     public static final int DEFAULT_PAGE_NUMBER = 0;
 
     public static final String HEADER_USER_ID = "userId";
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String HEADER_IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
 
     private CommonConst() {
         // Private constructor to prevent instantiation
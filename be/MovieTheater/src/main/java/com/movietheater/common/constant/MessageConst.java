@@ -33,6 +33,10 @@ public class MessageConst {
     public static final String ERROR_REGISTER_INFO_USED = "E1009";
     /** Error code for new password same as old. */
     public static final String ERROR_NEW_PASSWORD_SAME_AS_OLD = "E1010";
+    /** Error code for seats claimed by another booking. */
+    public static final String ERROR_SEATS_TAKEN = "E3001";
+    /** Error code for seat selections blocked by the room's seat policy. */
+    public static final String ERROR_SEAT_POLICY = "E3002";
 
     // Info messages
     public static final String INFO_REQUEST_SUCCESS = "I0001";
@@ -55,6 +59,10 @@ public class MessageConst {
     public static final String MSG_PASSWORD_RESET_INVALID = "Invalid password reset request";
     public static final String MSG_NEW_PASSWORD_SAME_AS_OLD = "New password must be different from the old one.";
     public static final String MSG_USER_NOT_FOUND = "User not found";
+    public static final String MSG_SEATS_TAKEN = "One or more seats are already booked";
+    public static final String MSG_BOOKING_BUSY = "Too many bookings for this showtime right now. Please try again.";
+    public static final String MSG_SEAT_POLICY = "Seat selection is not allowed in this room";
+    public static final String MSG_NO_BEST_SEATS = "No block of adjacent seats is available for this request";
 
     // Log message
     public static final String LOG_API_ACCESS = "[API_ACCESS] {} {} by user: {} - status: {} - duration: {}ms";
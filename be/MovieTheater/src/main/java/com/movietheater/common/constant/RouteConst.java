@@ -33,7 +33,10 @@ public class RouteConst {
     public static final String MOVIE_SEARCH = MOVIE + "/search";
     public static final String SHOWTIME = "/showtime";
     public static final String SHOWTIME_DETAIL = SHOWTIME + API_PARAM_SCHEDULE_ID_PATH;
+    public static final String SHOWTIME_TIMETABLE = SHOWTIME + "/timetable";
     public static final String ROOM = "/room";
+    public static final String ROOM_SEAT_POLICY = ROOM + API_PARAM_ID_PATH + "/seat-policy";
+    public static final String ROOM_SEAT_LAYOUT = ROOM + API_PARAM_ID_PATH + "/seat-layout";
     public static final String THEATER = "/theater";
     public static final String EMPLOYEES = "/employees";
     public static final String PROMOTION = "/promotions";
@@ -43,10 +46,14 @@ public class RouteConst {
     // Booking routes
     public static final String BOOK_BASE = "/api/book" + API_VERSION;
     public static final String BOOKINGS = "/bookings";
+    public static final String ORDERS = "/orders";
     public static final String CONFIRM = "/confirm";
     public static final String SCHEDULE = "/schedule";
     public static final String SCHEDULE_ID = SCHEDULE + "/id" + API_PARAM_SCHEDULE_ID_PATH;
     public static final String SEAT = "/seat";
+    public static final String STREAM = "/stream";
+    public static final String BEST = "/best";
+    public static final String MOVIE_SUGGEST = MOVIE + "/suggest";
 
     // Employee routes
     public static final String EMPLOYEE_BASE = "/api/employee";
@@ -0,0 +1,35 @@
+package com.movietheater.common.enumeration;
+
+import com.movietheater.employee.constant.EmployeeConst;
+
+/**
+ * Database sequences behind the prefixed entity IDs (M001, MM001, PR001, ...).
+ * Each sequence is created by {@code IdSequenceMigration} with {@code INCREMENT BY} {@link #BLOCK_SIZE}:
+ * one {@code nextval} reserves a whole block of IDs that is then handed out from memory.
+ */
+public enum IdSequence {
+    MOVIE("M", "movie_id_seq"),
+    MOVIE_MEDIA("MM", "movie_media_id_seq"),
+    PROMOTION("PR", "promotion_id_seq"),
+    EMPLOYEE(EmployeeConst.EMPLOYEE_ID_PREFIX, "employee_id_seq"),
+    SCHEDULE("S", "schedule_short_id_seq");
+
+    /** Number of IDs reserved per database round trip; the sequences are created with it as INCREMENT BY. */
+    public static final int BLOCK_SIZE = 20;
+
+    private final String prefix;
+    private final String sequenceName;
+
+    IdSequence(String prefix, String sequenceName) {
+        this.prefix = prefix;
+        this.sequenceName = sequenceName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+}
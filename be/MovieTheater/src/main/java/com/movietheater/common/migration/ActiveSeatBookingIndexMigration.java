@@ -0,0 +1,42 @@
+package com.movietheater.common.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * At most one active (pending or paid) booking per seat of a showtime, enforced by the {@value #INDEX}
+ * unique index. Fails, and stops the startup, while a seat still has more than one active booking: those
+ * double sales have to be refunded or cancelled by hand before the index can be built.
+ */
+@Component
+@Slf4j
+public class ActiveSeatBookingIndexMigration implements SchemaMigration {
+    static final String INDEX = "ux_bookings_active_seat";
+
+    @Override
+    public String getVersion() {
+        return "003";
+    }
+
+    @Override
+    public String getDescription() {
+        return "One active booking per seat";
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        List<String> doubleBooked = jdbcTemplate.queryForList("SELECT schedule_id || '/' || seat_id FROM bookings"
+            + " WHERE status IN ('PENDING', 'PAID')"
+            + " GROUP BY schedule_id, seat_id HAVING COUNT(*) > 1"
+            + " ORDER BY schedule_id, seat_id", String.class);
+        if (!doubleBooked.isEmpty()) {
+            throw new IllegalStateException(doubleBooked.size()
+                + " seats have more than one active booking, cancel the extra ones first: " + doubleBooked);
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + INDEX
+            + " ON bookings (schedule_id, seat_id) WHERE status IN ('PENDING', 'PAID')");
+    }
+}
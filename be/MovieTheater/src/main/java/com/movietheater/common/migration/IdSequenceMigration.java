@@ -0,0 +1,55 @@
+package com.movietheater.common.migration;
+
+import com.movietheater.common.enumeration.IdSequence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Creates the {@link IdSequence} sequences with {@code INCREMENT BY} {@link IdSequence#BLOCK_SIZE} and moves
+ * each one past the highest ID already stored in its table. The short schedule ID sequence is aligned by
+ * {@link SparseScheduleSeatsMigration}, once the seat ID prefixes it is derived from are backfilled.
+ */
+@Component
+@Slf4j
+public class IdSequenceMigration implements SchemaMigration {
+    // Table and ID column each sequence numbers
+    private static final Map<IdSequence, String[]> STORED_IDS = Map.of(
+        IdSequence.MOVIE, new String[]{"movies", "movie_id"},
+        IdSequence.MOVIE_MEDIA, new String[]{"movie_media", "media_id"},
+        IdSequence.PROMOTION, new String[]{"promotions", "promotion_id"},
+        IdSequence.EMPLOYEE, new String[]{"employees", "employee_id"});
+
+    @Override
+    public String getVersion() {
+        return "000";
+    }
+
+    @Override
+    public String getDescription() {
+        return "ID sequences";
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        for (IdSequence idSequence : IdSequence.values()) {
+            String sequence = idSequence.getSequenceName();
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                + " INCREMENT BY " + IdSequence.BLOCK_SIZE + " MINVALUE 0 START WITH 0");
+            String[] stored = STORED_IDS.get(idSequence);
+            if (stored == null) {
+                continue;
+            }
+            // Never moves the sequence back: a block it has already handed out stays used
+            Long next = jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST("
+                + " (SELECT COALESCE(MAX(CAST(SUBSTRING(" + stored[1] + " FROM '^" + idSequence.getPrefix()
+                + "([0-9]+)$') AS BIGINT)), 0)"
+                + " FROM " + stored[0] + "),"
+                + " (SELECT CASE WHEN is_called THEN last_value + " + IdSequence.BLOCK_SIZE + " ELSE last_value END"
+                + " FROM " + sequence + ")), false)", Long.class);
+            log.info("IDs of {} continue after {}", sequence, next);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.movietheater.common.migration;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the application down when the exclusion constraint that keeps showtimes of a room from
+ * overlapping is missing, since the showtime services rely on it for concurrent creates.
+ */
+@Component
+public class RoomSlotConstraintHealthIndicator implements HealthIndicator {
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoomSlotConstraintHealthIndicator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Health health() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, ScheduleRoomSlotMigration.CONSTRAINT);
+        Health.Builder health = count != null && count > 0 ? Health.up() : Health.down();
+        return health.withDetail("constraint", ScheduleRoomSlotMigration.CONSTRAINT).build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.movietheater.common.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Showtimes occupy their room until {@code end_time}, and no two showtimes of a room may overlap, even
+ * when created concurrently. Older showtimes get an end time, overlapping ones are cut short at the next
+ * showtime of the room, and the {@value #CONSTRAINT} exclusion constraint is added. Fails, and stops the
+ * startup, if the btree_gist extension cannot be installed.
+ */
+@Component
+@Slf4j
+public class ScheduleRoomSlotMigration implements SchemaMigration {
+    static final String CONSTRAINT = "ex_schedules_room_slot";
+
+    @Override
+    public String getVersion() {
+        return "002";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Non-overlapping showtimes per room";
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        // The movie duration, or the former fixed 180-minute slot, plus the default showtime.cleaning-buffer-minutes
+        int backfilled = jdbcTemplate.update("UPDATE schedules s SET end_time = s.showtime + MAKE_INTERVAL(mins => COALESCE("
+            + " (SELECT m.duration FROM movies m WHERE m.movie_id = s.movie_id), 180) + 15)"
+            + " WHERE s.end_time IS NULL");
+        log.info("Backfilled end time of {} showtimes", backfilled);
+        jdbcTemplate.execute("DROP INDEX IF EXISTS ix_schedules_room_showtime");
+
+        // Ending each showtime no later than the next one of its room leaves no overlap in a single pass
+        List<String> repaired = jdbcTemplate.queryForList("UPDATE schedules s SET end_time = n.next_showtime"
+            + " FROM (SELECT schedule_id, LEAD(showtime) OVER (PARTITION BY room_id ORDER BY showtime, schedule_id)"
+            + " AS next_showtime FROM schedules) n"
+            + " WHERE n.schedule_id = s.schedule_id AND n.next_showtime < s.end_time"
+            + " RETURNING s.schedule_id", String.class);
+        if (!repaired.isEmpty()) {
+            log.warn("Cut short {} overlapping showtimes at the next showtime of their room, reschedule them: {}",
+                repaired.size(), repaired);
+        }
+
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, CONSTRAINT);
+        if (existing == null || existing == 0) {
+            jdbcTemplate.execute("ALTER TABLE schedules ADD CONSTRAINT " + CONSTRAINT
+                + " EXCLUDE USING gist (room_id WITH =, tsrange(showtime, end_time) WITH &&)");
+        }
+    }
+}
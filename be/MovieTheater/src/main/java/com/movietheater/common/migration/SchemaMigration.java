@@ -0,0 +1,30 @@
+package com.movietheater.common.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A one-off schema or data change that {@code db/schema.sql} cannot express safely, because that script
+ * runs on every start and cannot check the data first. Each migration is applied once, in version order,
+ * by {@link SchemaMigrationRunner}.
+ */
+public interface SchemaMigration {
+
+    /**
+     * @return the unique version, compared as a string to order the migrations
+     */
+    String getVersion();
+
+    /**
+     * @return a short description stored with the applied version
+     */
+    String getDescription();
+
+    /**
+     * Applies the migration inside the runner's transaction.
+     *
+     * @param jdbcTemplate template bound to that transaction
+     * @throws IllegalStateException if the data is not in the expected state; the transaction is rolled
+     *                               back and the application does not start
+     */
+    void migrate(JdbcTemplate jdbcTemplate);
+}
@@ -0,0 +1,68 @@
+package com.movietheater.common.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the pending {@link SchemaMigration}s after {@code db/schema.sql} has run and before the
+ * application starts serving. Applied versions are recorded in {@code schema_migrations}, so each
+ * migration runs once. A failing migration is rolled back and stops the startup.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@Slf4j
+public class SchemaMigrationRunner implements InitializingBean {
+    // Serializes nodes that start at the same time
+    private static final long MIGRATION_LOCK_KEY = 0x4D5452L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<SchemaMigration> migrations;
+
+    public SchemaMigrationRunner(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 List<SchemaMigration> migrations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.migrations = migrations.stream()
+            .sorted(Comparator.comparing(SchemaMigration::getVersion))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations ("
+            + "version VARCHAR(50) PRIMARY KEY, description VARCHAR(255) NOT NULL, "
+            + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        for (SchemaMigration migration : migrations) {
+            transactionTemplate.executeWithoutResult(status -> apply(migration));
+        }
+    }
+
+    private void apply(SchemaMigration migration) {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK_KEY);
+        Integer applied = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM schema_migrations WHERE version = ?", Integer.class, migration.getVersion());
+        if (applied != null && applied > 0) {
+            return;
+        }
+        log.info("Applying schema migration {}: {}", migration.getVersion(), migration.getDescription());
+        try {
+            migration.migrate(jdbcTemplate);
+        } catch (RuntimeException e) {
+            log.error("Schema migration {} failed, startup aborted", migration.getVersion(), e);
+            throw e;
+        }
+        jdbcTemplate.update("INSERT INTO schema_migrations (version, description) VALUES (?, ?)",
+            migration.getVersion(), migration.getDescription());
+        log.info("Applied schema migration {}", migration.getVersion());
+    }
+}
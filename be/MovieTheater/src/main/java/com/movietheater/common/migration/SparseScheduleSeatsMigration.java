@@ -0,0 +1,59 @@
+package com.movietheater.common.migration;
+
+import com.movietheater.common.enumeration.IdSequence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sparse seat storage: a showtime stores its seat ID prefix and only taken seats keep a
+ * {@code schedule_seat} row. Showtimes created with a full seat grid get their prefix from one of their
+ * seats; the free rows are only dropped once every showtime has a prefix to rebuild its seat map from.
+ * The short schedule ID sequence is then moved past every short ID the prefixes and stored seats use.
+ */
+@Component
+@Slf4j
+public class SparseScheduleSeatsMigration implements SchemaMigration {
+
+    @Override
+    public String getVersion() {
+        return "001";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Sparse schedule seats";
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        int fromSeats = jdbcTemplate.update("UPDATE schedules s SET seat_id_prefix = ("
+            + " SELECT SUBSTRING(ss.schedule_seat_id FROM '^(.*)[A-Z][0-9][0-9]$') FROM schedule_seat ss"
+            + " WHERE ss.schedule_id = s.schedule_id LIMIT 1)"
+            + " WHERE s.seat_id_prefix IS NULL"
+            + " AND EXISTS (SELECT 1 FROM schedule_seat ss WHERE ss.schedule_id = s.schedule_id)");
+        // Showtimes without any seat row get the prefix the seat inventory falls back to for them
+        int fallback = jdbcTemplate.update("UPDATE schedules SET seat_id_prefix = schedule_id || '-'"
+            + " WHERE seat_id_prefix IS NULL"
+            + " AND NOT EXISTS (SELECT 1 FROM schedule_seat ss WHERE ss.schedule_id = schedules.schedule_id)");
+        log.info("Backfilled seat ID prefix of {} showtimes from their seats and {} without seats", fromSeats, fallback);
+
+        Integer missing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM schedules WHERE seat_id_prefix IS NULL", Integer.class);
+        if (missing != null && missing > 0) {
+            throw new IllegalStateException(missing + " showtimes have no seat ID prefix; free seat rows are kept");
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM schedule_seat WHERE seat_status = 'AVAILABLE'");
+        log.info("Dropped {} free seat rows", deleted);
+
+        // New showtimes must not reuse a short ID of a backfilled prefix or of a seat row still stored.
+        // Never moves the sequence back: a block it has already handed out stays used.
+        String sequence = IdSequence.SCHEDULE.getSequenceName();
+        Long next = jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST("
+            + " (SELECT COALESCE(MAX(CAST(SUBSTRING(seat_id_prefix FROM '^SS([0-9]+)-') AS BIGINT)), 0) FROM schedules),"
+            + " (SELECT COALESCE(MAX(CAST(SUBSTRING(schedule_seat_id FROM '^SS([0-9]+)-') AS BIGINT)), 0) FROM schedule_seat),"
+            + " (SELECT CASE WHEN is_called THEN last_value + " + IdSequence.BLOCK_SIZE + " ELSE last_value END"
+            + " FROM " + sequence + ")), false)", Long.class);
+        log.info("Short schedule IDs continue after {}", next);
+    }
+}
@@ -0,0 +1,308 @@
+package com.movietheater.common.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel for large numbers of keyed, mostly-cancelled timeouts.
+ * <p>
+ * A single worker thread advances the wheel one tick at a time and hands expired tasks to
+ * {@code taskExecutor}, so the wheel itself never blocks on task work. Scheduling and cancelling
+ * are O(1): callers only enqueue, and the worker links/unlinks nodes in its bucket lists.
+ * Scheduling a key that is already pending replaces the previous timeout.
+ */
+@Slf4j
+public class HashedTimingWheel {
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final Map<String, Timeout> timeoutsByKey = new ConcurrentHashMap<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Thread worker;
+    private final Timer firingLag;
+    private final Counter firedCounter;
+    private final Counter cancelledCounter;
+    private volatile boolean running = true;
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * Creates and starts a timing wheel.
+     *
+     * @param name the name used for the worker thread and metric tags
+     * @param tickDuration the duration of one tick
+     * @param unit the unit of {@code tickDuration}
+     * @param ticksPerWheel the number of buckets, rounded up to a power of two
+     * @param taskExecutor the executor that runs expired tasks
+     * @param meterRegistry the registry for pending-count and firing-lag metrics
+     */
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int ticksPerWheel,
+                             Executor taskExecutor, MeterRegistry meterRegistry) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be positive");
+        }
+        this.name = name;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int buckets = ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[buckets];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.taskExecutor = taskExecutor;
+
+        Gauge.builder("timeout.wheel.pending", pendingCount, AtomicLong::get)
+            .description("Timeouts scheduled but not yet fired or cancelled")
+            .tag("wheel", name)
+            .register(meterRegistry);
+        this.firingLag = Timer.builder("timeout.wheel.firing.lag")
+            .description("Delay between a timeout's deadline and the moment it was fired")
+            .tag("wheel", name)
+            .register(meterRegistry);
+        this.firedCounter = Counter.builder("timeout.wheel.fired").tag("wheel", name).register(meterRegistry);
+        this.cancelledCounter = Counter.builder("timeout.wheel.cancelled").tag("wheel", name).register(meterRegistry);
+
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name + "-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules a task to run once the delay has elapsed, replacing any pending timeout with the same key.
+     *
+     * @param key the key used to cancel the timeout
+     * @param delay the delay before the task runs
+     * @param unit the unit of {@code delay}
+     * @param task the task to run
+     */
+    public void schedule(String key, long delay, TimeUnit unit, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("Timing wheel " + name + " is stopped");
+        }
+        Timeout timeout = new Timeout(key, task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pendingCount.incrementAndGet();
+        Timeout previous = timeoutsByKey.put(key, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+        pendingAdds.add(timeout);
+    }
+
+    /**
+     * Cancels the pending timeout with the given key.
+     *
+     * @param key the key passed to {@link #schedule}
+     * @return true if a pending timeout was cancelled, false if none was pending
+     */
+    public boolean cancel(String key) {
+        Timeout timeout = timeoutsByKey.remove(key);
+        return timeout != null && timeout.cancel();
+    }
+
+    /**
+     * Returns the number of timeouts that are scheduled and neither fired nor cancelled.
+     *
+     * @return the pending timeout count
+     */
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stops the worker thread. Pending timeouts are dropped without running.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 2 + 100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped timing wheel {} with {} pending timeouts", name, pendingCount.get());
+    }
+
+    private void run() {
+        log.info("Started timing wheel {} with {} buckets of {} ms", name, wheel.length,
+            TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            processCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepMillis = (deadline - current + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingAdds.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state.get() != Timeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void fire(Timeout timeout, long now) {
+        if (!timeout.state.compareAndSet(Timeout.ST_INIT, Timeout.ST_EXPIRED)) {
+            return;
+        }
+        timeoutsByKey.remove(timeout.key, timeout);
+        pendingCount.decrementAndGet();
+        firedCounter.increment();
+        firingLag.record(Math.max(0, now - timeout.deadline), TimeUnit.NANOSECONDS);
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    log.error("Timeout task for key {} failed: {}", timeout.key, e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("Timeout task for key {} was rejected: {}", timeout.key, e.getMessage());
+        }
+    }
+
+    private final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final String key;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(String key, Runnable task, long deadline) {
+            this.key = key;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        private boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            cancelledCounter.increment();
+            pendingCancels.add(this);
+            return true;
+        }
+    }
+
+    // Doubly-linked list of timeouts; only touched by the worker thread
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() != Timeout.ST_INIT) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    fire(timeout, now);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.movietheater.common.service;
+
+import com.movietheater.common.enumeration.IdSequence;
+
+/**
+ * Interface for allocating prefixed entity IDs from database sequences.
+ */
+public interface IdAllocationService {
+    /**
+     * Allocates the next ID of a sequence, formatted as the prefix followed by at least three digits.
+     * IDs are unique across nodes and increasing per node; IDs of an unused block are skipped after a restart.
+     *
+     * @param sequence the sequence to allocate from
+     * @return the new ID, e.g. {@code M042}
+     */
+    String nextId(IdSequence sequence);
+
+    /**
+     * Allocates the next number of a sequence.
+     *
+     * @param sequence the sequence to allocate from
+     * @return the new number
+     */
+    long nextValue(IdSequence sequence);
+}
@@ -0,0 +1,54 @@
+package com.movietheater.common.service.impl;
+
+import com.movietheater.common.enumeration.IdSequence;
+import com.movietheater.common.service.IdAllocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Implementation of ID allocation with a hi/lo scheme: each {@code nextval} of a sequence reserves
+ * {@link IdSequence#BLOCK_SIZE} numbers, so concurrent creates never collide and the database is
+ * only hit once per block.
+ */
+@Service
+@Slf4j
+public class IdAllocationServiceImpl implements IdAllocationService {
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<IdSequence, Block> blocks = new EnumMap<>(IdSequence.class);
+
+    public IdAllocationServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (IdSequence sequence : IdSequence.values()) {
+            blocks.put(sequence, new Block());
+        }
+    }
+
+    @Override
+    public String nextId(IdSequence sequence) {
+        return String.format("%s%03d", sequence.getPrefix(), nextValue(sequence));
+    }
+
+    @Override
+    public long nextValue(IdSequence sequence) {
+        Block block = blocks.get(sequence);
+        synchronized (block) {
+            if (block.next > block.last) {
+                // The sequence value is the last number of the previous block
+                Long base = jdbcTemplate.queryForObject("SELECT nextval('" + sequence.getSequenceName() + "')", Long.class);
+                block.next = base + 1;
+                block.last = base + IdSequence.BLOCK_SIZE;
+                log.debug("Reserved {} IDs {}..{}", sequence, block.next, block.last);
+            }
+            return block.next++;
+        }
+    }
+
+    private static final class Block {
+        private long next = 1;
+        private long last = 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.movietheater.config;
+
+import com.movietheater.common.scheduler.HashedTimingWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the shared timeout schedulers and background jobs used by the booking flow.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService paymentTimeoutExecutor(@Value("${payment-timeout.worker-threads:4}") int workerThreads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-timeout-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(destroyMethod = "stop")
+    public HashedTimingWheel paymentTimeoutWheel(@Qualifier("paymentTimeoutExecutor") ExecutorService paymentTimeoutExecutor,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${payment-timeout.tick-millis:100}") long tickMillis,
+                                                 @Value("${payment-timeout.ticks-per-wheel:512}") int ticksPerWheel) {
+        return new HashedTimingWheel("payment-timeout", tickMillis, TimeUnit.MILLISECONDS, ticksPerWheel,
+            paymentTimeoutExecutor, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService seatStreamExecutor(@Value("${seat-stream.dispatch-threads:4}") int dispatchThreads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService availabilityReconcileExecutor(@Value("${availability-reconcile.threads:2}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-reconcile-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
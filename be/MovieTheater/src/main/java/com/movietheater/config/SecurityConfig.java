@@ -144,9 +144,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, RouteConst.ADMIN_BASE + RouteConst.PROMOTION + "/**").permitAll()
                         .requestMatchers(HttpMethod.GET, RouteConst.BOOK_BASE + RouteConst.MOVIE,
                                 RouteConst.BOOK_BASE + RouteConst.MOVIE + RouteConst.API_PARAM_ID_PATH,
+                                RouteConst.BOOK_BASE + RouteConst.MOVIE_SUGGEST,
                                 RouteConst.BOOK_BASE + RouteConst.SCHEDULE + RouteConst.API_PARAM_ID_PATH,
                                 RouteConst.BOOK_BASE + RouteConst.SCHEDULE + "/id" + RouteConst.API_PARAM_SCHEDULE_ID_PATH,
-                                RouteConst.BOOK_BASE + RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH).permitAll()
+                                RouteConst.BOOK_BASE + RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH,
+                                RouteConst.BOOK_BASE + RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH + RouteConst.STREAM,
+                                RouteConst.BOOK_BASE + RouteConst.SEAT + RouteConst.API_PARAM_SCHEDULE_ID_PATH + RouteConst.BEST).permitAll()
 								
                         .requestMatchers(RouteConst.AUTH_BASE + RouteConst.LOGIN, "/login", "/oauth2/**",
                                 RouteConst.AUTH_BASE + RouteConst.REGISTER + "/**",
@@ -159,6 +162,7 @@ public class SecurityConfig {
                         // Role-based access
                         .requestMatchers(HttpMethod.POST, RouteConst.ADMIN_BASE + RouteConst.MOVIE,
                                 RouteConst.ADMIN_BASE + RouteConst.SHOWTIME,
+                                RouteConst.ADMIN_BASE + RouteConst.SHOWTIME_TIMETABLE,
                                 RouteConst.ADMIN_BASE + RouteConst.PROMOTION + "/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, RouteConst.ADMIN_BASE + RouteConst.MOVIE + "/**",
                                 RouteConst.ADMIN_BASE + RouteConst.SHOWTIME + "/**",
@@ -171,7 +175,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, RouteConst.BOOK_BASE + RouteConst.BOOKINGS + "/user",
                                 RouteConst.BOOK_BASE + RouteConst.BOOKINGS + RouteConst.API_PARAM_ID_PATH).authenticated()
                         .requestMatchers(HttpMethod.POST, RouteConst.BOOK_BASE + RouteConst.CONFIRM).authenticated()
-                        .requestMatchers(HttpMethod.DELETE, RouteConst.BOOK_BASE + RouteConst.BOOKINGS + RouteConst.API_PARAM_ID_PATH).authenticated()
+                        .requestMatchers(HttpMethod.DELETE, RouteConst.BOOK_BASE + RouteConst.BOOKINGS + RouteConst.API_PARAM_ID_PATH,
+                                RouteConst.BOOK_BASE + RouteConst.ORDERS + RouteConst.API_PARAM_ID_PATH).authenticated()
                         // Others
                         .anyRequest().authenticated())
                 .formLogin().disable()
@@ -53,6 +53,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000", "https://starcinema.online")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag", "Idempotent-Replayed")
                 .allowCredentials(true)
                 .maxAge(3600);
         logger.debug("CORS mappings configured for all paths with origin: http://localhost:3000");
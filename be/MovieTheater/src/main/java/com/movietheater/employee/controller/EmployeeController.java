@@ -10,6 +10,7 @@ import com.movietheater.employee.service.EmployeeService;
 import com.movietheater.common.annotation.RestApiErrorResponse;
 import com.movietheater.common.annotation.RestApiErrorResponses;
 import com.movietheater.common.constant.AuthorityConst;
+import com.movietheater.common.constant.CommonConst;
 import com.movietheater.common.constant.MessageConst;
 import com.movietheater.common.constant.RouteConst;
 import lombok.RequiredArgsConstructor;
@@ -20,9 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -39,23 +38,20 @@ public class EmployeeController {
     private final EmployeeService employeeService;
 
     /**
-     * Retrieves all employees from the system.
+     * Retrieves one page of employees.
      * Accessible by all users for testing purposes.
      *
-     * @return ResponseEntity containing list of all employees
+     * @param page the page number (default 0)
+     * @param size the page size (default 5)
+     * @return ResponseEntity containing the page of employees
      */
     @GetMapping
     public ResponseEntity<Page<EmployeeResponseDTO>> getAllEmployees(
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "5") int size
     ) {
-        Pageable pageable = PageRequest.of(page, size);
-        List<EmployeeResponseDTO> employees = employeeService.getAllEmployees();
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), employees.size());
-        List<EmployeeResponseDTO> pageContent = employees.subList(start, end);
-        Page<EmployeeResponseDTO> pageResult = new PageImpl<>(pageContent, pageable, employees.size());
-        return ResponseEntity.ok(pageResult);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), CommonConst.MAX_PAGE_SIZE));
+        return ResponseEntity.ok(employeeService.getEmployees(pageable));
     }
 
     /**
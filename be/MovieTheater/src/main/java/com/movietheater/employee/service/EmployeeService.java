@@ -3,8 +3,8 @@ package com.movietheater.employee.service;
 import com.movietheater.employee.dto.request.AddEmployeeRequestDTO;
 import com.movietheater.employee.dto.request.UpdateEmployeeRequestDTO;
 import com.movietheater.employee.dto.response.EmployeeResponseDTO;
-
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service interface for handling employee management operations.
@@ -13,12 +13,13 @@ import java.util.List;
 public interface EmployeeService {
 
     /**
-     * Retrieves all employees from the system.
+     * Retrieves one page of employees, in employee ID order.
      *
-     * @return list of all employees
+     * @param pageable the page to retrieve
+     * @return the page of employees
      * @throws RuntimeException if database access fails
      */
-    List<EmployeeResponseDTO> getAllEmployees();
+    Page<EmployeeResponseDTO> getEmployees(Pageable pageable);
 
     /**
      * Retrieves an employee by their unique ID.
@@ -1,5 +1,7 @@
 package com.movietheater.employee.service.impl;
 
+import com.movietheater.common.enumeration.IdSequence;
+import com.movietheater.common.service.IdAllocationService;
 import com.movietheater.employee.constant.EmployeeConst;
 import com.movietheater.employee.dto.request.AddEmployeeRequestDTO;
 import com.movietheater.employee.dto.request.UpdateEmployeeRequestDTO;
@@ -13,14 +15,15 @@ import com.movietheater.repository.EmployeeRepository;
 import com.movietheater.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the EmployeeService interface for handling employee management operations.
@@ -31,21 +34,25 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional
 public class EmployeeServiceImpl implements EmployeeService {
+    private static final String EMPLOYEE_ID = "employeeId";
 
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final IdAllocationService idAllocationService;
 
     @Override
     @Transactional(readOnly = true)
-    public List<EmployeeResponseDTO> getAllEmployees() {
-        log.info("Retrieving all employees from database");
+    public Page<EmployeeResponseDTO> getEmployees(Pageable pageable) {
+        log.info("Retrieving employees page {} of size {}", pageable.getPageNumber(), pageable.getPageSize());
         try {
-            List<EmployeeResponseDTO> employees = employeeRepository.findAll().stream()
-                    .map(this::mapToEmployeeResponseDTO)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-            log.info("Successfully retrieved {} employees", employees.size());
+            // The employee ID breaks ties in the client's sort, so no employee appears on two pages
+            Sort sort = pageable.getSort().getOrderFor(EMPLOYEE_ID) != null
+                    ? pageable.getSort() : pageable.getSort().and(Sort.by(EMPLOYEE_ID));
+            Page<EmployeeResponseDTO> employees = employeeRepository.findPageWithUser(
+                            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort))
+                    .map(this::mapToEmployeeResponseDTO);
+            log.info("Successfully retrieved {} of {} employees", employees.getNumberOfElements(), employees.getTotalElements());
             return employees;
         } catch (Exception e) {
             log.error("Failed to retrieve employees: {}", e.getMessage(), e);
@@ -182,11 +189,6 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     private EmployeeResponseDTO mapToEmployeeResponseDTO(Employee employee) {
-        if (employee.getUser() == null) {
-            log.warn("User is null for employee: {}", employee.getEmployeeId());
-            return null;
-        }
-        
         User user = employee.getUser();
         return EmployeeResponseDTO.builder()
                 .userId(user.getId())
@@ -265,7 +267,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private Employee createEmployeeFromRequest(AddEmployeeRequestDTO request, User user) {
         Employee employee = new Employee();
-        employee.setEmployeeId(generateEmployeeId());
+        employee.setEmployeeId(idAllocationService.nextId(IdSequence.EMPLOYEE));
         employee.setUser(user);
         employee.setHireDate(LocalDate.now());
         employee.setPosition(request.getPosition());
@@ -294,16 +296,6 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setSalary(request.getSalary());
     }
 
-    private String generateEmployeeId() {
-        List<Employee> employees = employeeRepository.findAll();
-        int maxId = employees.stream()
-                .map(emp -> emp.getEmployeeId().replace(EmployeeConst.EMPLOYEE_ID_PREFIX, ""))
-                .mapToInt(Integer::parseInt)
-                .max()
-                .orElse(0);
-        return String.format("%s%03d", EmployeeConst.EMPLOYEE_ID_PREFIX, maxId + 1);
-    }
-
     // Thêm hàm kiểm tra trùng khi update
     private void validateUniqueConstraintsForUpdate(UpdateEmployeeRequestDTO request) {
         Employee currentEmployee = findEmployeeById(request.getEmployeeId());
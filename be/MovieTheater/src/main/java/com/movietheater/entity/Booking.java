@@ -10,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "BOOKINGS")
+@Table(name = "BOOKINGS", indexes = {
+    // Booking history and the duplicate-seat check; USER_ID alone is served by the leading column
+    @Index(name = "IX_BOOKINGS_USER_SCHEDULE_STATUS", columnList = "USER_ID, SCHEDULE_ID, STATUS"),
+    @Index(name = "IX_BOOKINGS_ORDER_ID", columnList = "ORDER_ID")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,4 +53,8 @@ public class Booking {
 
     @Column(name = "PAYMENT_DATE")
     private LocalDateTime paymentDate;
-}
\ No newline at end of file
+
+    // Deadline for payment; null once the order is confirmed or released
+    @Column(name = "EXPIRES_AT")
+    private LocalDateTime expiresAt;
+}
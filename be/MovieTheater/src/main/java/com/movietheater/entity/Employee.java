@@ -8,7 +8,10 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    // Employment details of a page of users
+    @Index(name = "IX_EMPLOYEES_USER_ID", columnList = "user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
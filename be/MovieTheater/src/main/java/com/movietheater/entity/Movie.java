@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "MOVIES")
+@Table(name = "MOVIES", indexes = {
+    // Movie list order and its seek pagination
+    @Index(name = "IX_MOVIES_RELEASE_DATE", columnList = "RELEASE_DATE, MOVIE_ID")
+})
 @Data
 public class Movie {
     @Id
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
-@Table(name = "MOVIE_MEDIA")
+@Table(name = "MOVIE_MEDIA", indexes = {
+    // Posters of a page of movies
+    @Index(name = "IX_MOVIE_MEDIA_MOVIE_ID", columnList = "MOVIE_ID")
+})
 @Data
 public class MovieMedia {
     @Id
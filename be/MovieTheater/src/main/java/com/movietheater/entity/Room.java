@@ -19,4 +19,21 @@ public class Room {
 
     @Column(name = "DESCRIPTION")
     private String description;
+
+    // Seat layout template, see SeatLayout; null means the default 8x13 layout
+    @Column(name = "SEAT_LAYOUT", length = 2000)
+    private String seatLayout;
+
+    // Seat policy overrides (OFF, WARN or BLOCK); null falls back to the configured default
+    @Column(name = "SEAT_POLICY_NO_ORPHAN")
+    private String seatPolicyNoOrphan;
+
+    @Column(name = "SEAT_POLICY_NO_GAP")
+    private String seatPolicyNoGap;
+
+    @Column(name = "SEAT_POLICY_MAX_PER_ROW_ACTION")
+    private String seatPolicyMaxPerRowAction;
+
+    @Column(name = "SEAT_POLICY_MAX_PER_ROW")
+    private Integer seatPolicyMaxPerRow;
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.movietheater.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,7 +11,12 @@ import java.time.LocalDateTime;
  * Entity representing a showtime schedule in the movie theater application.
  */
 @Entity
-@Table(name = "SCHEDULES")
+@Table(name = "SCHEDULES", indexes = {
+    @Index(name = "IX_SCHEDULES_MOVIE_SHOWTIME", columnList = "MOVIE_ID, SHOWTIME"),
+    @Index(name = "IX_SCHEDULES_THEATER_SHOWTIME", columnList = "THEATER_ID, SHOWTIME"),
+    @Index(name = "IX_SCHEDULES_ROOM_END_TIME", columnList = "ROOM_ID, END_TIME"),
+    @Index(name = "IX_SCHEDULES_SHOWTIME", columnList = "SHOWTIME")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -48,6 +54,13 @@ public class Schedule {
     @Column(name = "SHOWTIME", nullable = false)
     private LocalDateTime showtime;
 
+    /**
+     * The time the room is free again: the showtime plus the movie duration and the cleaning buffer.
+     * Showtimes of one room never overlap on {@code [showtime, endTime)}, which the database enforces.
+     */
+    @Column(name = "END_TIME")
+    private LocalDateTime endTime;
+
     /**
      * The ticket price for the showtime.
      */
@@ -61,8 +74,33 @@ public class Schedule {
     private Integer totalSeats;
 
     /**
-     * The number of seats still available for the showtime.
+     * The number of seats still available for the showtime. Only changed through the atomic delta
+     * updates in {@code ScheduleRepository}, so entity saves never write back a stale count.
      */
-    @Column(name = "AVAILABLE_SEATS", nullable = false)
+    @Column(name = "AVAILABLE_SEATS", nullable = false, updatable = false)
     private Integer availableSeats;
+
+    /**
+     * The seat layout template copied from the room when the showtime was created, so later room changes
+     * never reshape sold showtimes. Null means the default 8x13 layout.
+     */
+    @Column(name = "SEAT_LAYOUT", length = 2000)
+    private String seatLayout;
+
+    /**
+     * The prefix of every seat ID of the showtime. Seats are only stored once taken, so the full
+     * seat map is composed from the layout and this prefix.
+     */
+    @Column(name = "SEAT_ID_PREFIX")
+    private String seatIdPrefix;
+
+    /**
+     * Monotonically increasing version, bumped on every seat status change and showtime update.
+     * Used as the ETag of the schedule and its seat map. Only changed through
+     * {@code ScheduleRepository.incrementSeatVersion}, so entity saves never write back a stale value.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "SEAT_VERSION", nullable = false, updatable = false)
+    private Long seatVersion = 0L;
 }
\ No newline at end of file
@@ -7,7 +7,9 @@ import lombok.*;
  * Entity representing a seat for a specific showtime schedule.
  */
 @Entity
-@Table(name = "SCHEDULE_SEAT")
+@Table(name = "SCHEDULE_SEAT", indexes = {
+    @Index(name = "IX_SCHEDULE_SEAT_SCHEDULE", columnList = "SCHEDULE_ID")
+})
 @Getter
 @Setter
 @NoArgsConstructor
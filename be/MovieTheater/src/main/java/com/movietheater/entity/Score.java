@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "scores")
+@Table(name = "scores", indexes = {
+	// Score history of a user, newest first
+	@Index(name = "IX_SCORES_USER_DATE", columnList = "user_id, transaction_date")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
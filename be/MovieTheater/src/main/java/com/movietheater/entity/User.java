@@ -10,7 +10,10 @@ import java.time.LocalDate;
  * Used for authentication, authorization, and user profile management.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Admin user list, filtered by role and paged in ID order
+    @Index(name = "IX_USERS_ROLE_ID", columnList = "role, user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,141 @@
+package com.movietheater.moviemanagement.catalog;
+
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.entity.Movie;
+import com.movietheater.entity.MovieMedia;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Immutable copy of a movie and its poster, detached from the persistence context so that it can be
+ * shared by every reader of the {@link MovieCatalog}.
+ */
+public final class CatalogMovie {
+    private final String movieId;
+    private final String title;
+    private final String shortDescription;
+    private final String description;
+    private final String director;
+    private final String actors;
+    private final String genre;
+    private final LocalDate releaseDate;
+    private final Integer duration;
+    private final String language;
+    private final String rated;
+    private final String posterUrl;
+
+    private CatalogMovie(Movie movie, String posterUrl) {
+        this.movieId = movie.getMovieId();
+        this.title = movie.getTitle();
+        this.shortDescription = movie.getShortDescription();
+        this.description = movie.getDescription();
+        this.director = movie.getDirector();
+        this.actors = movie.getActors();
+        this.genre = movie.getGenre();
+        this.releaseDate = movie.getReleaseDate();
+        this.duration = movie.getDuration();
+        this.language = movie.getLanguage();
+        this.rated = movie.getRated();
+        this.posterUrl = posterUrl;
+    }
+
+    /**
+     * Copies a movie; its media must be loaded.
+     *
+     * @param movie the movie entity
+     * @return the catalog copy, with the URL of the first image as poster
+     */
+    public static CatalogMovie of(Movie movie) {
+        String posterUrl = null;
+        if (movie.getMovieMedia() != null) {
+            posterUrl = movie.getMovieMedia().stream()
+                .filter(media -> CommonConst.MEDIA_TYPE_IMAGE.equals(media.getMediaType()) && media.getMediaUrl() != null)
+                .map(MovieMedia::getMediaUrl)
+                .findFirst()
+                .orElse(null);
+        }
+        return new CatalogMovie(movie, posterUrl);
+    }
+
+    /**
+     * Copies a movie whose poster was looked up separately; its media are not read.
+     *
+     * @param movie the movie entity
+     * @param posterUrl the URL of the poster, or null
+     * @return the catalog copy
+     */
+    public static CatalogMovie of(Movie movie, String posterUrl) {
+        return new CatalogMovie(movie, posterUrl);
+    }
+
+    public String getMovieId() {
+        return movieId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getShortDescription() {
+        return shortDescription;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getDirector() {
+        return director;
+    }
+
+    public String getActors() {
+        return actors;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public LocalDate getReleaseDate() {
+        return releaseDate;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public String getRated() {
+        return rated;
+    }
+
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CatalogMovie)) {
+            return false;
+        }
+        CatalogMovie movie = (CatalogMovie) other;
+        return Objects.equals(movieId, movie.movieId) && Objects.equals(title, movie.title)
+            && Objects.equals(shortDescription, movie.shortDescription) && Objects.equals(description, movie.description)
+            && Objects.equals(director, movie.director) && Objects.equals(actors, movie.actors)
+            && Objects.equals(genre, movie.genre) && Objects.equals(releaseDate, movie.releaseDate)
+            && Objects.equals(duration, movie.duration) && Objects.equals(language, movie.language)
+            && Objects.equals(rated, movie.rated) && Objects.equals(posterUrl, movie.posterUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movieId, title, releaseDate);
+    }
+}
@@ -0,0 +1,177 @@
+package com.movietheater.moviemanagement.catalog;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable snapshot of the movie catalog, indexed by movie ID, genre and release date.
+ * A change produces a new snapshot and leaves this one untouched, so readers never need a lock.
+ * Movies are kept in movie ID order.
+ */
+public final class MovieCatalog {
+    private static final MovieCatalog EMPTY = new MovieCatalog(new TreeMap<>());
+
+    private final NavigableMap<String, CatalogMovie> byId;
+    private final List<CatalogMovie> movies;
+    private final Map<String, List<CatalogMovie>> byGenre;
+    private final NavigableMap<LocalDate, List<CatalogMovie>> byReleaseDate;
+
+    private MovieCatalog(NavigableMap<String, CatalogMovie> byId) {
+        this.byId = Collections.unmodifiableNavigableMap(byId);
+        this.movies = List.copyOf(byId.values());
+        Map<String, List<CatalogMovie>> genres = new HashMap<>();
+        NavigableMap<LocalDate, List<CatalogMovie>> releaseDates = new TreeMap<>();
+        for (CatalogMovie movie : movies) {
+            if (movie.getGenre() != null) {
+                genres.computeIfAbsent(movie.getGenre().toLowerCase(Locale.ROOT), genre -> new ArrayList<>()).add(movie);
+            }
+            if (movie.getReleaseDate() != null) {
+                releaseDates.computeIfAbsent(movie.getReleaseDate(), date -> new ArrayList<>()).add(movie);
+            }
+        }
+        genres.replaceAll((genre, list) -> List.copyOf(list));
+        releaseDates.replaceAll((date, list) -> List.copyOf(list));
+        this.byGenre = Collections.unmodifiableMap(genres);
+        this.byReleaseDate = Collections.unmodifiableNavigableMap(releaseDates);
+    }
+
+    public static MovieCatalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot of the given movies.
+     *
+     * @param movies the movies of the catalog
+     * @return the snapshot
+     */
+    public static MovieCatalog of(Collection<CatalogMovie> movies) {
+        NavigableMap<String, CatalogMovie> byId = new TreeMap<>();
+        movies.forEach(movie -> byId.put(movie.getMovieId(), movie));
+        return new MovieCatalog(byId);
+    }
+
+    /**
+     * Returns a copy of this snapshot with a movie added or replaced.
+     *
+     * @param movie the movie
+     * @return the new snapshot
+     */
+    public MovieCatalog withMovie(CatalogMovie movie) {
+        NavigableMap<String, CatalogMovie> copy = new TreeMap<>(byId);
+        copy.put(movie.getMovieId(), movie);
+        return new MovieCatalog(copy);
+    }
+
+    /**
+     * Returns a copy of this snapshot without a movie.
+     *
+     * @param movieId the ID of the movie
+     * @return the new snapshot, or this one if it has no such movie
+     */
+    public MovieCatalog withoutMovie(String movieId) {
+        if (!byId.containsKey(movieId)) {
+            return this;
+        }
+        NavigableMap<String, CatalogMovie> copy = new TreeMap<>(byId);
+        copy.remove(movieId);
+        return new MovieCatalog(copy);
+    }
+
+    /**
+     * Returns the movies of this snapshot that are new or different compared to an older snapshot.
+     *
+     * @param previous the older snapshot
+     * @return the added and changed movies
+     */
+    public List<CatalogMovie> changedSince(MovieCatalog previous) {
+        List<CatalogMovie> changed = new ArrayList<>();
+        for (CatalogMovie movie : movies) {
+            if (!movie.equals(previous.byId.get(movie.getMovieId()))) {
+                changed.add(movie);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the IDs of the movies of an older snapshot that this snapshot no longer has.
+     *
+     * @param previous the older snapshot
+     * @return the removed movie IDs
+     */
+    public List<String> removedSince(MovieCatalog previous) {
+        List<String> removed = new ArrayList<>();
+        for (String movieId : previous.byId.keySet()) {
+            if (!byId.containsKey(movieId)) {
+                removed.add(movieId);
+            }
+        }
+        return removed;
+    }
+
+    public Optional<CatalogMovie> find(String movieId) {
+        return Optional.ofNullable(byId.get(movieId));
+    }
+
+    public List<CatalogMovie> getMovies() {
+        return movies;
+    }
+
+    public int size() {
+        return movies.size();
+    }
+
+    /**
+     * Filters the catalog. The release date index is used first, then the genre index, and the remaining
+     * criteria are checked on the candidates only.
+     *
+     * @param title a case-insensitive part of the title, or null
+     * @param genre a case-insensitive part of the genre, or null
+     * @param releaseDate the release date as yyyy-MM-dd, or null
+     * @return the matching movies in movie ID order
+     */
+    public List<CatalogMovie> filter(String title, String genre, String releaseDate) {
+        String titlePart = title == null ? null : title.toLowerCase(Locale.ROOT);
+        String genrePart = genre == null ? null : genre.toLowerCase(Locale.ROOT);
+        List<CatalogMovie> candidates;
+        if (releaseDate != null) {
+            try {
+                candidates = byReleaseDate.getOrDefault(LocalDate.parse(releaseDate), List.of());
+            } catch (DateTimeParseException e) {
+                return List.of();
+            }
+        } else if (genrePart != null) {
+            candidates = new ArrayList<>();
+            for (Map.Entry<String, List<CatalogMovie>> entry : byGenre.entrySet()) {
+                if (entry.getKey().contains(genrePart)) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+            candidates.sort((a, b) -> a.getMovieId().compareTo(b.getMovieId()));
+        } else {
+            candidates = movies;
+        }
+        Predicate<CatalogMovie> matches = movie ->
+            (titlePart == null || (movie.getTitle() != null && movie.getTitle().toLowerCase(Locale.ROOT).contains(titlePart)))
+                && (genrePart == null || (movie.getGenre() != null && movie.getGenre().toLowerCase(Locale.ROOT).contains(genrePart)));
+        List<CatalogMovie> result = new ArrayList<>();
+        for (CatalogMovie movie : candidates) {
+            if (matches.test(movie)) {
+                result.add(movie);
+            }
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import com.movietheater.common.annotation.RestApiErrorResponse;
 import com.movietheater.common.annotation.RestApiErrorResponses;
 import com.movietheater.common.constant.RouteConst;
 import com.movietheater.common.constant.AuthorityConst;
+import com.movietheater.common.constant.CommonConst;
 import com.movietheater.common.constant.MessageConst;
 import com.movietheater.common.exception.ResourceNotFoundException;
 import com.movietheater.moviemanagement.dto.request.MovieCreateRequest;
@@ -39,29 +40,58 @@ public class MovieManagementController {
 
     /**
      * Lấy danh sách phim với filter nâng cao và phân trang.
+     * Khi có tham số cursor (rỗng cho trang đầu), phân trang theo cursor thay vì số trang.
      */
     @PreAuthorize(AuthorityConst.AUTH_ALL)
     @GetMapping(RouteConst.MOVIE)
-    @RestApiErrorResponses(responses = {})
+    @RestApiErrorResponses(responses = {
+        @RestApiErrorResponse(
+            status = HttpStatus.BAD_REQUEST,
+            message = "Invalid cursor",
+            code = "E3003",
+            on = @RestApiErrorResponse.Exception(IllegalArgumentException.class)
+        )
+    })
     public ResponseEntity<?> getMovies(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String genre,
             @RequestParam(required = false) String releaseDate,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
-            @RequestParam(defaultValue = "false") boolean all) {
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam(required = false) String cursor) {
         
         if (all) {
             // Lấy tất cả phim không phân trang
             List<MovieResponse> allMovies = movieService.getAllMovies(title, genre, releaseDate);
             return ResponseEntity.ok(allMovies);
         }
+
+        int pageSize = Math.min(Math.max(size, 1), CommonConst.MAX_PAGE_SIZE);
+        if (cursor != null) {
+            return ResponseEntity.ok(movieService.getMoviesAfter(title, genre, releaseDate, cursor, pageSize));
+        }
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "releaseDate"));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, Sort.by(Sort.Direction.DESC, "releaseDate"));
         Page<MovieResponse> movies = movieService.getMovies(title, genre, releaseDate, pageable);
         return ResponseEntity.ok(movies != null ? movies : Page.empty(pageable));
     }
 
+    /**
+     * Tìm kiếm phim theo từ khóa, không phân biệt hoa thường và dấu tiếng Việt, kết quả phù hợp nhất trước.
+     */
+    @PreAuthorize(AuthorityConst.AUTH_ALL)
+    @GetMapping(RouteConst.MOVIE_SEARCH)
+    @RestApiErrorResponses(responses = {})
+    public ResponseEntity<Page<MovieResponse>> searchMovies(
+            @RequestParam String q,
+            @RequestParam(required = false) String genre,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), CommonConst.MAX_PAGE_SIZE));
+        return ResponseEntity.ok(movieService.searchMovies(q, genre, pageable));
+    }
+
     /**
      * Tạo mới phim.
      */
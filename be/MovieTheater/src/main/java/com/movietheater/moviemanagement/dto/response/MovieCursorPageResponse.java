@@ -0,0 +1,20 @@
+package com.movietheater.moviemanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the movie list read by seek pagination. The next page is requested with {@code nextCursor},
+ * which is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieCursorPageResponse {
+    private List<MovieResponse> content;
+    private int size;
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.movietheater.moviemanagement.event;
+
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
+
+import java.util.List;
+
+/**
+ * Application event published, in order, after the in-memory movie catalog has changed.
+ */
+public class MovieCatalogChangedEvent {
+    private final List<CatalogMovie> upserted;
+    private final List<String> removedMovieIds;
+
+    public MovieCatalogChangedEvent(List<CatalogMovie> upserted, List<String> removedMovieIds) {
+        this.upserted = List.copyOf(upserted);
+        this.removedMovieIds = List.copyOf(removedMovieIds);
+    }
+
+    public List<CatalogMovie> getUpserted() {
+        return upserted;
+    }
+
+    public List<String> getRemovedMovieIds() {
+        return removedMovieIds;
+    }
+}
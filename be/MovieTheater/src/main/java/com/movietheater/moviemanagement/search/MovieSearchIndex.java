@@ -0,0 +1,341 @@
+package com.movietheater.moviemanagement.search;
+
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the title, director, actors, genre and description of movies,
+ * ranked with BM25. Text is folded with {@link TextFolding}, so matching ignores case and Vietnamese diacritics.
+ * Fields are weighted by repeating their terms: title 3, director, actors and genre 2, description 1.
+ * <p>
+ * Documents are updated in place: a changed movie gets a new document and the old one is marked dead,
+ * and dead documents are compacted away once they outnumber the live ones. Searches share a read lock,
+ * changes take the write lock.
+ */
+public final class MovieSearchIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int PEOPLE_WEIGHT = 2;
+    private static final int GENRE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_COMPACT_DEAD = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docByMovie = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private String[] movieIds = new String[256];
+    private String[] genres = new String[256];
+    private int[] lengths = new int[256];
+    private String[][] docTerms = new String[256][];
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Adds a movie, or replaces it if already indexed.
+     *
+     * @param movie the movie
+     */
+    public void put(CatalogMovie movie) {
+        Map<String, Integer> freqs = new HashMap<>();
+        addField(freqs, movie.getTitle(), TITLE_WEIGHT);
+        addField(freqs, movie.getDirector(), PEOPLE_WEIGHT);
+        addField(freqs, movie.getActors(), PEOPLE_WEIGHT);
+        addField(freqs, movie.getGenre(), GENRE_WEIGHT);
+        addField(freqs, movie.getDescription(), DESCRIPTION_WEIGHT);
+        int length = 0;
+        for (int freq : freqs.values()) {
+            length += freq;
+        }
+        String genre = TextFolding.fold(movie.getGenre());
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByMovie.remove(movie.getMovieId());
+            if (previous != null) {
+                removeDoc(previous);
+            }
+            ensureCapacity(docCount + 1);
+            int doc = docCount++;
+            movieIds[doc] = movie.getMovieId();
+            genres[doc] = genre;
+            lengths[doc] = length;
+            docTerms[doc] = freqs.keySet().toArray(new String[0]);
+            live.set(doc);
+            liveCount++;
+            totalLength += length;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+            }
+            docByMovie.put(movie.getMovieId(), doc);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a movie.
+     *
+     * @param movieId the ID of the movie
+     */
+    public void remove(String movieId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByMovie.remove(movieId);
+            if (doc != null) {
+                removeDoc(doc);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the movies matching any word of a query, best BM25 score first.
+     *
+     * @param query the query text
+     * @param genre the genre the movies must have, compared folded; null for any
+     * @param offset the number of hits to skip
+     * @param limit the maximum number of hits to return
+     * @return the page of hits and the total number of matching movies
+     */
+    public MovieSearchResult search(String query, String genre, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextFolding.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return MovieSearchResult.empty();
+        }
+        String genreFilter = genre == null ? null : TextFolding.fold(genre);
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return MovieSearchResult.empty();
+            }
+            float averageLength = Math.max(1f, (float) totalLength / liveCount);
+            float[] scores = new float[docCount];
+            int[] matches = new int[16];
+            int matchCount = 0;
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null || termPostings.live == 0) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveCount - termPostings.live + 0.5) / (termPostings.live + 0.5));
+                for (int i = 0; i < termPostings.size; i++) {
+                    int doc = termPostings.docs[i];
+                    if (!live.get(doc) || (genreFilter != null && !genreFilter.equals(genres[doc]))) {
+                        continue;
+                    }
+                    float freq = termPostings.freqs[i];
+                    float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    if (scores[doc] == 0) {
+                        if (matchCount == matches.length) {
+                            matches = Arrays.copyOf(matches, matchCount * 2);
+                        }
+                        matches[matchCount++] = doc;
+                    }
+                    scores[doc] += idf * freq * (K1 + 1) / (freq + norm);
+                }
+            }
+            return new MovieSearchResult(topHits(scores, matches, matchCount, offset, limit), matchCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Selects the hits of the page with a bounded min-heap instead of sorting every match
+    private List<String> topHits(float[] scores, int[] matches, int matchCount, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, matchCount);
+        if (offset >= wanted) {
+            return List.of();
+        }
+        int[] heap = new int[wanted];
+        int heapSize = 0;
+        for (int i = 0; i < matchCount; i++) {
+            int doc = matches[i];
+            if (heapSize < wanted) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksBefore(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+        // Pop worst first into the tail, leaving the heap contents sorted best first
+        int[] sorted = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        List<String> page = new ArrayList<>(sorted.length - offset);
+        for (int i = offset; i < sorted.length; i++) {
+            page.add(movieIds[sorted[i]]);
+        }
+        return page;
+    }
+
+    // Higher score first, then the earlier indexed document
+    private static boolean ranksBefore(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!ranksBefore(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksBefore(heap[worst], heap[left], scores)) {
+                worst = left;
+            }
+            if (right < size && ranksBefore(heap[worst], heap[right], scores)) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    private static void addField(Map<String, Integer> freqs, String text, int weight) {
+        for (String token : TextFolding.tokenize(text)) {
+            freqs.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void removeDoc(int doc) {
+        live.clear(doc);
+        liveCount--;
+        totalLength -= lengths[doc];
+        for (String term : docTerms[doc]) {
+            postings.get(term).live--;
+        }
+        docTerms[doc] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > movieIds.length) {
+            int newLength = Math.max(capacity, movieIds.length * 2);
+            movieIds = Arrays.copyOf(movieIds, newLength);
+            genres = Arrays.copyOf(genres, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+            docTerms = Arrays.copyOf(docTerms, newLength);
+        }
+    }
+
+    // Renumbers the live documents from 0 and drops dead postings
+    private void compactIfSparse() {
+        int dead = docCount - liveCount;
+        if (dead < MIN_COMPACT_DEAD || dead < liveCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next;
+                movieIds[next] = movieIds[doc];
+                genres[next] = genres[doc];
+                lengths[next] = lengths[doc];
+                docTerms[next] = docTerms[doc];
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        for (int doc = next; doc < docCount; doc++) {
+            movieIds[doc] = null;
+            genres[doc] = null;
+            docTerms[doc] = null;
+        }
+        for (Iterator<Postings> it = postings.values().iterator(); it.hasNext(); ) {
+            Postings termPostings = it.next();
+            termPostings.remap(remap);
+            if (termPostings.size == 0) {
+                it.remove();
+            }
+        }
+        live.clear();
+        live.set(0, next);
+        docCount = next;
+        docByMovie.clear();
+        for (int doc = 0; doc < docCount; doc++) {
+            docByMovie.put(movieIds[doc], doc);
+        }
+    }
+
+    // Documents of a term in increasing order with their weighted frequencies; dead documents stay until compaction
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        private int live;
+
+        private void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+
+        private void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.movietheater.moviemanagement.search;
+
+import java.util.List;
+
+/**
+ * One page of movie search hits, best match first, with the number of movies matching in total.
+ */
+public final class MovieSearchResult {
+    private static final MovieSearchResult EMPTY = new MovieSearchResult(List.of(), 0);
+
+    private final List<String> movieIds;
+    private final int total;
+
+    public MovieSearchResult(List<String> movieIds, int total) {
+        this.movieIds = List.copyOf(movieIds);
+        this.total = total;
+    }
+
+    public static MovieSearchResult empty() {
+        return EMPTY;
+    }
+
+    public List<String> getMovieIds() {
+        return movieIds;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
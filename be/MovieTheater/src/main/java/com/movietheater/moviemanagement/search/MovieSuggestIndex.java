@@ -0,0 +1,377 @@
+package com.movietheater.moviemanagement.search;
+
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix index for typeahead over movie titles, directors and actors, ranked by movie popularity.
+ * <p>
+ * Every title and every comma-separated name is an entry whose text is folded with {@link TextFolding}
+ * and its words joined by single spaces. The index is a sorted array of (entry, word offset) pairs packed
+ * in longs, one per word start, so "du k" finds "Tây Du Ký" by binary search without storing any suffix.
+ * A name shared by several movies is suggested once, ranked by its most popular movie.
+ * <p>
+ * Snapshots are immutable and swapped on change, so lookups take no lock. A change copies the arrays and
+ * merges the sorted pairs of the changed movies into the rest, instead of re-sorting the whole index.
+ */
+public final class MovieSuggestIndex {
+    public static final int MAX_LIMIT = 20;
+
+    private static final byte TITLE = 0;
+    private static final byte DIRECTOR = 1;
+    private static final byte ACTOR = 2;
+    private static final String[] TYPE_NAMES = {
+        MovieSuggestion.TYPE_TITLE, MovieSuggestion.TYPE_DIRECTOR, MovieSuggestion.TYPE_ACTOR};
+    private static final int OFFSET_BITS = 16;
+    private static final int MAX_TEXT_LENGTH = (1 << OFFSET_BITS) - 1;
+    // Prefixes matching more word starts than this are ranked once per snapshot, which bounds every lookup
+    private static final int MEMO_MIN_MATCHES = 256;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private Map<String, Long> popularity = Map.of();
+
+    /**
+     * Adds or replaces movies and removes others in one change.
+     *
+     * @param upserted the movies to add or replace
+     * @param removedMovieIds the IDs of the movies to remove
+     */
+    public synchronized void update(Collection<CatalogMovie> upserted, Collection<String> removedMovieIds) {
+        if (upserted.isEmpty() && removedMovieIds.isEmpty()) {
+            return;
+        }
+        Set<String> changed = new HashSet<>(removedMovieIds);
+        upserted.forEach(movie -> changed.add(movie.getMovieId()));
+        Snapshot current = snapshot;
+
+        Builder builder = new Builder(current.size() + upserted.size() * 4);
+        int[] remap = new int[current.size()];
+        for (int entry = 0; entry < current.size(); entry++) {
+            remap[entry] = changed.contains(current.movieIds[entry]) ? -1 : builder.copy(current, entry);
+        }
+        int firstNew = builder.size;
+        for (CatalogMovie movie : upserted) {
+            long moviePopularity = popularity.getOrDefault(movie.getMovieId(), 0L);
+            builder.add(TITLE, movie.getTitle(), movie.getMovieId(), moviePopularity);
+            for (String director : splitNames(movie.getDirector())) {
+                builder.add(DIRECTOR, director, movie.getMovieId(), moviePopularity);
+            }
+            for (String actor : splitNames(movie.getActors())) {
+                builder.add(ACTOR, actor, movie.getMovieId(), moviePopularity);
+            }
+        }
+
+        long[] kept = new long[current.keys.length];
+        int keptCount = 0;
+        for (long key : current.keys) {
+            int entry = remap[entry(key)];
+            if (entry >= 0) {
+                kept[keptCount++] = pack(entry, offset(key));
+            }
+        }
+        long[] added = builder.keys(firstNew);
+        snapshot = builder.build(merge(builder.folded, kept, keptCount, added));
+    }
+
+    /**
+     * Replaces the popularity of every movie; movies not in the map get zero.
+     *
+     * @param popularity the popularity by movie ID
+     */
+    public synchronized void setPopularity(Map<String, Long> popularity) {
+        this.popularity = Map.copyOf(popularity);
+        Snapshot current = snapshot;
+        long[] ranks = new long[current.size()];
+        for (int entry = 0; entry < ranks.length; entry++) {
+            ranks[entry] = this.popularity.getOrDefault(current.movieIds[entry], 0L);
+        }
+        snapshot = new Snapshot(current.types, current.texts, current.folded, current.movieIds, ranks, current.keys);
+    }
+
+    /**
+     * Returns the number of indexed titles and names, counting a name once per movie.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Suggests titles and names having a word that starts with the query, ignoring case and diacritics.
+     * Several query words must match consecutive words, the last one as a prefix.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions, at most {@link #MAX_LIMIT}
+     * @return the suggestions, most popular first
+     */
+    public List<MovieSuggestion> suggest(String query, int limit) {
+        String prefix = String.join(" ", TextFolding.tokenize(query));
+        int size = Math.min(limit, MAX_LIMIT);
+        if (prefix.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int from = current.lowerBound(prefix);
+        // Folded text never contains the largest char, so every match sorts before this bound
+        int to = current.lowerBound(prefix + Character.MAX_VALUE);
+        List<MovieSuggestion> suggestions;
+        if (to - from > MEMO_MIN_MATCHES) {
+            // The memo holds only prefixes with many matches, which bounds its size by the data
+            suggestions = current.memo.computeIfAbsent(prefix, key -> current.suggest(from, to, MAX_LIMIT));
+        } else {
+            suggestions = current.suggest(from, to, MAX_LIMIT);
+        }
+        return suggestions.size() <= size ? suggestions : suggestions.subList(0, size);
+    }
+
+    private static List<String> splitNames(String names) {
+        if (names == null || names.isBlank()) {
+            return List.of();
+        }
+        List<String> split = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (!name.isBlank()) {
+                split.add(name.trim());
+            }
+        }
+        return split;
+    }
+
+    // The changed movies are few, so each of their pairs is placed by binary search and the rest copied in runs
+    private static long[] merge(String[] folded, long[] kept, int keptCount, long[] added) {
+        long[] merged = new long[keptCount + added.length];
+        int k = 0;
+        int m = 0;
+        for (long key : added) {
+            int low = k;
+            int high = keptCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareKeys(folded, kept[mid], key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(kept, k, merged, m, low - k);
+            m += low - k;
+            k = low;
+            merged[m++] = key;
+        }
+        System.arraycopy(kept, k, merged, m, keptCount - k);
+        return merged;
+    }
+
+    private static int compareKeys(String[] folded, long left, long right) {
+        String leftText = folded[entry(left)];
+        String rightText = folded[entry(right)];
+        int leftOffset = offset(left);
+        int rightOffset = offset(right);
+        int length = Math.min(leftText.length() - leftOffset, rightText.length() - rightOffset);
+        for (int i = 0; i < length; i++) {
+            int diff = leftText.charAt(leftOffset + i) - rightText.charAt(rightOffset + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (leftText.length() - leftOffset) - (rightText.length() - rightOffset);
+    }
+
+    private static long pack(int entry, int offset) {
+        return ((long) entry << OFFSET_BITS) | offset;
+    }
+
+    private static int entry(long key) {
+        return (int) (key >>> OFFSET_BITS);
+    }
+
+    private static int offset(long key) {
+        return (int) (key & MAX_TEXT_LENGTH);
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new byte[0], new String[0], new String[0], new String[0],
+            new long[0], new long[0]);
+
+        final byte[] types;
+        final String[] texts;
+        final String[] folded;
+        final String[] movieIds;
+        final long[] popularity;
+        final long[] keys;
+        final Map<String, List<MovieSuggestion>> memo = new ConcurrentHashMap<>();
+
+        Snapshot(byte[] types, String[] texts, String[] folded, String[] movieIds, long[] popularity, long[] keys) {
+            this.types = types;
+            this.texts = texts;
+            this.folded = folded;
+            this.movieIds = movieIds;
+            this.popularity = popularity;
+            this.keys = keys;
+        }
+
+        int size() {
+            return types.length;
+        }
+
+        List<MovieSuggestion> suggest(int from, int to, int limit) {
+            // Best entries so far, best first; a name already present is only replaced by a better entry
+            int[] best = new int[limit];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int entry = entry(keys[i]);
+                if (count == limit && !better(entry, best[count - 1])) {
+                    continue;
+                }
+                int slot = count;
+                for (int j = 0; j < count; j++) {
+                    if (types[best[j]] == types[entry] && folded[best[j]].equals(folded[entry])
+                        && (types[entry] != TITLE || movieIds[best[j]].equals(movieIds[entry]))) {
+                        slot = better(entry, best[j]) ? j : -1;
+                        break;
+                    }
+                }
+                if (slot < 0) {
+                    continue;
+                }
+                if (slot == count) {
+                    slot = count == limit ? count - 1 : count++;
+                }
+                while (slot > 0 && better(entry, best[slot - 1])) {
+                    best[slot] = best[slot - 1];
+                    slot--;
+                }
+                best[slot] = entry;
+            }
+            List<MovieSuggestion> suggestions = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                int entry = best[j];
+                suggestions.add(new MovieSuggestion(TYPE_NAMES[types[entry]], texts[entry],
+                    types[entry] == TITLE ? movieIds[entry] : null, popularity[entry]));
+            }
+            return suggestions;
+        }
+
+        // More popular first, then titles before names, then shorter and alphabetical text
+        private boolean better(int entry, int other) {
+            if (popularity[entry] != popularity[other]) {
+                return popularity[entry] > popularity[other];
+            }
+            if (types[entry] != types[other]) {
+                return types[entry] < types[other];
+            }
+            if (folded[entry].length() != folded[other].length()) {
+                return folded[entry].length() < folded[other].length();
+            }
+            return folded[entry].compareTo(folded[other]) < 0;
+        }
+
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareSuffix(keys[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int compareSuffix(long key, String prefix) {
+            String text = folded[entry(key)];
+            int offset = offset(key);
+            int length = Math.min(text.length() - offset, prefix.length());
+            for (int i = 0; i < length; i++) {
+                int diff = text.charAt(offset + i) - prefix.charAt(i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return (text.length() - offset) - prefix.length();
+        }
+    }
+
+    private static final class Builder {
+        byte[] types;
+        String[] texts;
+        String[] folded;
+        String[] movieIds;
+        long[] popularity;
+        int size;
+
+        Builder(int capacity) {
+            int initial = Math.max(capacity, 16);
+            types = new byte[initial];
+            texts = new String[initial];
+            folded = new String[initial];
+            movieIds = new String[initial];
+            popularity = new long[initial];
+        }
+
+        int copy(Snapshot source, int entry) {
+            return append(source.types[entry], source.texts[entry], source.folded[entry],
+                source.movieIds[entry], source.popularity[entry]);
+        }
+
+        void add(byte type, String text, String movieId, long rank) {
+            String normalized = String.join(" ", TextFolding.tokenize(text));
+            if (normalized.isEmpty() || normalized.length() > MAX_TEXT_LENGTH) {
+                return;
+            }
+            append(type, text.trim(), normalized, movieId, rank);
+        }
+
+        // Sorted (entry, word offset) pairs of the entries from the given one on
+        long[] keys(int from) {
+            List<Long> keys = new ArrayList<>();
+            for (int entry = from; entry < size; entry++) {
+                String text = folded[entry];
+                for (int offset = 0; offset < text.length(); offset++) {
+                    if (offset == 0 || text.charAt(offset - 1) == ' ') {
+                        keys.add(pack(entry, offset));
+                    }
+                }
+            }
+            keys.sort((left, right) -> compareKeys(folded, left, right));
+            long[] sorted = new long[keys.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = keys.get(i);
+            }
+            return sorted;
+        }
+
+        Snapshot build(long[] keys) {
+            return new Snapshot(Arrays.copyOf(types, size), Arrays.copyOf(texts, size), Arrays.copyOf(folded, size),
+                Arrays.copyOf(movieIds, size), Arrays.copyOf(popularity, size), keys);
+        }
+
+        private int append(byte type, String text, String foldedText, String movieId, long rank) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+                folded = Arrays.copyOf(folded, capacity);
+                movieIds = Arrays.copyOf(movieIds, capacity);
+                popularity = Arrays.copyOf(popularity, capacity);
+            }
+            types[size] = type;
+            texts[size] = text;
+            folded[size] = foldedText;
+            movieIds[size] = movieId;
+            popularity[size] = rank;
+            return size++;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.movietheater.moviemanagement.search;
+
+/**
+ * One typeahead suggestion: a movie title, a director or an actor, with the popularity it was ranked by.
+ */
+public final class MovieSuggestion {
+    public static final String TYPE_TITLE = "TITLE";
+    public static final String TYPE_DIRECTOR = "DIRECTOR";
+    public static final String TYPE_ACTOR = "ACTOR";
+
+    private final String type;
+    private final String text;
+    private final String movieId;
+    private final long popularity;
+
+    public MovieSuggestion(String type, String text, String movieId, long popularity) {
+        this.type = type;
+        this.text = text;
+        this.movieId = movieId;
+        this.popularity = popularity;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the movie of a title suggestion; people are suggested by name only.
+     *
+     * @return the movie ID, or null for directors and actors
+     */
+    public String getMovieId() {
+        return movieId;
+    }
+
+    public long getPopularity() {
+        return popularity;
+    }
+}
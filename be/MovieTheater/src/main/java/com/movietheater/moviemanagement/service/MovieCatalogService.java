@@ -0,0 +1,38 @@
+package com.movietheater.moviemanagement.service;
+
+import com.movietheater.entity.Movie;
+import com.movietheater.moviemanagement.catalog.MovieCatalog;
+
+/**
+ * Holds the current {@link MovieCatalog} snapshot in memory, so that catalog reads never query the database.
+ * Changes made on this node are applied copy-on-write once they commit; changes made by other nodes are
+ * picked up by a periodic reload.
+ */
+public interface MovieCatalogService {
+    /**
+     * Returns the current snapshot, loading it on first access.
+     *
+     * @return the catalog snapshot
+     */
+    MovieCatalog getCatalog();
+
+    /**
+     * Adds or replaces a movie in the catalog once the current transaction commits.
+     * The movie is copied immediately, so its media must be loaded.
+     *
+     * @param movie the saved movie
+     */
+    void put(Movie movie);
+
+    /**
+     * Removes a movie from the catalog once the current transaction commits.
+     *
+     * @param movieId the ID of the deleted movie
+     */
+    void remove(String movieId);
+
+    /**
+     * Reloads the whole catalog from the database and swaps it in, unless a change was applied meanwhile.
+     */
+    void refresh();
+}
@@ -0,0 +1,19 @@
+package com.movietheater.moviemanagement.service;
+
+import com.movietheater.moviemanagement.search.MovieSearchResult;
+
+/**
+ * Full-text search over the movie catalog, kept up to date from catalog changes.
+ */
+public interface MovieSearchService {
+    /**
+     * Searches movies by title, director, actors, genre and description, ignoring case and diacritics.
+     *
+     * @param query the words to search for
+     * @param genre the genre the movies must have, or null
+     * @param offset the number of hits to skip
+     * @param limit the maximum number of hits to return
+     * @return the IDs of the hits, best match first, and the total number of matches
+     */
+    MovieSearchResult search(String query, String genre, int offset, int limit);
+}
@@ -2,6 +2,7 @@ package com.movietheater.moviemanagement.service;
 
 import com.movietheater.moviemanagement.dto.request.MovieCreateRequest;
 import com.movietheater.moviemanagement.dto.request.MovieUpdateRequest;
+import com.movietheater.moviemanagement.dto.response.MovieCursorPageResponse;
 import com.movietheater.moviemanagement.dto.response.MovieResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +34,31 @@ public interface MovieService {
      */
     Page<MovieResponse> getMovies(String title, String genre, String releaseDate, Pageable pageable);
 
+    /**
+     * Retrieves movies with optional filters by seek pagination, newest release first and undated movies last.
+     * Unlike page numbers, the cost of a page does not grow with its depth.
+     *
+     * @param title the movie title to filter by (optional)
+     * @param genre the genre to filter by (optional)
+     * @param releaseDate the release date to filter by (optional, format: YYYY-MM-DD)
+     * @param cursor the cursor returned with the previous page, or null or empty for the first page
+     * @param size the maximum number of movies
+     * @return the page of movie responses and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    MovieCursorPageResponse getMoviesAfter(String title, String genre, String releaseDate, String cursor, int size);
+
+    /**
+     * Searches movies by title, director, actors, genre and description, best match first.
+     * Matching ignores case and Vietnamese diacritics.
+     *
+     * @param query the words to search for
+     * @param genre the genre to filter by (optional)
+     * @param pageable pagination information
+     * @return a page of movie responses
+     */
+    Page<MovieResponse> searchMovies(String query, String genre, Pageable pageable);
+
     /**
      * Creates a new movie.
      *
@@ -0,0 +1,24 @@
+package com.movietheater.moviemanagement.service;
+
+import com.movietheater.moviemanagement.search.MovieSuggestion;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions of movie titles, directors and actors, kept up to date from catalog changes.
+ */
+public interface MovieSuggestService {
+    /**
+     * Suggests titles and names having a word that starts with the query, ignoring case and diacritics.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, most booked movies first
+     */
+    List<MovieSuggestion> suggest(String query, int limit);
+
+    /**
+     * Reloads the number of bookings of every movie, which ranks the suggestions.
+     */
+    void refreshPopularity();
+}
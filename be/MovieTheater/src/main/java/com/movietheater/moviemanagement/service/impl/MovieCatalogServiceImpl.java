@@ -0,0 +1,121 @@
+package com.movietheater.moviemanagement.service.impl;
+
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
+import com.movietheater.moviemanagement.catalog.MovieCatalog;
+import com.movietheater.moviemanagement.event.MovieCatalogChangedEvent;
+import com.movietheater.moviemanagement.service.MovieCatalogService;
+import com.movietheater.entity.Movie;
+import com.movietheater.repository.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the movie catalog holder on an atomically swapped immutable snapshot.
+ * Every swap publishes a {@link MovieCatalogChangedEvent} with the movies it changed.
+ */
+@Service
+public class MovieCatalogServiceImpl implements MovieCatalogService {
+    private static final Logger logger = LoggerFactory.getLogger(MovieCatalogServiceImpl.class);
+
+    private final MovieRepository movieRepository;
+    private final TransactionTemplate readTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<MovieCatalog> snapshot = new AtomicReference<>();
+    private final Object swapLock = new Object();
+
+    public MovieCatalogServiceImpl(MovieRepository movieRepository, ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public MovieCatalog getCatalog() {
+        MovieCatalog catalog = snapshot.get();
+        if (catalog == null) {
+            refresh();
+            catalog = snapshot.get();
+        }
+        return catalog;
+    }
+
+    @Override
+    public void put(Movie movie) {
+        CatalogMovie copy = CatalogMovie.of(movie);
+        afterCommit(() -> swap(catalog -> catalog.withMovie(copy), List.of(copy), List.of()));
+    }
+
+    @Override
+    public void remove(String movieId) {
+        afterCommit(() -> swap(catalog -> catalog.withoutMovie(movieId), List.of(), List.of(movieId)));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${movie-catalog.refresh-millis:60000}", fixedDelayString = "${movie-catalog.refresh-millis:60000}")
+    public void refresh() {
+        MovieCatalog current = snapshot.get();
+        MovieCatalog loaded = readTransaction.execute(status -> MovieCatalog.of(movieRepository.findAllWithPosters().stream()
+            .map(CatalogMovie::of)
+            .collect(Collectors.toList())));
+        synchronized (swapLock) {
+            // A change applied during the load may be missing from it; keep the changed snapshot until the next reload
+            if (snapshot.get() != current) {
+                return;
+            }
+            MovieCatalog previous = current == null ? MovieCatalog.empty() : current;
+            snapshot.set(loaded);
+            publish(loaded.changedSince(previous), loaded.removedSince(previous));
+        }
+        logger.debug("Movie catalog reloaded with {} movies", loaded.size());
+    }
+
+    // Swaps are serialized so that listeners see the changes in snapshot order; readers never take the lock
+    private void swap(UnaryOperator<MovieCatalog> change, List<CatalogMovie> upserted, List<String> removed) {
+        synchronized (swapLock) {
+            MovieCatalog catalog = snapshot.get();
+            // Before the first load there is nothing to change; the load will read the committed state
+            if (catalog == null) {
+                return;
+            }
+            snapshot.set(change.apply(catalog));
+            publish(upserted, removed);
+        }
+    }
+
+    private void publish(List<CatalogMovie> upserted, List<String> removed) {
+        if (!upserted.isEmpty() || !removed.isEmpty()) {
+            eventPublisher.publishEvent(new MovieCatalogChangedEvent(upserted, removed));
+        }
+    }
+
+    // Rolled back changes never reach the snapshot
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.movietheater.moviemanagement.service.impl;
+
+import com.movietheater.moviemanagement.event.MovieCatalogChangedEvent;
+import com.movietheater.moviemanagement.search.MovieSearchIndex;
+import com.movietheater.moviemanagement.search.MovieSearchResult;
+import com.movietheater.moviemanagement.service.MovieCatalogService;
+import com.movietheater.moviemanagement.service.MovieSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of movie search on a {@link MovieSearchIndex} updated incrementally from catalog changes.
+ */
+@Service
+public class MovieSearchServiceImpl implements MovieSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(MovieSearchServiceImpl.class);
+
+    private final MovieCatalogService movieCatalogService;
+    private final MovieSearchIndex index = new MovieSearchIndex();
+
+    public MovieSearchServiceImpl(MovieCatalogService movieCatalogService) {
+        this.movieCatalogService = movieCatalogService;
+    }
+
+    @Override
+    public MovieSearchResult search(String query, String genre, int offset, int limit) {
+        // The first catalog load publishes every movie, which fills the index
+        movieCatalogService.getCatalog();
+        return index.search(query, genre, offset, limit);
+    }
+
+    @EventListener
+    public void onCatalogChanged(MovieCatalogChangedEvent event) {
+        event.getRemovedMovieIds().forEach(index::remove);
+        event.getUpserted().forEach(index::put);
+        logger.debug("Search index updated: {} upserted, {} removed, {} indexed",
+            event.getUpserted().size(), event.getRemovedMovieIds().size(), index.size());
+    }
+}
@@ -2,24 +2,42 @@ package com.movietheater.moviemanagement.service.impl;
 
 import com.movietheater.moviemanagement.dto.request.MovieCreateRequest;
 import com.movietheater.moviemanagement.dto.request.MovieUpdateRequest;
+import com.movietheater.moviemanagement.dto.response.MovieCursorPageResponse;
 import com.movietheater.moviemanagement.dto.response.MovieResponse;
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
+import com.movietheater.moviemanagement.catalog.MovieCatalog;
+import com.movietheater.moviemanagement.search.MovieSearchResult;
 import com.movietheater.entity.Movie;
 import com.movietheater.entity.MovieMedia;
 import com.movietheater.repository.MovieRepository;
 import com.movietheater.repository.MovieMediaRepository;
+import com.movietheater.repository.MovieSpecifications;
+import com.movietheater.moviemanagement.service.MovieCatalogService;
+import com.movietheater.moviemanagement.service.MovieSearchService;
 import com.movietheater.moviemanagement.service.MovieService;
 import com.movietheater.common.constant.CommonConst;
+import com.movietheater.common.enumeration.IdSequence;
 import com.movietheater.common.exception.ResourceNotFoundException;
+import com.movietheater.common.service.IdAllocationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -28,39 +46,32 @@ import java.util.stream.Collectors;
 @Service
 public class MovieServiceImpl implements MovieService {
     private static final Logger logger = LoggerFactory.getLogger(MovieServiceImpl.class);
+    private static final String MOVIE_ID = "movieId";
+    private static final Sort DATED_ORDER = Sort.by(Sort.Direction.DESC, "releaseDate", MOVIE_ID);
+    private static final Sort UNDATED_ORDER = Sort.by(Sort.Direction.DESC, MOVIE_ID);
     private final MovieRepository movieRepository;
     private final MovieMediaRepository movieMediaRepository;
+    private final IdAllocationService idAllocationService;
+    private final MovieCatalogService movieCatalogService;
+    private final MovieSearchService movieSearchService;
 
-    public MovieServiceImpl(MovieRepository movieRepository, MovieMediaRepository movieMediaRepository) {
+    public MovieServiceImpl(MovieRepository movieRepository, MovieMediaRepository movieMediaRepository,
+                            IdAllocationService idAllocationService, MovieCatalogService movieCatalogService,
+                            MovieSearchService movieSearchService) {
         this.movieRepository = movieRepository;
         this.movieMediaRepository = movieMediaRepository;
-    }
-
-    private String generateNextId(String prefix, String currentMax) {
-        if (currentMax == null || currentMax.isEmpty()) {
-            return prefix + "001";
-        }
-        int number = Integer.parseInt(currentMax.replace(prefix, ""));
-        number++;
-        return String.format("%s%03d", prefix, number);
+        this.idAllocationService = idAllocationService;
+        this.movieCatalogService = movieCatalogService;
+        this.movieSearchService = movieSearchService;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
     public List<MovieResponse> getAllMovies(String title, String genre, String releaseDate) {
-        // Lấy tất cả phim không phân trang
-        List<Movie> allMovies = movieRepository.findAllWithPosters();
-        return allMovies.stream()
-            .filter(m -> title == null || m.getTitle().toLowerCase().contains(title.toLowerCase()))
-            .filter(m -> genre == null || (m.getGenre() != null && m.getGenre().toLowerCase().contains(genre.toLowerCase())))
-            .filter(m -> {
-                if (releaseDate == null) return true;
-                if (m.getReleaseDate() == null) return false;
-                return m.getReleaseDate().toString().equals(releaseDate);
-            })
+        // Lấy tất cả phim không phân trang, từ catalog trong bộ nhớ
+        return movieCatalogService.getCatalog().filter(title, genre, releaseDate).stream()
             .map(this::toResponse)
             .collect(Collectors.toList());
     }
@@ -71,23 +82,70 @@ public class MovieServiceImpl implements MovieService {
     @Override
     @Transactional(readOnly = true)
     public Page<MovieResponse> getMovies(String title, String genre, String releaseDate, Pageable pageable) {
-        // Hiện tại MovieRepository chưa có phương thức phân trang, nên sẽ lấy toàn bộ rồi phân trang thủ công
-        List<Movie> allMovies = movieRepository.findAllWithPosters();
-        List<Movie> filtered = allMovies.stream()
-            .filter(m -> title == null || m.getTitle().toLowerCase().contains(title.toLowerCase()))
-            .filter(m -> genre == null || (m.getGenre() != null && m.getGenre().toLowerCase().contains(genre.toLowerCase())))
-            .filter(m -> {
-                if (releaseDate == null) return true;
-                if (m.getReleaseDate() == null) return false;
-                return m.getReleaseDate().toString().equals(releaseDate);
-            })
+        Optional<Specification<Movie>> filter = toFilter(title, genre, releaseDate);
+        if (filter.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        // Lọc và phân trang trong database; mã phim phân định thứ tự để không phim nào xuất hiện ở hai trang
+        Sort sort = pageable.getSort().getOrderFor(MOVIE_ID) != null
+            ? pageable.getSort() : pageable.getSort().and(Sort.by(Sort.Direction.DESC, MOVIE_ID));
+        Page<Movie> page = movieRepository.findAll(filter.get(),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+        Map<String, String> posters = findPosters(page.getContent());
+        return page.map(movie -> toResponse(CatalogMovie.of(movie, posters.get(movie.getMovieId()))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MovieCursorPageResponse getMoviesAfter(String title, String genre, String releaseDate, String cursor, int size) {
+        Optional<Specification<Movie>> filter = toFilter(title, genre, releaseDate);
+        if (filter.isEmpty()) {
+            return new MovieCursorPageResponse(List.of(), size, null);
+        }
+        MovieCursor after = MovieCursor.decode(cursor);
+        // One more row than asked tells whether a next page exists
+        int limit = size + 1;
+        List<Movie> movies = new ArrayList<>(limit);
+        if (after == null || after.releaseDate != null) {
+            Specification<Movie> dated = filter.get().and(after == null
+                ? MovieSpecifications.releasedBefore(null, null)
+                : MovieSpecifications.releasedBefore(after.releaseDate, after.movieId));
+            movies.addAll(movieRepository.findBy(dated, query -> query.sortBy(DATED_ORDER).limit(limit).all()));
+        }
+        if (movies.size() < limit) {
+            // Phim chưa có ngày khởi chiếu nằm cuối danh sách
+            int remaining = limit - movies.size();
+            Specification<Movie> undated = filter.get().and(MovieSpecifications.undatedBefore(
+                after == null || after.releaseDate != null ? null : after.movieId));
+            movies.addAll(movieRepository.findBy(undated, query -> query.sortBy(UNDATED_ORDER).limit(remaining).all()));
+        }
+        boolean hasNext = movies.size() > size;
+        List<Movie> pageMovies = hasNext ? movies.subList(0, size) : movies;
+        Map<String, String> posters = findPosters(pageMovies);
+        List<MovieResponse> content = pageMovies.stream()
+            .map(movie -> toResponse(CatalogMovie.of(movie, posters.get(movie.getMovieId()))))
             .collect(Collectors.toList());
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filtered.size());
-        List<MovieResponse> content = filtered.subList(start, end).stream()
+        String nextCursor = hasNext ? MovieCursor.encode(pageMovies.get(pageMovies.size() - 1)) : null;
+        return new MovieCursorPageResponse(content, size, nextCursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<MovieResponse> searchMovies(String query, String genre, Pageable pageable) {
+        MovieSearchResult result = movieSearchService.search(query, genre, (int) pageable.getOffset(), pageable.getPageSize());
+        MovieCatalog catalog = movieCatalogService.getCatalog();
+        // Phim vừa bị xóa có thể vẫn còn trong kết quả tìm kiếm
+        List<MovieResponse> content = result.getMovieIds().stream()
+            .map(catalog::find)
+            .flatMap(Optional::stream)
             .map(this::toResponse)
             .collect(Collectors.toList());
-        return new PageImpl<>(content, pageable, filtered.size());
+        return new PageImpl<>(content, pageable, result.getTotal());
     }
 
     /**
@@ -96,8 +154,7 @@ public class MovieServiceImpl implements MovieService {
     @Override
     @Transactional
     public MovieResponse createMovie(MovieCreateRequest request) {
-        String maxMovieId = movieRepository.findMaxMovieId();
-        String newMovieId = generateNextId("M", maxMovieId);
+        String newMovieId = idAllocationService.nextId(IdSequence.MOVIE);
         Movie movie = new Movie();
         movie.setMovieId(newMovieId);
         movie.setTitle(request.getTitle());
@@ -114,8 +171,7 @@ public class MovieServiceImpl implements MovieService {
         movie.setRated(request.getRated());
         // Xử lý poster
         if (request.getPosterUrl() != null && !request.getPosterUrl().isEmpty()) {
-            String maxMediaId = movieMediaRepository.findMaxMediaId();
-            String newMediaId = generateNextId("MM", maxMediaId);
+            String newMediaId = idAllocationService.nextId(IdSequence.MOVIE_MEDIA);
             MovieMedia media = new MovieMedia();
             media.setMediaId(newMediaId);
             media.setMovie(movie);
@@ -125,7 +181,8 @@ public class MovieServiceImpl implements MovieService {
             movie.setMovieMedia(List.of(media));
         }
         Movie savedMovie = movieRepository.save(movie);
-        return toResponse(savedMovie);
+        movieCatalogService.put(savedMovie);
+        return toResponse(CatalogMovie.of(savedMovie));
     }
 
     /**
@@ -156,8 +213,7 @@ public class MovieServiceImpl implements MovieService {
                     existingMedia.setMediaUrl(request.getPosterUrl());
                     existingMedia.setDescription("Updated poster for " + movie.getTitle());
                 } else {
-                    String maxMediaId = movieMediaRepository.findMaxMediaId();
-                    String newMediaId = generateNextId("MM", maxMediaId);
+                    String newMediaId = idAllocationService.nextId(IdSequence.MOVIE_MEDIA);
                     MovieMedia newMedia = new MovieMedia();
                     newMedia.setMediaId(newMediaId);
                     newMedia.setMovie(movie);
@@ -171,7 +227,8 @@ public class MovieServiceImpl implements MovieService {
             }
         }
         Movie updatedMovie = movieRepository.save(movie);
-        return toResponse(updatedMovie);
+        movieCatalogService.put(updatedMovie);
+        return toResponse(CatalogMovie.of(updatedMovie));
     }
 
     /**
@@ -183,15 +240,51 @@ public class MovieServiceImpl implements MovieService {
         Movie movie = movieRepository.findById(movieId)
             .orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + movieId));
         movieRepository.delete(movie);
+        movieCatalogService.remove(movieId);
     }
 
     /**
-     * Chuyển đổi Movie entity sang MovieResponse DTO.
+     * Builds the list filter; an unparsable release date matches no movie.
      *
-     * @param movie the movie entity
+     * @return the filter, or empty if nothing can match
+     */
+    private Optional<Specification<Movie>> toFilter(String title, String genre, String releaseDate) {
+        LocalDate date = null;
+        if (releaseDate != null) {
+            try {
+                date = LocalDate.parse(releaseDate);
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(MovieSpecifications.matching(title, genre, date));
+    }
+
+    /**
+     * Tìm poster của một trang phim bằng một truy vấn; poster là ảnh đầu tiên của phim.
+     *
+     * @param movies the movies of the page
+     * @return the poster URL by movie ID, without movies that have none
+     */
+    private Map<String, String> findPosters(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return Map.of();
+        }
+        List<String> movieIds = movies.stream().map(Movie::getMovieId).collect(Collectors.toList());
+        Map<String, String> posters = new HashMap<>();
+        for (Object[] row : movieMediaRepository.findUrlsByMovieIds(movieIds, CommonConst.MEDIA_TYPE_IMAGE)) {
+            posters.putIfAbsent((String) row[0], (String) row[1]);
+        }
+        return posters;
+    }
+
+    /**
+     * Chuyển đổi CatalogMovie sang MovieResponse DTO.
+     *
+     * @param movie the catalog movie
      * @return the movie response DTO
      */
-    private MovieResponse toResponse(Movie movie) {
+    private MovieResponse toResponse(CatalogMovie movie) {
         MovieResponse dto = new MovieResponse();
         dto.setMovieId(movie.getMovieId());
         dto.setTitle(movie.getTitle());
@@ -204,19 +297,49 @@ public class MovieServiceImpl implements MovieService {
         dto.setDuration(movie.getDuration());
         dto.setLanguage(movie.getLanguage());
         dto.setRated(movie.getRated());
-        // Lấy poster
-        if (movie.getMovieMedia() != null && !movie.getMovieMedia().isEmpty()) {
-            MovieMedia posterMedia = movie.getMovieMedia().stream()
-                .filter(media -> CommonConst.MEDIA_TYPE_IMAGE.equals(media.getMediaType()) && media.getMediaUrl() != null)
-                .findFirst().orElse(null);
-            if (posterMedia != null) {
-                dto.setPosterUrl(posterMedia.getMediaUrl());
-            }
-        }
+        dto.setPosterUrl(movie.getPosterUrl());
         // Các trường mở rộng (nếu có)
         dto.setRatingLabel(null);
         dto.setRanking(null);
         dto.setLikes(null);
         return dto;
     }
-}
\ No newline at end of file
+
+    /**
+     * Position in the movie list: the release date and ID of the last movie of a page, encoded URL-safe.
+     */
+    private static final class MovieCursor {
+        private static final String SEPARATOR = "|";
+
+        private final LocalDate releaseDate;
+        private final String movieId;
+
+        private MovieCursor(LocalDate releaseDate, String movieId) {
+            this.releaseDate = releaseDate;
+            this.movieId = movieId;
+        }
+
+        static String encode(Movie movie) {
+            String date = movie.getReleaseDate() == null ? "" : movie.getReleaseDate().toString();
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((date + SEPARATOR + movie.getMovieId()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static MovieCursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(SEPARATOR);
+                if (separator < 0 || separator == decoded.length() - 1) {
+                    throw new IllegalArgumentException("Invalid cursor: " + cursor);
+                }
+                LocalDate date = separator == 0 ? null : LocalDate.parse(decoded.substring(0, separator));
+                return new MovieCursor(date, decoded.substring(separator + 1));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+}
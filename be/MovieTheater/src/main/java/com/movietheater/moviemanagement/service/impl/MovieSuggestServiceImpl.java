@@ -0,0 +1,68 @@
+package com.movietheater.moviemanagement.service.impl;
+
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.moviemanagement.event.MovieCatalogChangedEvent;
+import com.movietheater.moviemanagement.search.MovieSuggestIndex;
+import com.movietheater.moviemanagement.search.MovieSuggestion;
+import com.movietheater.moviemanagement.service.MovieCatalogService;
+import com.movietheater.moviemanagement.service.MovieSuggestService;
+import com.movietheater.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of movie typeahead on a {@link MovieSuggestIndex} updated incrementally from catalog changes.
+ * Popularity is the number of pending and paid bookings of a movie, reloaded on a fixed delay.
+ */
+@Service
+public class MovieSuggestServiceImpl implements MovieSuggestService {
+    private static final Logger logger = LoggerFactory.getLogger(MovieSuggestServiceImpl.class);
+    private static final List<String> POPULAR_STATUSES = List.of(
+        CommonConst.BOOKING_STATUS_PENDING, CommonConst.BOOKING_STATUS_PAID);
+
+    private final MovieCatalogService movieCatalogService;
+    private final BookingRepository bookingRepository;
+    private final MovieSuggestIndex index = new MovieSuggestIndex();
+
+    public MovieSuggestServiceImpl(MovieCatalogService movieCatalogService, BookingRepository bookingRepository) {
+        this.movieCatalogService = movieCatalogService;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Override
+    public List<MovieSuggestion> suggest(String query, int limit) {
+        // The first catalog load publishes every movie, which fills the index
+        movieCatalogService.getCatalog();
+        return index.suggest(query, limit);
+    }
+
+    @Override
+    @Scheduled(initialDelay = 0, fixedDelayString = "${movie-suggest.popularity-refresh-millis:300000}")
+    public void refreshPopularity() {
+        try {
+            Map<String, Long> popularity = new HashMap<>();
+            for (Object[] row : bookingRepository.countByMovie(POPULAR_STATUSES)) {
+                popularity.put((String) row[0], ((Number) row[1]).longValue());
+            }
+            index.setPopularity(popularity);
+            logger.debug("Suggestion popularity reloaded for {} movies", popularity.size());
+        } catch (Exception e) {
+            // Suggestions keep their previous ranking until the next reload
+            logger.warn("Failed to reload suggestion popularity: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(MovieCatalogChangedEvent event) {
+        index.update(event.getUpserted(), event.getRemovedMovieIds());
+        logger.debug("Suggestion index updated: {} upserted, {} removed, {} entries",
+            event.getUpserted().size(), event.getRemovedMovieIds().size(), index.size());
+    }
+}
@@ -1,5 +1,7 @@
 package com.movietheater.promotion.service.impl;
 
+import com.movietheater.common.enumeration.IdSequence;
+import com.movietheater.common.service.IdAllocationService;
 import com.movietheater.promotion.dto.PromotionDTO;
 import com.movietheater.entity.Promotion;
 import com.movietheater.repository.PromotionRepository;
@@ -15,10 +17,12 @@ import org.springframework.dao.DataIntegrityViolationException;
 public class PromotionServiceImpl implements PromotionService {
 
     private final PromotionRepository promotionRepository;
+    private final IdAllocationService idAllocationService;
 
     @Autowired
-    public PromotionServiceImpl(PromotionRepository promotionRepository) {
+    public PromotionServiceImpl(PromotionRepository promotionRepository, IdAllocationService idAllocationService) {
         this.promotionRepository = promotionRepository;
+        this.idAllocationService = idAllocationService;
     }
 
     @Override
@@ -35,13 +39,7 @@ public class PromotionServiceImpl implements PromotionService {
     @Override
     public Promotion addPromotion(PromotionDTO dto) {
         Promotion promotion = new Promotion();
-        String maxId = promotionRepository.findMaxPromotionId();
-        String newId = "PR001";
-        if (maxId != null && maxId.matches("PR\\d{3}")) {
-            int num = Integer.parseInt(maxId.substring(2));
-            newId = String.format("PR%03d", num + 1);
-        }
-        promotion.setId(newId);
+        promotion.setId(idAllocationService.nextId(IdSequence.PROMOTION));
         promotion.setTitle(dto.getTitle());
         promotion.setStartTime(dto.getStartTime());
         promotion.setEndTime(dto.getEndTime());
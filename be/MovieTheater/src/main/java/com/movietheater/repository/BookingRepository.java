@@ -2,6 +2,13 @@ package com.movietheater.repository;
 
 import com.movietheater.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, String> {
@@ -9,4 +16,114 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     void deleteByScheduleId(String scheduleId);
     List<Booking> findByOrderId(String orderId);
     long countByStatus(String status);
-}
\ No newline at end of file
+    boolean existsByUserIdAndScheduleIdAndSeatIdInAndStatusIn(Long userId, String scheduleId,
+                                                              Collection<String> seatIds, Collection<String> statuses);
+
+    /**
+     * Counts the bookings of every movie that has any, over all of its showtimes.
+     *
+     * @param statuses the booking statuses to count
+     * @return rows of {@code [movie_id, count]}
+     */
+    @Query("SELECT s.movieId, COUNT(b) FROM Booking b, Schedule s " +
+           "WHERE s.scheduleId = b.scheduleId AND b.status IN :statuses GROUP BY s.movieId")
+    List<Object[]> countByMovie(@Param("statuses") Collection<String> statuses);
+
+    /**
+     * Expires up to {@code limit} bookings whose payment deadline has passed.
+     * Rows locked by another transaction are skipped, so several nodes can sweep concurrently
+     * without processing the same booking twice.
+     *
+     * @param now the current time
+     * @param limit the maximum number of bookings to expire
+     * @param expiredStatus the status to set
+     * @return rows of {@code [booking_id, schedule_id, seat_id]} for the expired bookings
+     */
+    @Transactional
+    @Query(value = "UPDATE bookings SET status = :expiredStatus, expires_at = NULL " +
+                   "WHERE booking_id IN (SELECT booking_id FROM bookings WHERE expires_at <= :now " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING booking_id, schedule_id, seat_id", nativeQuery = true)
+    List<Object[]> expireDueBookings(@Param("now") LocalDateTime now,
+                                     @Param("limit") int limit,
+                                     @Param("expiredStatus") String expiredStatus);
+
+    /**
+     * Expires the still-unconfirmed bookings of an order.
+     *
+     * @param orderId the ID of the order
+     * @param expiredStatus the status to set
+     * @return rows of {@code [booking_id, schedule_id, seat_id]} for the expired bookings
+     */
+    @Transactional
+    @Query(value = "UPDATE bookings SET status = :expiredStatus, expires_at = NULL " +
+                   "WHERE order_id = :orderId AND expires_at IS NOT NULL " +
+                   "RETURNING booking_id, schedule_id, seat_id", nativeQuery = true)
+    List<Object[]> expireOrder(@Param("orderId") String orderId,
+                               @Param("expiredStatus") String expiredStatus);
+
+    /**
+     * Cancels a booking of a user that is pending or still awaiting payment, provided its showtime
+     * is not earlier than the cutoff. Matches the same bookings as {@link #cancelOrder}.
+     *
+     * @param bookingId the ID of the booking
+     * @param userId the ID of the user who owns the booking
+     * @param pendingStatus the status a cancellable booking has
+     * @param showtimeCutoff the earliest showtime that may still be cancelled
+     * @param cancelledStatus the status to set
+     * @return a row of {@code [booking_id, schedule_id, seat_id]}, empty if nothing was cancelled
+     */
+    @Transactional
+    @Query(value = "UPDATE bookings b SET status = :cancelledStatus, expires_at = NULL " +
+                   "FROM schedules s WHERE s.schedule_id = b.schedule_id AND b.booking_id = :bookingId " +
+                   "AND b.user_id = :userId AND (b.status = :pendingStatus OR b.expires_at IS NOT NULL) " +
+                   "AND s.showtime >= :showtimeCutoff " +
+                   "RETURNING b.booking_id, b.schedule_id, b.seat_id", nativeQuery = true)
+    List<Object[]> cancelBooking(@Param("bookingId") String bookingId,
+                                 @Param("userId") Long userId,
+                                 @Param("pendingStatus") String pendingStatus,
+                                 @Param("showtimeCutoff") LocalDateTime showtimeCutoff,
+                                 @Param("cancelledStatus") String cancelledStatus);
+
+    /**
+     * Cancels every booking of a user's order that is pending or still awaiting payment,
+     * provided its showtime is not earlier than the cutoff.
+     *
+     * @param orderId the ID of the order
+     * @param userId the ID of the user who owns the order
+     * @param pendingStatus the status a cancellable booking has
+     * @param showtimeCutoff the earliest showtime that may still be cancelled
+     * @param cancelledStatus the status to set
+     * @return rows of {@code [booking_id, schedule_id, seat_id]} for the cancelled bookings
+     */
+    @Transactional
+    @Query(value = "UPDATE bookings b SET status = :cancelledStatus, expires_at = NULL " +
+                   "FROM schedules s WHERE s.schedule_id = b.schedule_id AND b.order_id = :orderId " +
+                   "AND b.user_id = :userId AND (b.status = :pendingStatus OR b.expires_at IS NOT NULL) " +
+                   "AND s.showtime >= :showtimeCutoff " +
+                   "RETURNING b.booking_id, b.schedule_id, b.seat_id", nativeQuery = true)
+    List<Object[]> cancelOrder(@Param("orderId") String orderId,
+                               @Param("userId") Long userId,
+                               @Param("pendingStatus") String pendingStatus,
+                               @Param("showtimeCutoff") LocalDateTime showtimeCutoff,
+                               @Param("cancelledStatus") String cancelledStatus);
+
+    /**
+     * Confirms payment of an order whose deadline has not been processed yet.
+     *
+     * @param orderId the ID of the order
+     * @param paidStatus the status to set
+     * @param paymentMethod the payment method
+     * @param paymentDate the payment date
+     * @return the number of bookings confirmed, 0 if the order was already expired
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Booking b SET b.status = :paidStatus, b.paymentMethod = :paymentMethod, " +
+           "b.paymentDate = :paymentDate, b.expiresAt = NULL " +
+           "WHERE b.orderId = :orderId AND b.expiresAt IS NOT NULL")
+    int confirmOrder(@Param("orderId") String orderId,
+                     @Param("paidStatus") String paidStatus,
+                     @Param("paymentMethod") String paymentMethod,
+                     @Param("paymentDate") LocalDateTime paymentDate);
+}
@@ -1,9 +1,51 @@
 package com.movietheater.repository;
 
 import com.movietheater.entity.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface EmployeeRepository extends JpaRepository<Employee, String> {
     Employee findByUserId(Long userId);
     long count();
-}
\ No newline at end of file
+
+    /**
+     * Finds one page of employees with their user accounts, read in the same query.
+     * The count joins the users too, so that it matches the rows the page query can return.
+     *
+     * @param pageable the page to read
+     * @return the page of employees
+     */
+    @Query(value = "SELECT e FROM Employee e JOIN FETCH e.user",
+           countQuery = "SELECT COUNT(e) FROM Employee e JOIN e.user")
+    Page<Employee> findPageWithUser(Pageable pageable);
+
+    /**
+     * Finds the employment details of a set of users; users who are not employees are absent.
+     *
+     * @param userIds the IDs of the users
+     * @return the employment details
+     */
+    @Query("SELECT e.user.id AS userId, e.hireDate AS hireDate, e.position AS position, e.salary AS salary " +
+           "FROM Employee e WHERE e.user.id IN :userIds")
+    List<EmploymentDetails> findEmploymentByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Projection of the employee columns shown with a user account.
+     */
+    interface EmploymentDetails {
+        Long getUserId();
+
+        LocalDate getHireDate();
+
+        String getPosition();
+
+        Double getSalary();
+    }
+}
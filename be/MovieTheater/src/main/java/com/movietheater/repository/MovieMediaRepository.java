@@ -3,8 +3,22 @@ package com.movietheater.repository;
 import com.movietheater.entity.MovieMedia;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface MovieMediaRepository extends JpaRepository<MovieMedia, String> {
-    @Query("SELECT MAX(m.mediaId) FROM MovieMedia m WHERE m.mediaId LIKE 'MM%'")
-    String findMaxMediaId();
+    /**
+     * Finds the media URLs of the given type for a set of movies, in media ID order.
+     *
+     * @param movieIds the IDs of the movies
+     * @param mediaType the media type
+     * @return rows of {@code [movie_id, url]}
+     */
+    @Query("SELECT mm.movie.movieId, mm.mediaUrl FROM MovieMedia mm " +
+           "WHERE mm.movie.movieId IN :movieIds AND mm.mediaType = :mediaType AND mm.mediaUrl IS NOT NULL " +
+           "ORDER BY mm.mediaId")
+    List<Object[]> findUrlsByMovieIds(@Param("movieIds") Collection<String> movieIds,
+                                      @Param("mediaType") String mediaType);
 }
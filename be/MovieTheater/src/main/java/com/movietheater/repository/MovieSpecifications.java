@@ -0,0 +1,88 @@
+package com.movietheater.repository;
+
+import com.movietheater.entity.Movie;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query criteria for the movie list, evaluated by the database.
+ * <p>
+ * The seek criteria page through movies in (release date, movie ID) descending order without an offset:
+ * dated movies first, then undated ones. Each part has its own criterion so that the order does not depend
+ * on how the database sorts nulls.
+ */
+public final class MovieSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private MovieSpecifications() {
+    }
+
+    /**
+     * Matches movies whose title and genre contain the given texts, ignoring case, and released on the given date.
+     *
+     * @param title a part of the title, or null for any
+     * @param genre a part of the genre, or null for any
+     * @param releaseDate the release date, or null for any
+     * @return the criteria
+     */
+    public static Specification<Movie> matching(String title, String genre, LocalDate releaseDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (title != null) {
+                predicates.add(cb.like(cb.lower(root.get("title")), containsPattern(title), LIKE_ESCAPE));
+            }
+            if (genre != null) {
+                predicates.add(cb.like(cb.lower(root.get("genre")), containsPattern(genre), LIKE_ESCAPE));
+            }
+            if (releaseDate != null) {
+                predicates.add(cb.equal(root.get("releaseDate"), releaseDate));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Matches the dated movies that come after a position in (release date, movie ID) descending order.
+     *
+     * @param releaseDate the release date of the last movie seen, or null to start from the newest
+     * @param movieId the ID of the last movie seen, ignored when starting from the newest
+     * @return the criteria
+     */
+    public static Specification<Movie> releasedBefore(LocalDate releaseDate, String movieId) {
+        return (root, query, cb) -> {
+            Path<LocalDate> date = root.get("releaseDate");
+            if (releaseDate == null) {
+                return cb.isNotNull(date);
+            }
+            return cb.or(cb.lessThan(date, releaseDate),
+                cb.and(cb.equal(date, releaseDate), cb.lessThan(root.get("movieId"), movieId)));
+        };
+    }
+
+    /**
+     * Matches the undated movies that come after a position in movie ID descending order.
+     *
+     * @param movieId the ID of the last undated movie seen, or null to start from the first
+     * @return the criteria
+     */
+    public static Specification<Movie> undatedBefore(String movieId) {
+        return (root, query, cb) -> movieId == null
+            ? cb.isNull(root.get("releaseDate"))
+            : cb.and(cb.isNull(root.get("releaseDate")), cb.lessThan(root.get("movieId"), movieId));
+    }
+
+    // LIKE wildcards typed by the user are matched literally, as the in-memory filter does
+    private static String containsPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,17 @@
+package com.movietheater.repository;
+
+import com.movietheater.entity.Schedule;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for schedules that bypass the persistence context.
+ */
+public interface ScheduleBatchRepository {
+    /**
+     * Inserts new schedules as one JDBC batch. The schedules are not attached to the persistence context.
+     *
+     * @param schedules the schedules to insert, with their IDs assigned
+     */
+    void insertAll(List<Schedule> schedules);
+}
@@ -0,0 +1,41 @@
+package com.movietheater.repository;
+
+import com.movietheater.entity.Schedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ScheduleBatchRepository}.
+ */
+@RequiredArgsConstructor
+public class ScheduleBatchRepositoryImpl implements ScheduleBatchRepository {
+    // Assigned IDs would make save() select every schedule before inserting it
+    private static final String INSERT = "INSERT INTO schedules (schedule_id, movie_id, room_id, theater_id, showtime, " +
+        "end_time, price, total_seats, available_seats, seat_layout, seat_id_prefix, seat_version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(List<Schedule> schedules) {
+        jdbcTemplate.batchUpdate(INSERT, schedules, schedules.size(), (statement, schedule) -> {
+            statement.setString(1, schedule.getScheduleId());
+            statement.setString(2, schedule.getMovieId());
+            statement.setString(3, schedule.getRoomId());
+            statement.setString(4, schedule.getTheaterId());
+            statement.setTimestamp(5, Timestamp.valueOf(schedule.getShowtime()));
+            statement.setTimestamp(6, Timestamp.valueOf(schedule.getEndTime()));
+            statement.setBigDecimal(7, schedule.getPrice());
+            statement.setInt(8, schedule.getTotalSeats());
+            statement.setInt(9, schedule.getAvailableSeats());
+            statement.setString(10, schedule.getSeatLayout());
+            statement.setString(11, schedule.getSeatIdPrefix());
+            statement.setLong(12, schedule.getSeatVersion());
+        });
+    }
+}
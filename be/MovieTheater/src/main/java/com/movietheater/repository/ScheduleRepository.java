@@ -4,14 +4,17 @@ import com.movietheater.entity.Schedule;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ScheduleRepository extends JpaRepository<Schedule, String> {
+public interface ScheduleRepository extends JpaRepository<Schedule, String>, ScheduleBatchRepository {
     List<Schedule> findByMovieId(String movieId);
 
     @Query("SELECT s FROM Schedule s " +
@@ -34,4 +37,133 @@ public interface ScheduleRepository extends JpaRepository<Schedule, String> {
     long count();
 
     long countByShowtimeBetween(java.time.LocalDateTime start, java.time.LocalDateTime end);
-}
\ No newline at end of file
+
+    /**
+     * Finds the showtimes of a room that occupy it during part of a time slot.
+     *
+     * @param roomId the ID of the room
+     * @param start the start of the slot
+     * @param end the end of the slot, excluded
+     * @return the overlapping showtimes, earliest first
+     */
+    @Query("SELECT s FROM Schedule s WHERE s.roomId = :roomId AND s.endTime > :start AND s.showtime < :end " +
+           "ORDER BY s.showtime")
+    List<Schedule> findOverlapping(@Param("roomId") String roomId,
+                                   @Param("start") java.time.LocalDateTime start,
+                                   @Param("end") java.time.LocalDateTime end);
+
+    /**
+     * Takes seats from a schedule's available count in a single statement, unless fewer are left.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param count the number of claimed seats
+     * @return the number of schedules updated, 0 if the schedule has fewer than {@code count} available seats
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Schedule s SET s.availableSeats = s.availableSeats - :count " +
+           "WHERE s.scheduleId = :scheduleId AND s.availableSeats >= :count")
+    int reserveAvailableSeats(@Param("scheduleId") String scheduleId, @Param("count") int count);
+
+    /**
+     * Adds released seats back to a schedule's available count in a single statement, unless it would exceed the total.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param count the number of released seats
+     * @return the number of schedules updated, 0 if the count would exceed the total seats
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Schedule s SET s.availableSeats = s.availableSeats + :count " +
+           "WHERE s.scheduleId = :scheduleId AND s.availableSeats + :count <= s.totalSeats")
+    int releaseAvailableSeats(@Param("scheduleId") String scheduleId, @Param("count") int count);
+
+    /**
+     * Sets a schedule's available count to its total minus the seats already taken, after its layout changed.
+     * The caller must flush pending entity changes first so that the new total is the one used.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param availableStatus the seat status that counts as available
+     * @return the new available count, or null if the schedule does not exist
+     */
+    @Transactional
+    @Query(value = "UPDATE schedules SET available_seats = total_seats - (SELECT COUNT(*) FROM schedule_seat ss " +
+                   "WHERE ss.schedule_id = :scheduleId AND ss.seat_status <> :availableStatus) " +
+                   "WHERE schedule_id = :scheduleId RETURNING available_seats", nativeQuery = true)
+    Integer resetAvailableSeats(@Param("scheduleId") String scheduleId, @Param("availableStatus") String availableStatus);
+
+    @Query("SELECT s.scheduleId FROM Schedule s WHERE s.showtime >= :from ORDER BY s.scheduleId")
+    List<String> findScheduleIdsByShowtimeFrom(@Param("from") java.time.LocalDateTime from);
+
+    /**
+     * Locks schedule rows in ID order, so that concurrent reconciliations cannot deadlock.
+     *
+     * @param scheduleIds the IDs of the schedules
+     * @return the IDs of the locked schedules
+     */
+    @Transactional
+    @Query(value = "SELECT schedule_id FROM schedules WHERE schedule_id IN (:scheduleIds) " +
+                   "ORDER BY schedule_id FOR UPDATE", nativeQuery = true)
+    List<String> lockByScheduleIds(@Param("scheduleIds") Collection<String> scheduleIds);
+
+    /**
+     * Recomputes the available count of schedules from their seat states, updating only the ones that drifted.
+     * Only taken seats are stored, so the count is the total minus the stored seats that are not available.
+     * A repaired schedule gets a new seat version, so that its ETag no longer matches the stale count.
+     * The schedule rows must already be locked so that a claim committing meanwhile is applied on top of the result.
+     *
+     * @param scheduleIds the IDs of the schedules
+     * @param availableStatus the seat status that counts as available
+     * @return rows of [schedule_id, previous available_seats, recomputed available_seats]
+     */
+    @Transactional
+    @Query(value = "WITH counted AS (" +
+                   "  SELECT s.schedule_id, s.available_seats AS previous, s.total_seats - (" +
+                   "    SELECT COUNT(*) FROM schedule_seat ss " +
+                   "    WHERE ss.schedule_id = s.schedule_id AND ss.seat_status <> :availableStatus) AS available " +
+                   "  FROM schedules s WHERE s.schedule_id IN (:scheduleIds)), " +
+                   "drifted AS (" +
+                   "  SELECT schedule_id, previous, available FROM counted WHERE previous <> available) " +
+                   "UPDATE schedules s SET available_seats = d.available, seat_version = s.seat_version + 1 " +
+                   "FROM drifted d " +
+                   "WHERE s.schedule_id = d.schedule_id " +
+                   "RETURNING s.schedule_id, d.previous, d.available", nativeQuery = true)
+    List<Object[]> reconcileAvailableSeats(@Param("scheduleIds") Collection<String> scheduleIds,
+                                           @Param("availableStatus") String availableStatus);
+
+    @Query("SELECT s.seatVersion FROM Schedule s WHERE s.scheduleId = :scheduleId")
+    Optional<Long> findSeatVersionById(@Param("scheduleId") String scheduleId);
+
+    /**
+     * Reads what is needed to compose a schedule's seat map, bypassing any cached entity
+     * so that the seat version is the committed one.
+     *
+     * @param scheduleId the ID of the schedule
+     * @return the seat version, layout and seat ID prefix, or empty if the schedule does not exist
+     */
+    @Query("SELECT s.seatVersion AS seatVersion, s.seatLayout AS seatLayout, s.seatIdPrefix AS seatIdPrefix " +
+           "FROM Schedule s WHERE s.scheduleId = :scheduleId")
+    Optional<SeatMapSource> findSeatMapSourceById(@Param("scheduleId") String scheduleId);
+
+    /**
+     * Increments the seat version of a schedule.
+     *
+     * @param scheduleId the ID of the schedule
+     * @return the new seat version, or null if the schedule does not exist
+     */
+    @Transactional
+    @Query(value = "UPDATE schedules SET seat_version = seat_version + 1 WHERE schedule_id = :scheduleId " +
+                   "RETURNING seat_version", nativeQuery = true)
+    Long incrementSeatVersion(@Param("scheduleId") String scheduleId);
+
+    /**
+     * Projection of the schedule columns that describe its seat map.
+     */
+    interface SeatMapSource {
+        Long getSeatVersion();
+
+        String getSeatLayout();
+
+        String getSeatIdPrefix();
+    }
+}
@@ -0,0 +1,21 @@
+package com.movietheater.repository;
+
+import com.movietheater.entity.ScheduleSeat;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for schedule seats that bypass the persistence context.
+ */
+public interface ScheduleSeatBatchRepository {
+    /**
+     * Stores seats as taken in a single statement, skipping every seat that already has a taken row.
+     * A row left in {@code availableStatus} by the former full-grid storage is taken over instead.
+     * The seats are not attached to the persistence context.
+     *
+     * @param seats the seats to store, with their new status
+     * @param availableStatus the status of a seat row that may still be taken over
+     * @return the IDs of the seats that were stored
+     */
+    List<String> insertTaken(List<ScheduleSeat> seats, String availableStatus);
+}
@@ -0,0 +1,47 @@
+package com.movietheater.repository;
+
+import com.movietheater.entity.ScheduleSeat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ScheduleSeatBatchRepository}.
+ */
+@RequiredArgsConstructor
+public class ScheduleSeatBatchRepositoryImpl implements ScheduleSeatBatchRepository {
+    private static final String INSERT_PREFIX = "INSERT INTO schedule_seat " +
+        "(schedule_seat_id, schedule_id, seat_row, seat_column, seat_type, seat_status) VALUES ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?)";
+    // The primary key makes concurrent claims of one seat wait for each other; the loser inserts nothing
+    private static final String INSERT_SUFFIX = " ON CONFLICT (schedule_seat_id) DO UPDATE " +
+        "SET seat_status = EXCLUDED.seat_status WHERE schedule_seat.seat_status = ? " +
+        "RETURNING schedule_seat_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<String> insertTaken(List<ScheduleSeat> seats, String availableStatus) {
+        if (seats.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(seats.size() * 6 + 1);
+        for (ScheduleSeat seat : seats) {
+            sql.append(args.isEmpty() ? "" : ", ").append(VALUES_ROW);
+            args.add(seat.getScheduleSeatId());
+            args.add(seat.getScheduleId());
+            args.add(seat.getSeatRow());
+            args.add(seat.getSeatColumn());
+            args.add(seat.getSeatType());
+            args.add(seat.getSeatStatus());
+        }
+        sql.append(INSERT_SUFFIX);
+        args.add(availableStatus);
+        return jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+    }
+}
@@ -2,10 +2,33 @@ package com.movietheater.repository;
 
 import com.movietheater.entity.ScheduleSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface ScheduleSeatRepository extends JpaRepository<ScheduleSeat, String> {
+public interface ScheduleSeatRepository extends JpaRepository<ScheduleSeat, String>, ScheduleSeatBatchRepository {
     List<ScheduleSeat> findByScheduleId(String scheduleId);
     void deleteByScheduleId(String scheduleId);
-}
\ No newline at end of file
+
+    boolean existsByScheduleIdAndSeatStatus(String scheduleId, String seatStatus);
+
+    /**
+     * Deletes the given taken seats of a schedule in a single conditional statement, making them available again.
+     * Seats that are not currently in {@code takenStatus} are left untouched.
+     *
+     * @param scheduleId the ID of the schedule
+     * @param seatIds the IDs of the seats to release
+     * @param takenStatus the status the seats must currently have
+     * @return the IDs of the seats that were actually released
+     */
+    @Transactional
+    @Query(value = "DELETE FROM schedule_seat " +
+                   "WHERE schedule_id = :scheduleId AND schedule_seat_id IN (:seatIds) AND seat_status = :takenStatus " +
+                   "RETURNING schedule_seat_id", nativeQuery = true)
+    List<String> deleteTaken(@Param("scheduleId") String scheduleId,
+                             @Param("seatIds") Collection<String> seatIds,
+                             @Param("takenStatus") String takenStatus);
+}
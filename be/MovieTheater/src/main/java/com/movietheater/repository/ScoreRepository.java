@@ -1,10 +1,48 @@
 package com.movietheater.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.movietheater.entity.Score;
-import java.util.List;
+import com.movietheater.score.dto.ScoreHistoryDTO;
 
 public interface ScoreRepository extends JpaRepository<Score, String> {
-    List<Score> findByUserIdOrderByTransactionDateDesc(Long userId);
-    List<Score> findByUserIdAndTypeOrderByTransactionDateDesc(Long userId, String type);
+    /**
+     * Finds one page of a user's score history, newest first, without loading the user or the tickets.
+     *
+     * @param userId the ID of the user
+     * @param pageable the page to read
+     * @return the page of score history entries
+     */
+    @Query(value = "SELECT new com.movietheater.score.dto.ScoreHistoryDTO(s.scoreId, s.user.id, t.ticketId, " +
+                   "s.points, s.transactionDate, s.type) " +
+                   "FROM Score s LEFT JOIN s.ticket t WHERE s.user.id = :userId " +
+                   "ORDER BY s.transactionDate DESC, s.scoreId DESC",
+           countQuery = "SELECT COUNT(s) FROM Score s WHERE s.user.id = :userId")
+    Page<ScoreHistoryDTO> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Finds one page of a user's score history of one type, newest first.
+     *
+     * @param userId the ID of the user
+     * @param type the score type
+     * @param pageable the page to read
+     * @return the page of score history entries
+     */
+    @Query(value = "SELECT new com.movietheater.score.dto.ScoreHistoryDTO(s.scoreId, s.user.id, t.ticketId, " +
+                   "s.points, s.transactionDate, s.type) " +
+                   "FROM Score s LEFT JOIN s.ticket t WHERE s.user.id = :userId AND s.type = :type " +
+                   "ORDER BY s.transactionDate DESC, s.scoreId DESC",
+           countQuery = "SELECT COUNT(s) FROM Score s WHERE s.user.id = :userId AND s.type = :type")
+    Page<ScoreHistoryDTO> findHistoryByUserIdAndType(@Param("userId") Long userId, @Param("type") String type,
+                                                     Pageable pageable);
+
+    // Written out so that the count filters on the foreign key column instead of joining users
+    @Query("SELECT COUNT(s) FROM Score s WHERE s.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(s) FROM Score s WHERE s.user.id = :userId AND s.type = :type")
+    long countByUserIdAndType(@Param("userId") Long userId, @Param("type") String type);
 }
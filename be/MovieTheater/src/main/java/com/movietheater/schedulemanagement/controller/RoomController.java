@@ -1,5 +1,11 @@
 package com.movietheater.schedulemanagement.controller;
 
+import com.movietheater.booking.dto.request.SeatLayoutRequest;
+import com.movietheater.booking.dto.request.SeatPolicyRequest;
+import com.movietheater.booking.dto.response.SeatLayoutResponse;
+import com.movietheater.booking.dto.response.SeatPolicyResponse;
+import com.movietheater.booking.service.SeatLayoutService;
+import com.movietheater.booking.service.SeatPolicyService;
 import com.movietheater.common.constant.AuthorityConst;
 import com.movietheater.common.constant.RouteConst;
 import com.movietheater.entity.Room;
@@ -10,6 +16,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -25,6 +34,8 @@ public class RoomController {
     private static final Logger logger = LoggerFactory.getLogger(RoomController.class);
 
     private final RoomRepository roomRepository;
+    private final SeatPolicyService seatPolicyService;
+    private final SeatLayoutService seatLayoutService;
 
     /**
      * Retrieves all rooms.
@@ -39,4 +50,68 @@ public class RoomController {
         logger.debug("Retrieved {} rooms", rooms.size());
         return ResponseEntity.ok(rooms);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the effective seat policy of a room.
+     *
+     * @param id the ID of the room
+     * @return a ResponseEntity containing the SeatPolicyResponse
+     */
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_ADMIN)
+    @GetMapping(RouteConst.ROOM_SEAT_POLICY)
+    public ResponseEntity<SeatPolicyResponse> getSeatPolicy(@PathVariable String id) {
+        logger.info("Fetching seat policy for roomId: {}", id);
+        return ResponseEntity.ok(seatPolicyService.getRoomPolicy(id));
+    }
+
+    /**
+     * Replaces the seat policy overrides of a room.
+     *
+     * @param id the ID of the room
+     * @param request the new overrides; null fields fall back to the defaults
+     * @return a ResponseEntity containing the effective SeatPolicyResponse, or 400 if an action is invalid
+     */
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_ADMIN)
+    @PutMapping(RouteConst.ROOM_SEAT_POLICY)
+    public ResponseEntity<?> updateSeatPolicy(@PathVariable String id, @RequestBody SeatPolicyRequest request) {
+        logger.info("Updating seat policy for roomId: {}", id);
+        try {
+            return ResponseEntity.ok(seatPolicyService.updateRoomPolicy(id, request));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid seat policy for roomId {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the seat layout template of a room.
+     *
+     * @param id the ID of the room
+     * @return a ResponseEntity containing the SeatLayoutResponse
+     */
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_ADMIN)
+    @GetMapping(RouteConst.ROOM_SEAT_LAYOUT)
+    public ResponseEntity<SeatLayoutResponse> getSeatLayout(@PathVariable String id) {
+        logger.info("Fetching seat layout for roomId: {}", id);
+        return ResponseEntity.ok(seatLayoutService.getRoomLayout(id));
+    }
+
+    /**
+     * Replaces the seat layout template of a room. Existing showtimes keep the layout they were created with.
+     *
+     * @param id the ID of the room
+     * @param request the new layout rows; empty restores the default layout
+     * @return a ResponseEntity containing the SeatLayoutResponse, or 400 if the layout is malformed
+     */
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_ADMIN)
+    @PutMapping(RouteConst.ROOM_SEAT_LAYOUT)
+    public ResponseEntity<?> updateSeatLayout(@PathVariable String id, @RequestBody SeatLayoutRequest request) {
+        logger.info("Updating seat layout for roomId: {}", id);
+        try {
+            return ResponseEntity.ok(seatLayoutService.updateRoomLayout(id, request));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid seat layout for roomId {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -8,8 +8,10 @@ import com.movietheater.common.constant.RouteConst;
 import com.movietheater.common.exception.ResourceNotFoundException;
 import com.movietheater.common.exception.dto.ErrorResponseBody;
 import com.movietheater.schedulemanagement.dto.request.ShowtimeCreateRequest;
+import com.movietheater.schedulemanagement.dto.request.ShowtimeTimetableRequest;
 import com.movietheater.schedulemanagement.dto.request.UpdateShowtimeRequest;
 import com.movietheater.schedulemanagement.dto.response.ShowtimeResponse;
+import com.movietheater.schedulemanagement.dto.response.ShowtimeTimetableResponse;
 import com.movietheater.schedulemanagement.service.ShowtimeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -160,6 +162,52 @@ public class ShowtimeController {
         return ResponseEntity.ok(createdShowtime);
     }
 
+    /**
+     * Creates the showtimes of a timetable. Entries that are invalid or conflict are reported
+     * in the response, while the valid ones are still created.
+     *
+     * @param request the ShowtimeTimetableRequest containing the shared details and the start times
+     * @return a ResponseEntity containing the ShowtimeTimetableResponse; 200 if every entry was created,
+     *         207 if only some were, 422 if none were
+     */
+    @PreAuthorize(AuthorityConst.AUTH_ROLE_ADMIN)
+    @PostMapping(RouteConst.SHOWTIME_TIMETABLE)
+    @RestApiErrorResponses(responses = {
+        @RestApiErrorResponse(
+            status = HttpStatus.NOT_FOUND,
+            message = "Movie, room or theater not found",
+            code = MessageConst.ERROR_ENTITY_NOT_FOUND,
+            on = @RestApiErrorResponse.Exception(ResourceNotFoundException.class)
+        ),
+        @RestApiErrorResponse(
+            status = HttpStatus.CONFLICT,
+            message = "Room capacity insufficient",
+            code = "E2005",
+            on = @RestApiErrorResponse.Exception(IllegalStateException.class)
+        ),
+        @RestApiErrorResponse(
+            status = HttpStatus.BAD_REQUEST,
+            message = "Invalid price",
+            code = "E2007",
+            on = @RestApiErrorResponse.Exception(IllegalArgumentException.class)
+        ),
+        @RestApiErrorResponse(
+            status = HttpStatus.BAD_REQUEST,
+            message = "Invalid request data",
+            code = "E2007",
+            on = @RestApiErrorResponse.Exception(MethodArgumentNotValidException.class)
+        )
+    })
+    public ResponseEntity<ShowtimeTimetableResponse> createTimetable(@Valid @RequestBody ShowtimeTimetableRequest request) {
+        logger.info("Creating timetable for movieId: {}, roomId: {}, theaterId: {}, showtimes: {}",
+            request.getMovieId(), request.getRoomId(), request.getTheaterId(), request.getShowtimes().size());
+        ShowtimeTimetableResponse timetable = showtimeService.createTimetable(request);
+        HttpStatus status = timetable.getErrors().isEmpty() ? HttpStatus.OK
+            : timetable.getCreated().isEmpty() ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.MULTI_STATUS;
+        logger.debug("Timetable created {} showtimes with {} errors", timetable.getCreated().size(), timetable.getErrors().size());
+        return ResponseEntity.status(status).body(timetable);
+    }
+
     /**
      * Updates an existing showtime.
      *
@@ -0,0 +1,52 @@
+package com.movietheater.schedulemanagement.dto.request;
+
+import com.movietheater.common.constant.CommonConst;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object for creating many showtimes of one movie in one room at once.
+ */
+@Getter
+@Setter
+public class ShowtimeTimetableRequest {
+    /**
+     * The ID of the movie for every showtime.
+     */
+    @NotBlank(message = "Movie ID is required")
+    private String movieId;
+
+    /**
+     * The ID of the room where every showtime will take place.
+     */
+    @NotBlank(message = "Room ID is required")
+    private String roomId;
+
+    /**
+     * The ID of the theater hosting the showtimes.
+     */
+    @NotBlank(message = "Theater ID is required")
+    private String theaterId;
+
+    /**
+     * The start times of the showtimes in format yyyy-MM-dd HH:mm.
+     */
+    @NotEmpty(message = "At least one showtime is required")
+    @Size(max = CommonConst.MAX_TIMETABLE_SHOWTIMES, message = "Too many showtimes in one timetable")
+    private List<String> showtimes;
+
+    /**
+     * The price of a ticket for every showtime.
+     */
+    @NotNull(message = "Price is required")
+    @Positive(message = "Price must be positive")
+    private BigDecimal price;
+}
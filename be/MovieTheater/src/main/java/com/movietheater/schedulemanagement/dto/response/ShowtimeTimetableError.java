@@ -0,0 +1,28 @@
+package com.movietheater.schedulemanagement.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object describing why one entry of a timetable was not created.
+ */
+@Getter
+@Setter
+@Builder
+public class ShowtimeTimetableError {
+    /**
+     * The position of the entry in the requested list of showtimes.
+     */
+    private int index;
+
+    /**
+     * The start time as it was requested.
+     */
+    private String showtime;
+
+    /**
+     * The reason the entry was rejected.
+     */
+    private String message;
+}
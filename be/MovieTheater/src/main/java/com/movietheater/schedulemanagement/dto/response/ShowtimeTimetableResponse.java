@@ -0,0 +1,30 @@
+package com.movietheater.schedulemanagement.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a timetable: the showtimes created and every rejected entry.
+ */
+@Getter
+@Setter
+@Builder
+public class ShowtimeTimetableResponse {
+    /**
+     * The number of showtimes requested.
+     */
+    private int requested;
+
+    /**
+     * The showtimes that were created, earliest first.
+     */
+    private List<ShowtimeResponse> created;
+
+    /**
+     * The entries that were not created, in request order.
+     */
+    private List<ShowtimeTimetableError> errors;
+}
@@ -1,8 +1,10 @@
 package com.movietheater.schedulemanagement.service;
 
 import com.movietheater.schedulemanagement.dto.request.ShowtimeCreateRequest;
+import com.movietheater.schedulemanagement.dto.request.ShowtimeTimetableRequest;
 import com.movietheater.schedulemanagement.dto.request.UpdateShowtimeRequest;
 import com.movietheater.schedulemanagement.dto.response.ShowtimeResponse;
+import com.movietheater.schedulemanagement.dto.response.ShowtimeTimetableResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -58,6 +60,15 @@ public interface ShowtimeService {
      */
     ShowtimeResponse createShowtime(ShowtimeCreateRequest request);
 
+    /**
+     * Creates many showtimes of one movie in one room. Every entry is checked against the room's
+     * existing showtimes and the other entries; the valid entries are saved and the others reported.
+     *
+     * @param request the ShowtimeTimetableRequest containing the shared details and the start times
+     * @return the created showtimes and the error of every rejected entry
+     */
+    ShowtimeTimetableResponse createTimetable(ShowtimeTimetableRequest request);
+
     /**
      * Updates an existing showtime.
      *
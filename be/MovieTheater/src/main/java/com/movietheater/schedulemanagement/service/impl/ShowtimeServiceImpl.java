@@ -1,10 +1,14 @@
 package com.movietheater.schedulemanagement.service.impl;
 
+import com.movietheater.booking.inventory.SeatLayout;
+import com.movietheater.booking.service.ScheduleCacheService;
+import com.movietheater.booking.service.SeatInventoryService;
 import com.movietheater.common.constant.CommonConst;
+import com.movietheater.common.enumeration.IdSequence;
 import com.movietheater.common.exception.ResourceNotFoundException;
+import com.movietheater.common.service.IdAllocationService;
 import com.movietheater.entity.Room;
 import com.movietheater.entity.Schedule;
-import com.movietheater.entity.ScheduleSeat;
 import com.movietheater.repository.BookingRepository;
 import com.movietheater.repository.MovieRepository;
 import com.movietheater.repository.RoomRepository;
@@ -12,37 +16,53 @@ import com.movietheater.repository.ScheduleRepository;
 import com.movietheater.repository.ScheduleSeatRepository;
 import com.movietheater.repository.TheaterRepository;
 import com.movietheater.schedulemanagement.dto.request.ShowtimeCreateRequest;
+import com.movietheater.schedulemanagement.dto.request.ShowtimeTimetableRequest;
 import com.movietheater.schedulemanagement.dto.request.UpdateShowtimeRequest;
 import com.movietheater.schedulemanagement.dto.response.ShowtimeResponse;
+import com.movietheater.schedulemanagement.dto.response.ShowtimeTimetableError;
+import com.movietheater.schedulemanagement.dto.response.ShowtimeTimetableResponse;
 import com.movietheater.schedulemanagement.service.ShowtimeService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
  * Implementation of the ShowtimeService interface for managing showtimes.
  */
 @Service
-@RequiredArgsConstructor
 public class ShowtimeServiceImpl implements ShowtimeService {
     private static final Logger logger = LoggerFactory.getLogger(ShowtimeServiceImpl.class);
+    private static final String ROOM_SLOT_CONSTRAINT = "ex_schedules_room_slot";
+    private static final String SLOT_CONFLICT_MESSAGE = "Scheduling conflict: Room is already booked for this time slot";
 
     private final ScheduleRepository scheduleRepository;
     private final MovieRepository movieRepository;
@@ -50,6 +70,33 @@ public class ShowtimeServiceImpl implements ShowtimeService {
     private final ScheduleSeatRepository scheduleSeatRepository;
     private final TheaterRepository theaterRepository;
     private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final ScheduleCacheService scheduleCacheService;
+    private final IdAllocationService idAllocationService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate timetableTransaction;
+    private final int cleaningBufferMinutes;
+
+    public ShowtimeServiceImpl(ScheduleRepository scheduleRepository, MovieRepository movieRepository,
+                               RoomRepository roomRepository, ScheduleSeatRepository scheduleSeatRepository,
+                               TheaterRepository theaterRepository, BookingRepository bookingRepository,
+                               SeatInventoryService seatInventoryService, ScheduleCacheService scheduleCacheService,
+                               IdAllocationService idAllocationService,
+                               MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+                               @Value("${showtime.cleaning-buffer-minutes:15}") int cleaningBufferMinutes) {
+        this.scheduleRepository = scheduleRepository;
+        this.movieRepository = movieRepository;
+        this.roomRepository = roomRepository;
+        this.scheduleSeatRepository = scheduleSeatRepository;
+        this.theaterRepository = theaterRepository;
+        this.bookingRepository = bookingRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.scheduleCacheService = scheduleCacheService;
+        this.idAllocationService = idAllocationService;
+        this.meterRegistry = meterRegistry;
+        this.timetableTransaction = new TransactionTemplate(transactionManager);
+        this.cleaningBufferMinutes = cleaningBufferMinutes;
+    }
 
     @Override
     public Page<ShowtimeResponse> getShowtimes(String movieTitle, LocalDate date, String roomName, Pageable pageable) {
@@ -107,12 +154,7 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         LocalDateTime currentTime = LocalDateTime.now();
 
         // Check for existing bookings
-        List<ScheduleSeat> bookedSeats = scheduleSeatRepository.findByScheduleId(scheduleId)
-                .stream()
-                .filter(seat -> CommonConst.SEAT_STATUS_BOOKED.equals(seat.getSeatStatus()))
-                .toList();
-        
-        if (!bookedSeats.isEmpty()) {
+        if (scheduleSeatRepository.existsByScheduleIdAndSeatStatus(scheduleId, CommonConst.SEAT_STATUS_BOOKED)) {
             logger.warn("Showtime {} has existing bookings", scheduleId);
             throw new IllegalStateException("Cannot delete future showtime with active bookings");
         }
@@ -125,6 +167,9 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         
         // Delete the showtime
         scheduleRepository.deleteById(scheduleId);
+        seatInventoryService.evict(scheduleId);
+        scheduleCacheService.evict(scheduleId);
+        scheduleCacheService.evictMovie(schedule.getMovieId());
         logger.debug("Showtime deleted successfully: {}", scheduleId);
     }
 
@@ -133,6 +178,7 @@ public class ShowtimeServiceImpl implements ShowtimeService {
     @Transactional
     public ShowtimeResponse createShowtime(ShowtimeCreateRequest request) {
         logger.info("Creating new showtime with payload: {}", request);
+        recordCreationLatency();
         
         // Check maximum showtime limit
         long currentShowtimeCount = scheduleRepository.count();
@@ -154,9 +200,10 @@ public class ShowtimeServiceImpl implements ShowtimeService {
             logger.warn("Room not found: {}", request.getRoomId());
             throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
         }
-        if (room.get().getCapacity() < CommonConst.TOTAL_SEATS) {
-            logger.warn("Room capacity {} is less than required {} seats", room.get().getCapacity(), CommonConst.TOTAL_SEATS);
-            throw new IllegalStateException("Room capacity must be at least " + CommonConst.TOTAL_SEATS + " seats");
+        SeatLayout layout = SeatLayout.ofNullable(room.get().getSeatLayout());
+        if (room.get().getCapacity() < layout.getCapacity()) {
+            logger.warn("Room capacity {} is less than required {} seats", room.get().getCapacity(), layout.getCapacity());
+            throw new IllegalStateException("Room capacity must be at least " + layout.getCapacity() + " seats");
         }
 
         // Validate theater
@@ -183,32 +230,172 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         }
 
         // Validate scheduling conflict
-        validateNoSchedulingConflict(request.getRoomId(), showtime, null);
+        LocalDateTime endTime = slotEnd(movie.get(), showtime);
+        validateNoSchedulingConflict(request.getRoomId(), showtime, endTime, null);
 
         // Create schedule using builder
         String scheduleId = "SCH" + UUID.randomUUID().toString().replace("-", "").substring(0, 29);
-        long scheduleCount = scheduleRepository.count();
-        String shortScheduleId = String.format("S%03d", scheduleCount + 1);
+        String shortScheduleId = idAllocationService.nextId(IdSequence.SCHEDULE);
         Schedule schedule = Schedule.builder()
             .scheduleId(scheduleId)
             .movieId(request.getMovieId())
             .roomId(request.getRoomId())
             .theaterId(request.getTheaterId())
             .showtime(showtime)
+            .endTime(endTime)
             .price(request.getPrice())
-            .totalSeats(CommonConst.TOTAL_SEATS)
-            .availableSeats(CommonConst.TOTAL_SEATS)
+            .totalSeats(layout.getCapacity())
+            .availableSeats(layout.getCapacity())
+            .seatLayout(layout.getTemplate())
+            .seatIdPrefix("S" + shortScheduleId + "-")
             .build();
 
-        scheduleRepository.save(schedule);
-        logger.info("Showtime created successfully: {}, shortScheduleId: {}", scheduleId, shortScheduleId);
-
-        // Create seats
-        createScheduleSeats(scheduleId, shortScheduleId);
+        // No seat rows are written: seats are composed from the layout and stored only once taken
+        saveSlot(schedule);
+        scheduleCacheService.evictMovie(schedule.getMovieId());
+        logger.info("Showtime created successfully: {}, shortScheduleId: {}, seats: {}",
+            scheduleId, shortScheduleId, layout.getCapacity());
 
         return convertToDTO(schedule, new HashMap<>(), new HashMap<>());
     }
 
+    @Override
+    public ShowtimeTimetableResponse createTimetable(ShowtimeTimetableRequest request) {
+        logger.info("Creating timetable of {} showtimes for movieId: {}, roomId: {}, theaterId: {}",
+            request.getShowtimes().size(), request.getMovieId(), request.getRoomId(), request.getTheaterId());
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // Validate what every entry shares once
+        Optional<com.movietheater.entity.Movie> movie = movieRepository.findById(request.getMovieId());
+        if (movie.isEmpty()) {
+            logger.warn("Movie not found: {}", request.getMovieId());
+            throw new ResourceNotFoundException("Movie not found with ID: " + request.getMovieId());
+        }
+        Optional<Room> room = roomRepository.findById(request.getRoomId());
+        if (room.isEmpty()) {
+            logger.warn("Room not found: {}", request.getRoomId());
+            throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
+        }
+        SeatLayout layout = SeatLayout.ofNullable(room.get().getSeatLayout());
+        if (room.get().getCapacity() < layout.getCapacity()) {
+            logger.warn("Room capacity {} is less than required {} seats", room.get().getCapacity(), layout.getCapacity());
+            throw new IllegalStateException("Room capacity must be at least " + layout.getCapacity() + " seats");
+        }
+        Optional<com.movietheater.entity.Theater> theater = theaterRepository.findById(request.getTheaterId());
+        if (theater.isEmpty()) {
+            logger.warn("Theater not found: {}", request.getTheaterId());
+            throw new ResourceNotFoundException("Theater not found with ID: " + request.getTheaterId());
+        }
+        if (request.getPrice().compareTo(CommonConst.PRICE_MIN) < 0 || request.getPrice().compareTo(CommonConst.PRICE_MAX) > 0) {
+            logger.warn("Price {} is out of allowed range [{} - {}]", request.getPrice(), CommonConst.PRICE_MIN, CommonConst.PRICE_MAX);
+            throw new IllegalArgumentException("Price must be between " + CommonConst.PRICE_MIN + " and " + CommonConst.PRICE_MAX);
+        }
+
+        // Parse every entry, keyed by start time so that conflicts are checked in time order
+        List<String> showtimes = request.getShowtimes();
+        List<ShowtimeTimetableError> errors = new ArrayList<>();
+        NavigableMap<LocalDateTime, Integer> entries = new TreeMap<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        for (int index = 0; index < showtimes.size(); index++) {
+            LocalDateTime showtime;
+            try {
+                showtime = LocalDateTime.parse(showtimes.get(index), formatter);
+            } catch (DateTimeParseException | NullPointerException e) {
+                errors.add(timetableError(index, showtimes.get(index), "Invalid showtime format: " + showtimes.get(index)));
+                continue;
+            }
+            Integer duplicate = entries.putIfAbsent(showtime, index);
+            if (duplicate != null) {
+                errors.add(timetableError(index, showtimes.get(index), "Duplicate of showtime at index " + duplicate));
+            }
+        }
+
+        // Check every entry against the room's showtimes during the timetable, then against the earlier entries
+        List<Schedule> accepted = new ArrayList<>();
+        if (!entries.isEmpty()) {
+            NavigableMap<LocalDateTime, LocalDateTime> existing = mergeSlots(scheduleRepository.findOverlapping(
+                request.getRoomId(), entries.firstKey(), slotEnd(movie.get(), entries.lastKey())));
+            NavigableMap<LocalDateTime, LocalDateTime> scheduled = new TreeMap<>();
+            long remaining = CommonConst.MAX_SHOWTIMES - scheduleRepository.count();
+            for (Map.Entry<LocalDateTime, Integer> entry : entries.entrySet()) {
+                LocalDateTime showtime = entry.getKey();
+                LocalDateTime endTime = slotEnd(movie.get(), showtime);
+                String requested = showtimes.get(entry.getValue());
+                LocalDateTime overlapping = findConflict(scheduled, showtime, endTime);
+                if (findConflict(existing, showtime, endTime) != null) {
+                    errors.add(timetableError(entry.getValue(), requested, SLOT_CONFLICT_MESSAGE));
+                } else if (overlapping != null) {
+                    errors.add(timetableError(entry.getValue(), requested,
+                        "Scheduling conflict: Overlaps showtime " + overlapping.format(formatter) + " of this timetable"));
+                } else if (accepted.size() >= remaining) {
+                    errors.add(timetableError(entry.getValue(), requested,
+                        "Maximum showtime limit of " + CommonConst.MAX_SHOWTIMES + " reached"));
+                } else {
+                    scheduled.put(showtime, endTime);
+                    accepted.add(Schedule.builder()
+                        .scheduleId("SCH" + UUID.randomUUID().toString().replace("-", "").substring(0, 29))
+                        .movieId(request.getMovieId())
+                        .roomId(request.getRoomId())
+                        .theaterId(request.getTheaterId())
+                        .showtime(showtime)
+                        .endTime(endTime)
+                        .price(request.getPrice())
+                        .totalSeats(layout.getCapacity())
+                        .availableSeats(layout.getCapacity())
+                        .seatLayout(layout.getTemplate())
+                        .seatIdPrefix("S" + idAllocationService.nextId(IdSequence.SCHEDULE) + "-")
+                        .build());
+                }
+            }
+        }
+
+        // Commit in batches, so that a failed batch neither rolls back nor holds up the others
+        Map<String, String> movieCache = new HashMap<>();
+        Map<String, String> roomCache = new HashMap<>();
+        movieCache.put(request.getMovieId(), movie.get().getTitle());
+        roomCache.put(request.getRoomId(), room.get().getRoomName());
+        List<ShowtimeResponse> created = new ArrayList<>(accepted.size());
+        for (int from = 0; from < accepted.size(); from += CommonConst.TIMETABLE_BATCH_SIZE) {
+            List<Schedule> batch = accepted.subList(from, Math.min(from + CommonConst.TIMETABLE_BATCH_SIZE, accepted.size()));
+            try {
+                insertTimetableBatch(batch, request.getMovieId());
+            } catch (DataAccessException e) {
+                // A showtime created concurrently in the room rejects the whole batch, so retry its showtimes one
+                // by one and reject only those that overlap
+                logger.warn("Failed to save {} timetable showtimes for room {}, retrying one by one",
+                    batch.size(), request.getRoomId(), e);
+                for (Schedule schedule : batch) {
+                    try {
+                        insertTimetableBatch(List.of(schedule), request.getMovieId());
+                    } catch (DataAccessException single) {
+                        String message = isSlotConflict(single) ? SLOT_CONFLICT_MESSAGE : "Showtime could not be saved";
+                        logger.error("Failed to save timetable showtime {} for room {}",
+                            schedule.getShowtime(), request.getRoomId(), single);
+                        Integer index = entries.get(schedule.getShowtime());
+                        errors.add(timetableError(index, showtimes.get(index), message));
+                        continue;
+                    }
+                    created.add(convertToDTO(schedule, movieCache, roomCache));
+                }
+                continue;
+            }
+            for (Schedule schedule : batch) {
+                created.add(convertToDTO(schedule, movieCache, roomCache));
+            }
+        }
+        errors.sort(Comparator.comparingInt(ShowtimeTimetableError::getIndex));
+
+        sample.stop(Timer.builder("showtime.timetable.latency")
+            .description("Time to validate and save a timetable of showtimes")
+            .register(meterRegistry));
+        logger.info("Timetable for room {} created {} of {} showtimes", request.getRoomId(), created.size(), showtimes.size());
+        return ShowtimeTimetableResponse.builder()
+            .requested(showtimes.size())
+            .created(created)
+            .errors(errors)
+            .build();
+    }
+
     @Override
     @Transactional
     public ShowtimeResponse updateShowtime(String scheduleId, UpdateShowtimeRequest request) {
@@ -223,11 +410,7 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         Schedule schedule = scheduleOpt.get();
 
         // Check for existing bookings
-        List<ScheduleSeat> bookedSeats = scheduleSeatRepository.findByScheduleId(scheduleId)
-                .stream()
-                .filter(seat -> CommonConst.SEAT_STATUS_BOOKED.equals(seat.getSeatStatus()))
-                .toList();
-        if (!bookedSeats.isEmpty()) {
+        if (scheduleSeatRepository.existsByScheduleIdAndSeatStatus(scheduleId, CommonConst.SEAT_STATUS_BOOKED)) {
             logger.warn("Showtime {} has existing bookings", scheduleId);
             throw new IllegalStateException("Showtime has existing bookings");
         }
@@ -245,9 +428,10 @@ public class ShowtimeServiceImpl implements ShowtimeService {
             logger.warn("Room not found: {}", request.getRoomId());
             throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
         }
-        if (room.get().getCapacity() < CommonConst.TOTAL_SEATS) {
-            logger.warn("Room capacity {} is less than required {} seats", room.get().getCapacity(), CommonConst.TOTAL_SEATS);
-            throw new IllegalStateException("Room capacity must be at least " + CommonConst.TOTAL_SEATS + " seats");
+        SeatLayout layout = SeatLayout.ofNullable(room.get().getSeatLayout());
+        if (room.get().getCapacity() < layout.getCapacity()) {
+            logger.warn("Room capacity {} is less than required {} seats", room.get().getCapacity(), layout.getCapacity());
+            throw new IllegalStateException("Room capacity must be at least " + layout.getCapacity() + " seats");
         }
 
         // Validate theater
@@ -274,62 +458,132 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         }
 
         // Validate scheduling conflict
-        validateNoSchedulingConflict(request.getRoomId(), showtime, scheduleId);
-
-        // Update schedule
+        LocalDateTime endTime = slotEnd(movie.get(), showtime);
+        validateNoSchedulingConflict(request.getRoomId(), showtime, endTime, scheduleId);
+
+        // Update schedule; a new room brings its own layout
+        boolean roomChanged = !request.getRoomId().equals(schedule.getRoomId());
+        if (roomChanged) {
+            schedule.setSeatLayout(layout.getTemplate());
+            schedule.setTotalSeats(layout.getCapacity());
+        }
+        scheduleCacheService.evictMovie(schedule.getMovieId());
         schedule.setMovieId(request.getMovieId());
         schedule.setRoomId(request.getRoomId());
         schedule.setTheaterId(request.getTheaterId());
         schedule.setShowtime(showtime);
+        schedule.setEndTime(endTime);
         schedule.setPrice(request.getPrice());
 
-        scheduleRepository.save(schedule);
+        saveSlot(schedule);
+        scheduleCacheService.evict(scheduleId);
+        scheduleCacheService.evictMovie(request.getMovieId());
+        if (roomChanged) {
+            // The column is not updatable through the entity, so the managed copy takes the count written natively
+            schedule.setAvailableSeats(scheduleRepository.resetAvailableSeats(scheduleId, CommonConst.SEAT_STATUS_AVAILABLE));
+            seatInventoryService.evict(scheduleId);
+        }
+        scheduleRepository.incrementSeatVersion(scheduleId);
         logger.info("Showtime updated successfully: {}", scheduleId);
 
         return convertToDTO(schedule, new HashMap<>(), new HashMap<>());
     }
 
-    private void validateNoSchedulingConflict(String roomId, LocalDateTime showtime, String excludeScheduleId) {
-        LocalDateTime startWindow = showtime.minusMinutes(CommonConst.SHOWTIME_DURATION_MINUTES);
-        LocalDateTime endWindow = showtime.plusMinutes(CommonConst.SHOWTIME_DURATION_MINUTES);
-        
-        List<Schedule> conflictingSchedules = scheduleRepository.findAll().stream()
-            .filter(s -> s.getRoomId().equals(roomId))
+    private void validateNoSchedulingConflict(String roomId, LocalDateTime showtime, LocalDateTime endTime,
+                                              String excludeScheduleId) {
+        List<Schedule> conflictingSchedules = scheduleRepository.findOverlapping(roomId, showtime, endTime).stream()
             .filter(s -> excludeScheduleId == null || !s.getScheduleId().equals(excludeScheduleId))
-            .filter(s -> !s.getShowtime().isBefore(startWindow) && !s.getShowtime().isAfter(endWindow))
             .toList();
 
         if (!conflictingSchedules.isEmpty()) {
             logger.warn("Scheduling conflict detected for room {} at time {}", roomId, showtime);
-            throw new IllegalStateException("Scheduling conflict: Room is already booked for this time slot");
+            throw new IllegalStateException(SLOT_CONFLICT_MESSAGE);
         }
     }
 
-    private void createScheduleSeats(String scheduleId, String shortScheduleId) {
-        for (int row = 0; row < CommonConst.TOTAL_ROWS; row++) {
-            String rowLabel = String.valueOf((char) ('A' + row));
-            String seatType = row < 3 ? CommonConst.SEAT_TYPE_NORMAL : CommonConst.SEAT_TYPE_VIP;
-            for (int col = 1; col <= CommonConst.SEATS_PER_ROW; col++) {
-                String seatColumnPadded = String.format("%02d", col);
-                String seatId = String.format("S%s-%s%s", shortScheduleId, rowLabel, seatColumnPadded);
-                ScheduleSeat seat = ScheduleSeat.builder()
-                    .scheduleSeatId(seatId)
-                    .scheduleId(scheduleId)
-                    .seatRow(rowLabel)
-                    .seatColumn(col)
-                    .seatType(seatType)
-                    .seatStatus(CommonConst.SEAT_STATUS_AVAILABLE)
-                    .build();
-                scheduleSeatRepository.save(seat);
-                logger.debug("Created seat {} for schedule {}, row {}, column {}, type: {}", 
-                    seatId, scheduleId, rowLabel, col, seatType);
+    // Inserts timetable showtimes in a transaction of their own
+    private void insertTimetableBatch(List<Schedule> batch, String movieId) {
+        timetableTransaction.executeWithoutResult(status -> {
+            scheduleRepository.insertAll(batch);
+            scheduleCacheService.evictMovie(movieId);
+        });
+    }
+
+    // The room is blocked for the movie's duration, or the former fixed slot if it has none, plus cleaning
+    private LocalDateTime slotEnd(com.movietheater.entity.Movie movie, LocalDateTime showtime) {
+        int duration = movie.getDuration() != null && movie.getDuration() > 0
+            ? movie.getDuration() : CommonConst.SHOWTIME_DURATION_MINUTES;
+        return showtime.plusMinutes(duration + cleaningBufferMinutes);
+    }
+
+    // Flushes right away so that the exclusion constraint reports a showtime created concurrently in the room
+    private void saveSlot(Schedule schedule) {
+        try {
+            scheduleRepository.saveAndFlush(schedule);
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlotConflict(e)) {
+                throw e;
             }
+            logger.warn("Concurrent scheduling conflict for room {} at time {}", schedule.getRoomId(), schedule.getShowtime());
+            throw new IllegalStateException(SLOT_CONFLICT_MESSAGE);
         }
-        List<ScheduleSeat> savedSeats = scheduleSeatRepository.findByScheduleId(scheduleId);
-        long normalSeats = savedSeats.stream().filter(seat -> seat.getSeatType().equals(CommonConst.SEAT_TYPE_NORMAL)).count();
-        long vipSeats = savedSeats.stream().filter(seat -> seat.getSeatType().equals(CommonConst.SEAT_TYPE_VIP)).count();
-        logger.info("Created {} seats for schedule {}: {} NORMAL, {} VIP", 
-            savedSeats.size(), scheduleId, normalSeats, vipSeats);
+    }
+
+    private static boolean isSlotConflict(DataAccessException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(ROOM_SLOT_CONSTRAINT);
+    }
+
+    // Merges the slots of the schedules into disjoint ones, so that findConflict holds even for showtimes
+    // that overlapped before the exclusion constraint was added
+    private static NavigableMap<LocalDateTime, LocalDateTime> mergeSlots(List<Schedule> schedules) {
+        NavigableMap<LocalDateTime, LocalDateTime> slots = new TreeMap<>();
+        schedules.stream()
+            .sorted(Comparator.comparing(Schedule::getShowtime))
+            .forEach(schedule -> {
+                Map.Entry<LocalDateTime, LocalDateTime> last = slots.lastEntry();
+                if (last != null && schedule.getShowtime().isBefore(last.getValue())) {
+                    if (schedule.getEndTime().isAfter(last.getValue())) {
+                        slots.put(last.getKey(), schedule.getEndTime());
+                    }
+                } else {
+                    slots.put(schedule.getShowtime(), schedule.getEndTime());
+                }
+            });
+        return slots;
+    }
+
+    // Returns the start of a slot of the map that overlaps the given one. Slots in the map never overlap,
+    // so only the last one starting before the given slot ends can reach into it.
+    private static LocalDateTime findConflict(NavigableMap<LocalDateTime, LocalDateTime> slots,
+                                              LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = slots.lowerEntry(end);
+        return before != null && before.getValue().isAfter(start) ? before.getKey() : null;
+    }
+
+    private static ShowtimeTimetableError timetableError(int index, String showtime, String message) {
+        return ShowtimeTimetableError.builder()
+            .index(index)
+            .showtime(showtime)
+            .message(message)
+            .build();
+    }
+
+    // Records the time from now until the surrounding transaction completes, commit included
+    private void recordCreationLatency() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sample.stop(Timer.builder("showtime.create.latency")
+                    .description("Time to create a showtime, until the transaction completes")
+                    .tag("outcome", status == STATUS_COMMITTED ? "committed" : "rolled_back")
+                    .register(meterRegistry));
+            }
+        });
     }
 
     private ShowtimeResponse convertToDTO(Schedule schedule, Map<String, String> movieCache, Map<String, String> roomCache) {
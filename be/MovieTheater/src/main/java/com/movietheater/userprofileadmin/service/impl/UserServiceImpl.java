@@ -14,7 +14,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import com.movietheater.common.constant.MessageConst;
 
 /**
@@ -36,7 +39,15 @@ public class UserServiceImpl implements UserService {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
         List<String> roles = List.of("USER", "CUSTOMER");
         Page<User> userPage = userRepository.findByRoleIn(roles, pageable);
-        return userPage.map(this::convertToResponseDTO);
+        // Employment details of the whole page are read in one query instead of one per user
+        List<Long> userIds = userPage.getContent().stream().map(User::getId).collect(Collectors.toList());
+        Map<Long, EmployeeRepository.EmploymentDetails> employment = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (EmployeeRepository.EmploymentDetails details : employeeRepository.findEmploymentByUserIds(userIds)) {
+                employment.putIfAbsent(details.getUserId(), details);
+            }
+        }
+        return userPage.map(user -> convertToResponseDTO(user, employment.get(user.getId())));
     }
 
     /**
@@ -90,6 +101,25 @@ public class UserServiceImpl implements UserService {
      * @return the user response DTO
      */
     private UserResponseDTO convertToResponseDTO(User user) {
+        UserResponseDTO dto = convertToResponseDTO(user, null);
+        // Optional: set employee info if exists
+        Employee employee = employeeRepository.findByUserId(user.getId());
+        if (employee != null) {
+            dto.setHireDate(employee.getHireDate());
+            dto.setPosition(employee.getPosition());
+            dto.setSalary(employee.getSalary());
+        }
+        return dto;
+    }
+
+    /**
+     * Converts a User entity to a UserResponseDTO with employment details that were already read.
+     *
+     * @param user the user entity to convert
+     * @param employment the employment details of the user, or null if the user is not an employee
+     * @return the user response DTO
+     */
+    private UserResponseDTO convertToResponseDTO(User user, EmployeeRepository.EmploymentDetails employment) {
         UserResponseDTO dto = new UserResponseDTO();
         dto.setId(user.getId());
         dto.setFullName(user.getFullName());
@@ -102,12 +132,10 @@ public class UserServiceImpl implements UserService {
         dto.setGender(user.getGender());
         dto.setAddress(user.getAddress());
         dto.setProvider(user.getProvider());
-        // Optional: set employee info if exists
-        Employee employee = employeeRepository.findByUserId(user.getId());
-        if (employee != null) {
-            dto.setHireDate(employee.getHireDate());
-            dto.setPosition(employee.getPosition());
-            dto.setSalary(employee.getSalary());
+        if (employment != null) {
+            dto.setHireDate(employment.getHireDate());
+            dto.setPosition(employment.getPosition());
+            dto.setSalary(employment.getSalary());
         }
         return dto;
     }
@@ -1,5 +1,6 @@
 package com.movietheater.util;
 
+import java.security.SecureRandom;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -10,15 +11,57 @@ import org.slf4j.LoggerFactory;
  */
 public class BookingUtils {
     private static final Logger logger = LoggerFactory.getLogger(BookingUtils.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String ORDER_ID_PREFIX = "BOOKING-";
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
 
     /**
-     * Generates a unique booking ID.
+     * Generates a unique booking ID. IDs are time ordered, so inserts land at the end of the primary key index.
      *
      * @return a unique booking ID
      */
     public static String generateBookingId() {
-        String bookingId = UUID.randomUUID().toString();
+        String bookingId = generateTimeOrderedId();
         logger.debug("Generated booking ID: {}", bookingId);
         return bookingId;
     }
-}
\ No newline at end of file
+
+    /**
+     * Generates a unique, time-ordered payment order ID.
+     *
+     * @return a unique order ID
+     */
+    public static String generateOrderId() {
+        return ORDER_ID_PREFIX + generateTimeOrderedId();
+    }
+
+    /**
+     * Generates a version 7 UUID: a 48-bit millisecond timestamp followed by a 12-bit counter and 62 random bits.
+     * IDs from this JVM sort in generation order; IDs from different nodes sort by millisecond.
+     *
+     * @return the UUID in its canonical 36-character form
+     */
+    public static String generateTimeOrderedId() {
+        long millis;
+        int sequence;
+        synchronized (BookingUtils.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Start low in the range so that bursts within one millisecond rarely overflow it
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            } else if (++counter > MAX_COUNTER) {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        long mostSigBits = (millis << 16) | 0x7000L | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
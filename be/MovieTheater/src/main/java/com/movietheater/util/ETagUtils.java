@@ -0,0 +1,48 @@
+package com.movietheater.util;
+
+/**
+ * Utility class for building and matching strong ETags.
+ */
+public class ETagUtils {
+
+    private ETagUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Builds a strong ETag from the given parts.
+     *
+     * @param parts the values identifying the representation
+     * @return the quoted ETag
+     */
+    public static String strongETag(Object... parts) {
+        StringBuilder etag = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                etag.append('-');
+            }
+            etag.append(parts[i]);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Checks whether an If-None-Match header matches the given strong ETag.
+     *
+     * @param ifNoneMatch the If-None-Match header value, may be null
+     * @param etag the current quoted ETag
+     * @return true if the client already has the current representation
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
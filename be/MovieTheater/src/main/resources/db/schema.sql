@@ -0,0 +1,19 @@
+-- Indexes that Hibernate's ddl-auto=update cannot express.
+-- Executed after Hibernate has created/updated the tables (see spring.jpa.defer-datasource-initialization).
+-- A failing statement stops the startup; constraints that need the data checked first are SchemaMigrations.
+
+-- Payment deadlines scanned by the order expiry sweeper; only unconfirmed orders carry one
+CREATE INDEX IF NOT EXISTS ix_bookings_expires_at
+    ON bookings (expires_at)
+    WHERE expires_at IS NOT NULL;
+
+-- The admin movie list filters on a part of the title, which a B-tree index cannot serve.
+-- Best effort: without the pg_trgm extension the filter is left to a scan.
+DO '
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS ix_movies_title_trgm
+        ON movies USING gin (LOWER(title) gin_trgm_ops);
+EXCEPTION WHEN OTHERS THEN
+    RAISE WARNING ''Movie title search index skipped: %'', SQLERRM;
+END';
@@ -0,0 +1,103 @@
+package com.movietheater.booking.inventory;
+
+import com.movietheater.common.constant.CommonConst;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the word-level best-seat scan with a per-seat scan over the same grid.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.movietheater.booking.inventory.BestSeatFinderBenchmark}, or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BestSeatFinderBenchmark {
+    private static final int VIP_FIRST_ROW = 3;
+
+    @Param({"0", "50", "90"})
+    private int bookedPercent;
+
+    @Param({"2", "4", "8"})
+    private int count;
+
+    private final int rows = CommonConst.TOTAL_ROWS;
+    private final int columns = CommonConst.SEATS_PER_ROW;
+    private long[] existing;
+    private long[] vip;
+    private long[] booked;
+    private boolean[][] bookedSeats;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long fullRow = (1L << columns) - 1;
+        existing = new long[rows];
+        vip = new long[rows];
+        booked = new long[rows];
+        bookedSeats = new boolean[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            existing[row] = fullRow;
+            vip[row] = row >= VIP_FIRST_ROW ? fullRow : 0;
+            for (int col = 0; col < columns; col++) {
+                if (random.nextInt(100) < bookedPercent) {
+                    booked[row] |= 1L << col;
+                    bookedSeats[row][col] = true;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public long bitmapScan() {
+        return BestSeatFinder.find(existing, vip, booked, columns, count, BestSeatFinder.TYPE_ANY);
+    }
+
+    @Benchmark
+    public long perSeatScan() {
+        int preferredRow = rows * 2 / 3;
+        long bestScore = Long.MAX_VALUE;
+        long best = BestSeatFinder.NOT_FOUND;
+        for (int row = 0; row < rows; row++) {
+            int run = 0;
+            for (int col = 0; col < columns; col++) {
+                run = bookedSeats[row][col] ? 0 : run + 1;
+                if (run >= count) {
+                    int start = col - count + 1;
+                    long score = (long) Math.abs(row - preferredRow) * (columns + 1) * 2
+                        + Math.abs(2 * start + count - columns);
+                    if (score < bestScore) {
+                        bestScore = score;
+                        best = ((long) row << 32) | start;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(BestSeatFinderBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
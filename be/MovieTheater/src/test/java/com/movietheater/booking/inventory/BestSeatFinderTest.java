@@ -0,0 +1,106 @@
+package com.movietheater.booking.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks the block search of {@link BestSeatFinder}. Rows are written one character per seat:
+ * {@code .} free normal seat, {@code v} free VIP seat, {@code x} booked, {@code _} no seat.
+ */
+class BestSeatFinderTest {
+
+    @Test
+    void prefersRowTwoThirdsBackAndCentered() {
+        long best = find(2, BestSeatFinder.TYPE_ANY,
+            "..........", "..........", "..........", "..........", "..........", "..........");
+
+        assertEquals(4, BestSeatFinder.row(best));
+        assertEquals(4, BestSeatFinder.startColumn(best));
+    }
+
+    @Test
+    void movesToNextRowWhenPreferredRowIsFull() {
+        long best = find(2, BestSeatFinder.TYPE_ANY,
+            "..........", "..........", "..........", "..........", "xxxxxxxxxx", "..........");
+
+        assertEquals(1, Math.abs(BestSeatFinder.row(best) - 4));
+        assertEquals(4, BestSeatFinder.startColumn(best));
+    }
+
+    @Test
+    void blockSkipsBookedAndMissingSeats() {
+        assertEquals(4, BestSeatFinder.startColumn(find(3, BestSeatFinder.TYPE_ANY, "..xx......")));
+        assertEquals(4, BestSeatFinder.startColumn(find(4, BestSeatFinder.TYPE_ANY, "..._......")));
+    }
+
+    @Test
+    void avoidsStrandingSeatAtEitherWall() {
+        // The centered block would leave a single seat at both walls
+        assertEquals(0, BestSeatFinder.startColumn(find(3, BestSeatFinder.TYPE_ANY, seats(5, '.'))));
+        assertEquals(0, BestSeatFinder.startColumn(find(19, BestSeatFinder.TYPE_ANY, seats(21, '.'))));
+        assertEquals(0, BestSeatFinder.startColumn(find(62, BestSeatFinder.TYPE_ANY, seats(64, '.'))));
+    }
+
+    @Test
+    void avoidsStrandingSeatNextToBooking() {
+        // Starting at the center would leave seat 1 alone between the block and the booked seat
+        assertEquals(1, BestSeatFinder.startColumn(find(2, BestSeatFinder.TYPE_ANY, "x.....")));
+    }
+
+    @Test
+    void takesStrandingBlockWhenNothingElseFits() {
+        assertNotEquals(BestSeatFinder.NOT_FOUND, find(2, BestSeatFinder.TYPE_ANY, "..."));
+        assertNotEquals(BestSeatFinder.NOT_FOUND, find(2, BestSeatFinder.TYPE_ANY, seats(61, 'x') + "..."));
+    }
+
+    @Test
+    void filtersBySeatType() {
+        String row = "vvvvv.....";
+
+        assertEquals(2, BestSeatFinder.startColumn(find(3, BestSeatFinder.TYPE_VIP, row)));
+        assertEquals(5, BestSeatFinder.startColumn(find(3, BestSeatFinder.TYPE_NORMAL, row)));
+        assertEquals(3, BestSeatFinder.startColumn(find(3, BestSeatFinder.TYPE_ANY, row)));
+        assertEquals(BestSeatFinder.NOT_FOUND, find(6, BestSeatFinder.TYPE_VIP, row));
+    }
+
+    @Test
+    void findsBlocksInRowsWiderThanDefault() {
+        assertEquals(3, BestSeatFinder.startColumn(find(14, BestSeatFinder.TYPE_ANY, seats(20, '.'))));
+        assertEquals(60, BestSeatFinder.startColumn(find(4, BestSeatFinder.TYPE_ANY, seats(60, 'x') + "....")));
+        assertEquals(0, BestSeatFinder.startColumn(find(64, BestSeatFinder.TYPE_ANY, seats(64, '.'))));
+    }
+
+    @Test
+    void reportsNotFound() {
+        assertEquals(BestSeatFinder.NOT_FOUND, find(0, BestSeatFinder.TYPE_ANY, ".........."));
+        assertEquals(BestSeatFinder.NOT_FOUND, find(11, BestSeatFinder.TYPE_ANY, ".........."));
+        assertEquals(BestSeatFinder.NOT_FOUND, find(3, BestSeatFinder.TYPE_ANY, "..x..x..x.", "x..x..x..x"));
+    }
+
+    private static String seats(int count, char seat) {
+        return String.valueOf(seat).repeat(count);
+    }
+
+    private static long find(int count, int type, String... rows) {
+        long[] existing = new long[rows.length];
+        long[] vip = new long[rows.length];
+        long[] booked = new long[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                long bit = 1L << col;
+                char seat = rows[row].charAt(col);
+                if (seat != '_') {
+                    existing[row] |= bit;
+                }
+                if (seat == 'v') {
+                    vip[row] |= bit;
+                } else if (seat == 'x') {
+                    booked[row] |= bit;
+                }
+            }
+        }
+        return BestSeatFinder.find(existing, vip, booked, rows[0].length(), count, type);
+    }
+}
@@ -0,0 +1,133 @@
+package com.movietheater.booking.policy;
+
+import com.movietheater.common.constant.CommonConst;
+import com.movietheater.entity.ScheduleSeat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the bitmask seat policy check with the previous list-based consecutiveness check.
+ * The list-based check only sees the selection, so it does strictly less work than the policy engine.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.movietheater.booking.policy.SeatPolicyEngineBenchmark}, or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatPolicyEngineBenchmark {
+    @Param({"2", "6", "10"})
+    private int selectedPerRow;
+
+    @Param({"1", "3"})
+    private int selectedRows;
+
+    private final int rows = CommonConst.TOTAL_ROWS;
+    private final int columns = CommonConst.SEATS_PER_ROW;
+    private final SeatPolicy policy = new SeatPolicy(SeatPolicyAction.WARN, SeatPolicyAction.WARN, SeatPolicyAction.WARN, 8);
+    private String[] rowLabels;
+    private long[] existing;
+    private long[] booked;
+    private long[] selected;
+    private List<ScheduleSeat> selectedSeats;
+
+    @Setup
+    public void setUp() {
+        rowLabels = new String[rows];
+        existing = new long[rows];
+        booked = new long[rows];
+        selected = new long[rows];
+        selectedSeats = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            rowLabels[row] = String.valueOf((char) ('A' + row));
+            existing[row] = (1L << columns) - 1;
+            // Every third seat booked from the right edge
+            for (int col = columns - 1; col > columns - 1 - selectedPerRow && col >= 0; col -= 3) {
+                booked[row] |= 1L << col;
+            }
+        }
+        for (int row = 0; row < selectedRows; row++) {
+            for (int col = 0; col < selectedPerRow; col++) {
+                selected[row] |= 1L << col;
+                selectedSeats.add(ScheduleSeat.builder()
+                    .scheduleSeatId("SS001-" + rowLabels[row] + String.format("%02d", col + 1))
+                    .seatRow(rowLabels[row])
+                    .seatColumn(col + 1)
+                    .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<SeatPolicyViolation> bitmaskPolicy() {
+        return SeatPolicyEngine.evaluate(existing, booked, selected, rowLabels, policy);
+    }
+
+    @Benchmark
+    public String listConsecutiveness() {
+        return validateSeatConsecutiveness(new ArrayList<>(selectedSeats));
+    }
+
+    // The check previously used by BookingServiceImpl, kept as the baseline
+    private static String validateSeatConsecutiveness(List<ScheduleSeat> seats) {
+        var seatsByRow = seats.stream()
+            .collect(Collectors.groupingBy(ScheduleSeat::getSeatRow));
+        for (var entry : seatsByRow.entrySet()) {
+            List<ScheduleSeat> rowSeats = entry.getValue();
+            if (rowSeats.size() == 2) {
+                rowSeats.sort((a, b) -> a.getSeatColumn() - b.getSeatColumn());
+                int minCol = rowSeats.get(0).getSeatColumn();
+                int maxCol = rowSeats.get(rowSeats.size() - 1).getSeatColumn();
+                if (maxCol - minCol > 1) {
+                    return "Selection of 2 seats leaves a gap in the middle";
+                }
+            }
+            if (rowSeats.size() > 1) {
+                rowSeats.sort((a, b) -> a.getSeatColumn() - b.getSeatColumn());
+                int minCol = rowSeats.get(0).getSeatColumn();
+                int maxCol = rowSeats.get(rowSeats.size() - 1).getSeatColumn();
+                for (int col = minCol; col <= maxCol; col++) {
+                    final int currentCol = col;
+                    if (rowSeats.stream().noneMatch(s -> s.getSeatColumn() == currentCol)) {
+                        return "Selected seats have gaps. Please confirm your selection.";
+                    }
+                }
+                for (int i = 0; i < rowSeats.size(); i++) {
+                    int currentCol = rowSeats.get(i).getSeatColumn();
+                    int prevCol = i > 0 ? rowSeats.get(i - 1).getSeatColumn() : -1;
+                    int nextCol = i < rowSeats.size() - 1 ? rowSeats.get(i + 1).getSeatColumn() : -1;
+                    if (prevCol != -1 && nextCol != -1 && currentCol != prevCol + 1 && currentCol != nextCol - 1) {
+                        return "Selection leaves an isolated seat. Please confirm your selection.";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SeatPolicyEngineBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
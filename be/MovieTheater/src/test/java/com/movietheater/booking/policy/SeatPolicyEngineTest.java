@@ -0,0 +1,195 @@
+package com.movietheater.booking.policy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bitmask rules of {@link SeatPolicyEngine}. Rows are written one character per seat:
+ * {@code .} free, {@code x} booked, {@code o} selected, {@code _} no seat.
+ */
+class SeatPolicyEngineTest {
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void orphanSeatReportedWithConfiguredAction(SeatPolicyAction action) {
+        List<SeatPolicyViolation> violations = evaluate(orphanOnly(action), "..o.x..");
+
+        assertEquals(1, violations.size());
+        SeatPolicyViolation violation = violations.get(0);
+        assertEquals(SeatPolicyRule.NO_ORPHAN_SEAT, violation.getRule());
+        assertEquals(action, violation.getAction());
+        assertEquals(action == SeatPolicyAction.BLOCK, violation.isBlocking());
+        assertEquals("A", violation.getRow());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void orphanSeatAtRowEdges(SeatPolicyAction action) {
+        SeatPolicy policy = orphanOnly(action);
+
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, ".oo....")));
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, "....oo.")));
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, "o._...")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void orphanSeatInRowsWiderThanDefault(SeatPolicyAction action) {
+        SeatPolicy policy = orphanOnly(action);
+
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, seats(18, '.') + "o.")));
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, seats(13, '.') + "o.x.....")));
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, seats(62, '.') + "o.")));
+        assertEquals(List.of(SeatPolicyRule.NO_ORPHAN_SEAT), rules(evaluate(policy, ".o" + seats(62, '.'))));
+    }
+
+    @Test
+    void noOrphanWhenFreeSeatsStayInPairs() {
+        SeatPolicy policy = orphanOnly(SeatPolicyAction.BLOCK);
+
+        assertTrue(evaluate(policy, "..oo..").isEmpty());
+        assertTrue(evaluate(policy, "oo..").isEmpty());
+        assertTrue(evaluate(policy, "xoo..x").isEmpty());
+        assertTrue(evaluate(policy, "oooo").isEmpty());
+        assertTrue(evaluate(policy, seats(62, '.') + "oo").isEmpty());
+    }
+
+    @Test
+    void orphanAwayFromSelectionIsIgnored() {
+        assertTrue(evaluate(orphanOnly(SeatPolicyAction.BLOCK), "x.x..oo..").isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void gapReportedWithConfiguredAction(SeatPolicyAction action) {
+        List<SeatPolicyViolation> violations = evaluate(gapOnly(action), "o.o");
+
+        assertEquals(1, violations.size());
+        assertEquals(SeatPolicyRule.NO_GAP, violations.get(0).getRule());
+        assertEquals(action, violations.get(0).getAction());
+        assertEquals(action == SeatPolicyAction.BLOCK, violations.get(0).isBlocking());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void gapInRowsWiderThanDefault(SeatPolicyAction action) {
+        SeatPolicy policy = gapOnly(action);
+
+        assertEquals(List.of(SeatPolicyRule.NO_GAP), rules(evaluate(policy, seats(12, '.') + "o.oo....")));
+        assertEquals(List.of(SeatPolicyRule.NO_GAP), rules(evaluate(policy, "o" + seats(62, '.') + "o")));
+        assertEquals(List.of(SeatPolicyRule.NO_GAP), rules(evaluate(policy, seats(61, '.') + "o.o")));
+    }
+
+    @Test
+    void noGapAcrossTakenOrMissingSeats() {
+        SeatPolicy policy = gapOnly(SeatPolicyAction.BLOCK);
+
+        assertTrue(evaluate(policy, "oxo").isEmpty());
+        assertTrue(evaluate(policy, "o_o").isEmpty());
+        assertTrue(evaluate(policy, "o" + seats(62, 'x') + "o").isEmpty());
+        assertTrue(evaluate(policy, "o...", "...o").isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void maxPerRowReportedWithConfiguredAction(SeatPolicyAction action) {
+        SeatPolicy policy = maxPerRowOnly(action, 4);
+
+        List<SeatPolicyViolation> violations = evaluate(policy, "ooooo...");
+        assertEquals(1, violations.size());
+        assertEquals(SeatPolicyRule.MAX_PER_ROW, violations.get(0).getRule());
+        assertEquals(action, violations.get(0).getAction());
+        assertEquals(action == SeatPolicyAction.BLOCK, violations.get(0).isBlocking());
+
+        assertTrue(evaluate(policy, "oooo....").isEmpty());
+        assertTrue(evaluate(policy, "ooo.....", "oo......").isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SeatPolicyAction.class, names = {"WARN", "BLOCK"})
+    void maxPerRowInRowsWiderThanDefault(SeatPolicyAction action) {
+        assertEquals(List.of(SeatPolicyRule.MAX_PER_ROW),
+            rules(evaluate(maxPerRowOnly(action, 4), seats(14, '.') + "ooooo.")));
+        assertEquals(List.of(SeatPolicyRule.MAX_PER_ROW),
+            rules(evaluate(maxPerRowOnly(action, 63), seats(64, 'o'))));
+        assertTrue(evaluate(maxPerRowOnly(action, 64), seats(64, 'o')).isEmpty());
+    }
+
+    @Test
+    void maxPerRowOfZeroTurnsTheRuleOff() {
+        SeatPolicy policy = maxPerRowOnly(SeatPolicyAction.BLOCK, 0);
+
+        assertEquals(SeatPolicyAction.OFF, policy.getMaxPerRowAction());
+        assertTrue(evaluate(policy, seats(20, 'o')).isEmpty());
+    }
+
+    @Test
+    void rulesTurnedOffAreNotChecked() {
+        SeatPolicy policy = new SeatPolicy(SeatPolicyAction.OFF, SeatPolicyAction.OFF, SeatPolicyAction.OFF, 1);
+
+        assertTrue(evaluate(policy, ".o.o.x", "ooo...").isEmpty());
+    }
+
+    @Test
+    void violationsAreReportedInRowOrder() {
+        SeatPolicy policy = new SeatPolicy(SeatPolicyAction.WARN, SeatPolicyAction.BLOCK, SeatPolicyAction.BLOCK, 2);
+
+        List<SeatPolicyViolation> violations = evaluate(policy, "o..o....", "........", "ooo.....", ".o......");
+
+        assertEquals(List.of(SeatPolicyRule.NO_GAP, SeatPolicyRule.MAX_PER_ROW, SeatPolicyRule.NO_ORPHAN_SEAT),
+            rules(violations));
+        assertEquals(List.of("A", "C", "D"),
+            violations.stream().map(SeatPolicyViolation::getRow).collect(Collectors.toList()));
+        assertEquals(SeatPolicyAction.WARN, violations.get(2).getAction());
+    }
+
+    private static SeatPolicy orphanOnly(SeatPolicyAction action) {
+        return new SeatPolicy(action, SeatPolicyAction.OFF, SeatPolicyAction.OFF, 0);
+    }
+
+    private static SeatPolicy gapOnly(SeatPolicyAction action) {
+        return new SeatPolicy(SeatPolicyAction.OFF, action, SeatPolicyAction.OFF, 0);
+    }
+
+    private static SeatPolicy maxPerRowOnly(SeatPolicyAction action, int maxPerRow) {
+        return new SeatPolicy(SeatPolicyAction.OFF, SeatPolicyAction.OFF, action, maxPerRow);
+    }
+
+    private static String seats(int count, char seat) {
+        return String.valueOf(seat).repeat(count);
+    }
+
+    private static List<SeatPolicyRule> rules(List<SeatPolicyViolation> violations) {
+        return violations.stream().map(SeatPolicyViolation::getRule).collect(Collectors.toList());
+    }
+
+    private static List<SeatPolicyViolation> evaluate(SeatPolicy policy, String... rows) {
+        long[] existing = new long[rows.length];
+        long[] booked = new long[rows.length];
+        long[] selected = new long[rows.length];
+        String[] rowLabels = new String[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            rowLabels[row] = String.valueOf((char) ('A' + row));
+            for (int col = 0; col < rows[row].length(); col++) {
+                long bit = 1L << col;
+                char seat = rows[row].charAt(col);
+                if (seat != '_') {
+                    existing[row] |= bit;
+                }
+                if (seat == 'x') {
+                    booked[row] |= bit;
+                } else if (seat == 'o') {
+                    selected[row] |= bit;
+                }
+            }
+        }
+        return SeatPolicyEngine.evaluate(existing, booked, selected, rowLabels, policy);
+    }
+}
@@ -0,0 +1,143 @@
+package com.movietheater.moviemanagement.search;
+
+import com.movietheater.entity.Movie;
+import com.movietheater.moviemanagement.catalog.CatalogMovie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a page of {@link MovieSearchIndex} hits with the {@code LOWER(...) LIKE '%term%'} query of
+ * {@code MovieRepository.searchMovies}, run on an in-memory H2 table holding the same catalog.
+ * The LIKE query only matches the query as typed, so it misses the unaccented spellings the index finds.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.movietheater.moviemanagement.search.MovieSearchIndexBenchmark}, or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieSearchIndexBenchmark {
+    private static final String[] TITLE_WORDS = {"Tây", "Du", "Ký", "Mai", "Lật", "Mặt", "Nhà", "Bà", "Nữ",
+        "Đất", "Rừng", "Phương", "Nam", "Bố", "Già", "Hai", "Muối", "Cô", "Dâu", "Hào", "Môn", "Em", "Chưa", "18",
+        "Dune", "Avatar", "Love", "Night", "City", "Dragon", "Ghost", "Storm", "Return", "Last", "Kingdom"};
+    private static final String[] PEOPLE = {"Trấn Thành", "Lý Hải", "Victor Vũ", "Nguyễn Quang Dũng", "Denis Villeneuve",
+        "Christopher Nolan", "Ngô Thanh Vân", "Kaity Nguyễn", "Tuấn Trần", "Hồng Đào"};
+    private static final String[] GENRES = {"Hành động", "Tâm lý", "Hài", "Kinh dị", "Hoạt hình", "Khoa học viễn tưởng"};
+    private static final String[] DESCRIPTION_WORDS = {"một", "câu", "chuyện", "về", "gia", "đình", "tình", "yêu",
+        "hành", "trình", "phiêu", "lưu", "những", "người", "trẻ", "thành", "phố", "bí", "ẩn", "cuộc", "chiến"};
+    private static final String LIKE_QUERY = "SELECT movie_id FROM movies WHERE LOWER(title) LIKE ? "
+        + "OR LOWER(description) LIKE ? OR LOWER(genre) LIKE ?";
+
+    @Param({"10000", "100000"})
+    private int movies;
+
+    @Param({"tay du ky", "Tây Du Ký", "mai"})
+    private String query;
+
+    private MovieSearchIndex index;
+    private Connection connection;
+    private PreparedStatement likeStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        index = new MovieSearchIndex();
+        connection = DriverManager.getConnection("jdbc:h2:mem:movie-search-" + movies + ";MODE=PostgreSQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE movies (movie_id VARCHAR(16) PRIMARY KEY, title VARCHAR(255), "
+                + "director VARCHAR(255), actors VARCHAR(255), genre VARCHAR(255), description VARCHAR(2000))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO movies VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < movies; i++) {
+                Movie movie = new Movie();
+                movie.setMovieId("M" + i);
+                movie.setTitle(words(random, TITLE_WORDS, 2 + random.nextInt(3)));
+                movie.setDirector(PEOPLE[random.nextInt(PEOPLE.length)]);
+                movie.setActors(PEOPLE[random.nextInt(PEOPLE.length)] + ", " + PEOPLE[random.nextInt(PEOPLE.length)]);
+                movie.setGenre(GENRES[random.nextInt(GENRES.length)]);
+                movie.setDescription(words(random, DESCRIPTION_WORDS, 20 + random.nextInt(30)));
+                index.put(CatalogMovie.of(movie));
+                insert.setString(1, movie.getMovieId());
+                insert.setString(2, movie.getTitle());
+                insert.setString(3, movie.getDirector());
+                insert.setString(4, movie.getActors());
+                insert.setString(5, movie.getGenre());
+                insert.setString(6, movie.getDescription());
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        likeStatement = connection.prepareStatement(LIKE_QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        likeStatement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public MovieSearchResult indexSearch() {
+        return index.search(query, null, 0, 20);
+    }
+
+    @Benchmark
+    public List<String> likeQuery() throws SQLException {
+        String pattern = "%" + query.toLowerCase() + "%";
+        likeStatement.setString(1, pattern);
+        likeStatement.setString(2, pattern);
+        likeStatement.setString(3, pattern);
+        List<String> movieIds = new ArrayList<>();
+        try (ResultSet rows = likeStatement.executeQuery()) {
+            while (rows.next()) {
+                movieIds.add(rows.getString(1));
+            }
+        }
+        return movieIds;
+    }
+
+    private static String words(Random random, String[] pool, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(pool[random.nextInt(pool.length)]);
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MovieSearchIndexBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,282 @@
+package com.movietheater.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a large booking dataset, runs the hot repository methods and checks, from the EXPLAIN plan of
+ * the SQL they actually sent with the values they bound, that each one is served by its expected index.
+ * <p>
+ * Runs against H2 in PostgreSQL mode with the schema generated from the entity mappings, so the
+ * indexes checked here are the ones Hibernate creates on the real database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:index-usage;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    // H2 backs every foreign key with an index of its own, which PostgreSQL does not
+    "spring.jpa.properties.hibernate.hbm2ddl.default_constraint_mode=NO_CONSTRAINT",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never"
+})
+class RepositoryIndexUsageTest {
+    private static final int SCHEDULES = 2_000;
+    private static final int SEATS_PER_SCHEDULE = 104;
+    private static final int BOOKINGS = 100_000;
+    private static final int MOVIES = 20_000;
+    private static final int USERS = 5_000;
+    private static final int SCORES = 50_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ScheduleSeatRepository scheduleSeatRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private MovieMediaRepository movieMediaRepository;
+    @Autowired
+    private ScoreRepository scoreRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        // ANALYZE commits, so the data outlives the per-test rollback and is seeded once
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.execute("INSERT INTO schedules (schedule_id, movie_id, room_id, theater_id, showtime, price, "
+            + "total_seats, available_seats, seat_version) "
+            + "SELECT 'S' || x, 'M' || MOD(x, 200), 'R' || MOD(x, 20), 'T' || MOD(x, 5), "
+            + "TIMESTAMP '2025-01-01 00:00:00' + x * INTERVAL '2' HOUR, 90000, 104, 104, 0 "
+            + "FROM SYSTEM_RANGE(1, " + SCHEDULES + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO schedule_seat (schedule_seat_id, schedule_id, seat_row, seat_column, "
+            + "seat_type, seat_status) "
+            + "SELECT 'S' || (x / " + SEATS_PER_SCHEDULE + " + 1) || '-' || x, 'S' || (x / " + SEATS_PER_SCHEDULE + " + 1), "
+            + "CHAR(65 + MOD(x, " + SEATS_PER_SCHEDULE + ") / 13), MOD(x, 13) + 1, 'NORMAL', 'AVAILABLE' "
+            + "FROM SYSTEM_RANGE(0, " + (SCHEDULES * SEATS_PER_SCHEDULE - 1) + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO bookings (booking_id, user_id, schedule_id, seat_id, booking_date, status, "
+            + "price, order_id) "
+            + "SELECT 'B' || x, MOD(x, 5000), 'S' || (MOD(x, " + SCHEDULES + ") + 1), 'SEAT-' || x, "
+            + "TIMESTAMP '2025-01-01 00:00:00', CASE MOD(x, 3) WHEN 0 THEN 'PENDING' ELSE 'PAID' END, 90000, "
+            + "'BOOKING-' || (x / 4) "
+            + "FROM SYSTEM_RANGE(1, " + BOOKINGS + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO movies (movie_id, title, genre, release_date) "
+            + "SELECT 'M' || x, 'Movie ' || x, 'Drama', DATE '2000-01-01' + MOD(x, 9000) "
+            + "FROM SYSTEM_RANGE(1, " + MOVIES + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO movie_media (media_id, movie_id, media_type, url) "
+            + "SELECT 'MM' || x, 'M' || x, 'image', '/images/' || x || '.jpg' "
+            + "FROM SYSTEM_RANGE(1, " + MOVIES + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO users (user_id, full_name, role, status, email_verified) "
+            + "SELECT x, 'User ' || x, CASE WHEN MOD(x, 50) = 0 THEN 'EMPLOYEE' ELSE 'USER' END, 'ACTIVE', TRUE "
+            + "FROM SYSTEM_RANGE(1, " + USERS + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO employees (employee_id, user_id, position) "
+            + "SELECT 'E' || x, x * 50, 'Staff' FROM SYSTEM_RANGE(1, " + (USERS / 50) + ") AS r(x)");
+        jdbcTemplate.execute("INSERT INTO scores (score_id, user_id, points, transaction_date, type) "
+            + "SELECT 'SC' || x, MOD(x, " + USERS + ") + 1, 10, TIMESTAMP '2025-01-01 00:00:00' + x * INTERVAL '1' MINUTE, "
+            + "CASE MOD(x, 2) WHEN 0 THEN 'add' ELSE 'use' END "
+            + "FROM SYSTEM_RANGE(1, " + SCORES + ") AS r(x)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void bookingLookupsByUserUseIndex() {
+        assertIndexed("ix_bookings_user_schedule_status", () -> bookingRepository.findByUserId(42L));
+    }
+
+    @Test
+    void bookingLookupsByOrderUseIndex() {
+        assertIndexed("ix_bookings_order_id", () -> bookingRepository.findByOrderId("BOOKING-1234"));
+    }
+
+    @Test
+    void duplicateSeatCheckUsesIndex() {
+        assertIndexed("ix_bookings_user_schedule_status", () -> bookingRepository
+            .existsByUserIdAndScheduleIdAndSeatIdInAndStatusIn(42L, "S43", List.of("SEAT-42", "SEAT-5042"),
+                List.of("PENDING", "PAID")));
+    }
+
+    @Test
+    void seatLookupsByScheduleUseIndex() {
+        assertIndexed("ix_schedule_seat_schedule", () -> scheduleSeatRepository.findByScheduleId("S17"));
+    }
+
+    @Test
+    void scheduleLookupsUseIndex() {
+        assertIndexed("ix_schedules_movie_showtime", () -> scheduleRepository.findByMovieId("M7"));
+        assertIndexed("ix_schedules_theater_showtime", () -> scheduleRepository.findByTheaterId("T3"));
+        assertIndexed("ix_schedules_showtime", () -> scheduleRepository.countByShowtimeBetween(
+            LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 2, 2, 0, 0)));
+    }
+
+    @Test
+    void movieListPagesUseIndex() {
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "releaseDate", "movieId");
+        assertIndexed("ix_movies_release_date", () -> movieRepository.findAll(
+            MovieSpecifications.matching(null, null, LocalDate.of(2010, 5, 1)), PageRequest.of(0, 20, newestFirst)));
+        assertIndexed("ix_movies_release_date", () -> movieRepository.findBy(
+            MovieSpecifications.releasedBefore(LocalDate.of(2010, 5, 1), "M500"),
+            query -> query.sortBy(newestFirst).limit(21).all()));
+        assertIndexed("ix_movie_media_movie_id", () -> movieMediaRepository.findUrlsByMovieIds(
+            List.of("M1", "M2", "M3"), "image"));
+    }
+
+    @Test
+    void adminListsUseIndex() {
+        assertIndexed("ix_scores_user_date", () -> scoreRepository.findHistoryByUserId(42L, PageRequest.of(0, 10)));
+        assertIndexed("ix_scores_user_date", () -> scoreRepository.countByUserIdAndType(42L, "add"));
+        assertIndexed("ix_employees_user_id", () -> employeeRepository.findEmploymentByUserIds(List.of(50L, 100L, 150L)));
+        assertIndexed("ix_users_role_id", () -> userRepository.findByRoleIn(List.of("USER", "CUSTOMER"),
+            PageRequest.of(0, 10, Sort.by("id"))));
+    }
+
+    // Runs the repository call and checks the plan of every statement it sent
+    private void assertIndexed(String index, Runnable repositoryCall) {
+        List<CapturedStatement> statements = CapturingDataSource.capture(repositoryCall);
+        assertFalse(statements.isEmpty(), "The repository call sent no statement");
+        for (CapturedStatement statement : statements) {
+            String plan = explain(statement);
+            assertTrue(plan.toLowerCase(Locale.ROOT).contains(index),
+                () -> "Expected index " + index + " for: " + statement.sql + "\n" + plan);
+        }
+    }
+
+    private String explain(CapturedStatement statement) {
+        List<String> plan = jdbcTemplate.query("EXPLAIN " + statement.sql, ps -> {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                ps.setObject(parameter.getKey(), parameter.getValue());
+            }
+        }, (rs, row) -> rs.getString(1));
+        return String.join("\n", plan);
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? new CapturingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class CapturedStatement {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+
+        private CapturedStatement(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Records the SQL and bound values of the prepared statements executed while a capture is running.
+     */
+    private static final class CapturingDataSource extends DelegatingDataSource {
+        private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+        private CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        static List<CapturedStatement> capture(Runnable call) {
+            List<CapturedStatement> captured = new ArrayList<>();
+            CAPTURED.set(captured);
+            try {
+                call.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return captured;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement")) {
+                        return wrap((PreparedStatement) result, (String) args[0]);
+                    }
+                    return result;
+                });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    } else if (name.startsWith("execute") && CAPTURED.get() != null) {
+                        CAPTURED.get().add(new CapturedStatement(sql, Collections.unmodifiableMap(new TreeMap<>(parameters))));
+                    }
+                    return invoke(statement, method, args);
+                });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}